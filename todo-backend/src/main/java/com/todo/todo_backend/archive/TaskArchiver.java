@@ -0,0 +1,170 @@
+package com.todo.todo_backend.archive;
+
+import com.todo.todo_backend.dto.TaskResponse;
+import com.todo.todo_backend.event.TaskEvent;
+import com.todo.todo_backend.model.Task;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves tasks completed more than {@code todo.archive.retention} ago from {@code task} to
+ * {@code archived_task}, so the hot table, its indexes and its vacuum work stay proportional to
+ * the open backlog and recent completions.
+ * <p>
+ * Each batch is copied and deleted in its own short transaction, oldest completions first, and
+ * the archiver pauses between batches, so it never holds locks on more than one batch of rows
+ * and leaves the primary room for request traffic. Every archived task is published as an
+ * {@code ARCHIVED} event so caches and the search index drop it once the batch commits.
+ */
+@Slf4j
+@Component
+@Profile("!reactive & !embedded")
+@ConditionalOnProperty(prefix = "todo.archive", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class TaskArchiver implements AutoCloseable {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManagerFactory entityManagerFactory;
+    private final Duration retention;
+    private final int batchSize;
+    private final Duration batchPause;
+    private final ScheduledExecutorService scheduler;
+
+    public TaskArchiver(JdbcTemplate jdbcTemplate,
+                        TransactionTemplate transactionTemplate,
+                        ApplicationEventPublisher eventPublisher,
+                        EntityManagerFactory entityManagerFactory,
+                        @Value("${todo.archive.retention:30d}") Duration retention,
+                        @Value("${todo.archive.interval:1h}") Duration interval,
+                        @Value("${todo.archive.batch-size:500}") int batchSize,
+                        @Value("${todo.archive.batch-pause:200ms}") Duration batchPause) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.entityManagerFactory = entityManagerFactory;
+        this.retention = retention;
+        this.batchSize = batchSize;
+        this.batchPause = batchPause;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-archiver");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = interval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::archiveQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Archives every task completed before the retention cutoff, batch by batch. Runs on the
+     * archiver thread; callable directly so tests do not have to wait for it.
+     *
+     * @return the number of tasks archived
+     */
+    public synchronized int archive() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        int archived = 0;
+        while (true) {
+            int moved = archiveBatch(cutoff);
+            archived += moved;
+            if (moved < batchSize) {
+                break;
+            }
+            try {
+                Thread.sleep(batchPause.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        if (archived > 0) {
+            log.info("Archived {} tasks completed before {}", archived, cutoff);
+        }
+        return archived;
+    }
+
+    private int archiveBatch(LocalDateTime cutoff) {
+        Integer moved = transactionTemplate.execute(status -> {
+            // Served by idx_task_completed_at.
+            List<TaskResponse> tasks = jdbcTemplate.query("""
+                            SELECT id, title, description, created_at, completed_at FROM task
+                            WHERE completed = TRUE AND completed_at < ?
+                            ORDER BY completed_at, id
+                            LIMIT ?""",
+                    (rs, rowNum) -> TaskResponse.builder()
+                            .id(rs.getLong("id"))
+                            .title(rs.getString("title"))
+                            .description(rs.getString("description"))
+                            .completed(true)
+                            .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
+                            .completedAt(rs.getTimestamp("completed_at").toLocalDateTime())
+                            .build(),
+                    Timestamp.valueOf(cutoff), batchSize);
+            if (tasks.isEmpty()) {
+                return 0;
+            }
+
+            Timestamp archivedAt = Timestamp.valueOf(LocalDateTime.now());
+            jdbcTemplate.batchUpdate("""
+                            INSERT INTO archived_task (id, title, description, created_at, completed_at, archived_at)
+                            VALUES (?, ?, ?, ?, ?, ?)""",
+                    tasks, tasks.size(), (ps, task) -> {
+                        ps.setLong(1, task.id());
+                        ps.setString(2, task.title());
+                        ps.setString(3, task.description());
+                        ps.setTimestamp(4, Timestamp.valueOf(task.createdAt()));
+                        ps.setTimestamp(5, Timestamp.valueOf(task.completedAt()));
+                        ps.setTimestamp(6, archivedAt);
+                    });
+            jdbcTemplate.batchUpdate("DELETE FROM task WHERE id = ?",
+                    tasks, tasks.size(), (ps, task) -> ps.setLong(1, task.id()));
+
+            evictAfterCommit(tasks);
+            tasks.forEach(task -> eventPublisher.publishEvent(TaskEvent.archived(task)));
+            return tasks.size();
+        });
+        return moved == null ? 0 : moved;
+    }
+
+    // The rows are deleted behind Hibernate's back, so their second-level cache entries have to
+    // go explicitly. afterCommit callbacks run before any after-commit event listener, so by the
+    // time TaskChangeVersion hands out a new entity tag the entities are no longer cached.
+    private void evictAfterCommit(List<TaskResponse> tasks) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                tasks.forEach(task -> entityManagerFactory.getCache().evict(Task.class, task.id()));
+            }
+        });
+    }
+
+    private void archiveQuietly() {
+        try {
+            archive();
+        } catch (RuntimeException e) {
+            log.warn("Task archiving failed, retrying on the next run: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
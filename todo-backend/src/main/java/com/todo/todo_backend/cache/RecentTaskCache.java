@@ -0,0 +1,190 @@
+package com.todo.todo_backend.cache;
+
+import com.todo.todo_backend.dto.TaskResponse;
+import com.todo.todo_backend.event.TaskEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntFunction;
+
+/**
+ * Read-through window over the most recent incomplete tasks.
+ * <p>
+ * The cache holds up to {@code capacity} open tasks ordered by creation time (newest first)
+ * and serves the first {@code limit} of them. Committed creates and completions are applied
+ * to the window in place; the database is only consulted on a cold start or when completions
+ * drain the window below {@code limit} while older open tasks may still exist.
+ * <p>
+ * Callers that run inside an active transaction bypass the cache so they always see their
+ * own uncommitted writes.
+ */
+@Slf4j
+@Component
+public class RecentTaskCache {
+
+    private final int limit;
+    private final int capacity;
+    // A j.u.c. lock rather than a monitor: contended monitor entry pins a virtual thread's
+    // carrier, a ReentrantLock does not.
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile Window window;
+    private long generation;
+
+    public RecentTaskCache(@Value("${todo.tasks.recent.limit:5}") int limit,
+                           @Value("${todo.tasks.recent.capacity:20}") int capacity) {
+        if (limit < 1 || capacity < limit) {
+            throw new IllegalArgumentException("Recent task cache requires 0 < limit <= capacity");
+        }
+        this.limit = limit;
+        this.capacity = capacity;
+    }
+
+    public int limit() {
+        return limit;
+    }
+
+    /**
+     * Returns the newest {@code limit} open tasks, loading the window through {@code loader}
+     * when it is cold. The loader receives the number of rows to fetch.
+     */
+    public List<TaskResponse> getRecentTasks(IntFunction<List<TaskResponse>> loader) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return loader.apply(limit);
+        }
+
+        Window current = window;
+        if (current != null) {
+            return current.view();
+        }
+
+        long loadGeneration;
+        lock.lock();
+        try {
+            loadGeneration = generation;
+        } finally {
+            lock.unlock();
+        }
+
+        Window loaded = Window.of(loader.apply(capacity), limit, capacity);
+        lock.lock();
+        try {
+            // A write committed while we were querying; the result is still a valid read but
+            // may not reflect that write, so do not install it.
+            if (generation == loadGeneration && window == null) {
+                window = loaded;
+                log.debug("Recent task cache loaded with {} tasks", loaded.tasks().size());
+            }
+        } finally {
+            lock.unlock();
+        }
+        return loaded.view();
+    }
+
+    // Runs ahead of TaskChangeVersion so a new entity tag is never paired with a stale window.
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskEvent(TaskEvent event) {
+        lock.lock();
+        try {
+            generation++;
+            Window current = window;
+            if (current == null) {
+                return;
+            }
+            window = switch (event.type()) {
+                case CREATED -> current.withCreated(event.task());
+                case COMPLETED -> current.withCompleted(event.task().id());
+                // Only completed tasks are archived, and the window holds open ones.
+                case ARCHIVED -> current;
+            };
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Immutable snapshot of the cached window. {@code tasks} is always the exact prefix of the
+     * open-task ordering; {@code exhaustive} is set when it contains every open task.
+     */
+    private record Window(List<TaskResponse> tasks, List<TaskResponse> view, boolean exhaustive,
+                          int limit, int capacity) {
+
+        static Window of(List<TaskResponse> tasks, int limit, int capacity) {
+            return create(new ArrayList<>(tasks), tasks.size() < capacity, limit, capacity);
+        }
+
+        private static Window create(List<TaskResponse> tasks, boolean exhaustive, int limit, int capacity) {
+            List<TaskResponse> copy = Collections.unmodifiableList(tasks);
+            List<TaskResponse> view = List.copyOf(copy.subList(0, Math.min(limit, copy.size())));
+            return new Window(copy, view, exhaustive, limit, capacity);
+        }
+
+        Window withCreated(TaskResponse task) {
+            if (indexOf(task.id()) >= 0) {
+                return this;
+            }
+            int position = 0;
+            while (position < tasks.size() && isOlder(task, tasks.get(position))) {
+                position++;
+            }
+            if (position == tasks.size() && !exhaustive) {
+                // Older than everything cached, so uncached open tasks may sort ahead of it; it
+                // is outside the known prefix and is left to the next load.
+                return this;
+            }
+            List<TaskResponse> updated = new ArrayList<>(tasks.size() + 1);
+            updated.addAll(tasks);
+            updated.add(position, task);
+
+            boolean stillExhaustive = exhaustive;
+            if (updated.size() > capacity) {
+                updated.remove(updated.size() - 1);
+                stillExhaustive = false;
+            }
+            return create(updated, stillExhaustive, limit, capacity);
+        }
+
+        /**
+         * Returns {@code null} when the window can no longer answer for the first
+         * {@code limit} tasks and must be reloaded.
+         */
+        Window withCompleted(Long id) {
+            int index = indexOf(id);
+            if (index < 0) {
+                return this;
+            }
+            List<TaskResponse> updated = new ArrayList<>(tasks);
+            updated.remove(index);
+            if (!exhaustive && updated.size() < limit) {
+                return null;
+            }
+            return create(updated, exhaustive, limit, capacity);
+        }
+
+        private static boolean isOlder(TaskResponse task, TaskResponse other) {
+            LocalDateTime createdAt = task.createdAt();
+            return createdAt == null || (other.createdAt() != null && createdAt.isBefore(other.createdAt()));
+        }
+
+        private int indexOf(Long id) {
+            for (int i = 0; i < tasks.size(); i++) {
+                if (Objects.equals(tasks.get(i).id(), id)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.todo.todo_backend.cache;
+
+import com.todo.todo_backend.event.TaskEvent;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monotonic counter of committed task writes, used to build entity tags for task responses.
+ * <p>
+ * The counter is bumped after every other task event listener has run, so by the time a reader
+ * observes a new version the caches it is served from already reflect the write. Readers must
+ * take the tag before reading the data it describes. Tags carry a per-process epoch so a
+ * restart can never reissue a tag for different content.
+ */
+@Component
+public class TaskChangeVersion {
+
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+    private final AtomicLong version = new AtomicLong();
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskEvent(TaskEvent event) {
+        version.incrementAndGet();
+    }
+
+    /**
+     * Returns a weak entity tag for the current version of the resource identified by
+     * {@code resource}. The tag names the data, not its bytes: the JSON, CBOR and gzipped
+     * representations of one version share it, and Tomcat only compresses responses whose tag
+     * is weak.
+     */
+    public String etag(String resource) {
+        return "W/\"" + resource + "-" + epoch + "-" + version.get() + "\"";
+    }
+}
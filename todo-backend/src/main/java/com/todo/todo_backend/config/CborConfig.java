@@ -0,0 +1,92 @@
+package com.todo.todo_backend.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdScalarSerializer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Serves {@code application/cbor} to clients that ask for it in {@code Accept}: the same
+ * documents as the JSON API, binary-encoded, with timestamps as epoch milliseconds instead of
+ * ISO-8601 strings. JSON stays the default for every other client.
+ */
+@Configuration
+@Profile("!reactive")
+public class CborConfig implements WebMvcConfigurer {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter() {
+        return new MappingJackson2CborHttpMessageConverter(cborMapper());
+    }
+
+    /**
+     * The mapper behind {@code application/cbor}. Task timestamps are server-local
+     * {@link LocalDateTime}s, so they are converted to and from epoch milliseconds in the
+     * server's time zone.
+     */
+    public static ObjectMapper cborMapper() {
+        SimpleModule epochMillis = new SimpleModule("EpochMillisLocalDateTime")
+                .addSerializer(LocalDateTime.class, new EpochMillisSerializer())
+                .addDeserializer(LocalDateTime.class, new EpochMillisDeserializer());
+        return Jackson2ObjectMapperBuilder.cbor()
+                .modules(epochMillis)
+                .build();
+    }
+
+    // The same URL now has two representations, so shared caches have to key on Accept.
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+                return true;
+            }
+        }).addPathPatterns("/api/**");
+    }
+
+    private static final class EpochMillisSerializer extends StdScalarSerializer<LocalDateTime> {
+
+        private EpochMillisSerializer() {
+            super(LocalDateTime.class);
+        }
+
+        @Override
+        public void serialize(LocalDateTime value, JsonGenerator generator, SerializerProvider provider)
+                throws IOException {
+            generator.writeNumber(value.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        }
+    }
+
+    private static final class EpochMillisDeserializer extends StdScalarDeserializer<LocalDateTime> {
+
+        private EpochMillisDeserializer() {
+            super(LocalDateTime.class);
+        }
+
+        @Override
+        public LocalDateTime deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            return LocalDateTime.ofInstant(Instant.ofEpochMilli(parser.getValueAsLong()), ZoneId.systemDefault());
+        }
+    }
+}
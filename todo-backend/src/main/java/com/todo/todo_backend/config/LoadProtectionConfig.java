@@ -0,0 +1,86 @@
+package com.todo.todo_backend.config;
+
+import com.todo.todo_backend.ratelimit.AdaptiveConcurrencyLimiter;
+import com.todo.todo_backend.ratelimit.ClientRateLimiter;
+import com.todo.todo_backend.ratelimit.ConcurrencyLimitAspect;
+import com.todo.todo_backend.ratelimit.RateLimitInterceptor;
+import com.todo.todo_backend.ratelimit.RateLimitProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Protects the task API from overload in two layers: per-client quotas
+ * ({@code todo.rate-limit}) refuse a flooding client with {@code 429} before it reaches the
+ * controller, and a latency-derived cap on concurrent {@code TaskService} calls
+ * ({@code todo.concurrency-limit}) sheds whatever the pool cannot keep up with as {@code 503}
+ * instead of letting every request queue for a connection.
+ */
+@Slf4j
+@Configuration
+public class LoadProtectionConfig {
+
+    // Nested configurations are picked up by component scanning on their own, so each carries
+    // its own conditions.
+    @Configuration
+    @Profile("!reactive")
+    @EnableConfigurationProperties(RateLimitProperties.class)
+    @ConditionalOnProperty(prefix = "todo.rate-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+    static class RateLimitConfig implements WebMvcConfigurer {
+
+        private final RateLimitProperties properties;
+
+        RateLimitConfig(RateLimitProperties properties) {
+            this.properties = properties;
+        }
+
+        @Bean
+        public ClientRateLimiter clientRateLimiter() {
+            log.info("Rate limiting {} rules per client address and {} header", properties.rules().size(),
+                    properties.apiKeyHeader());
+            return new ClientRateLimiter(properties.rules(), properties.sweepInterval(), properties.maxClients());
+        }
+
+        @Override
+        public void addInterceptors(InterceptorRegistry registry) {
+            registry.addInterceptor(new RateLimitInterceptor(clientRateLimiter(), properties.apiKeyHeader()))
+                    .addPathPatterns("/api/**");
+        }
+    }
+
+    @Configuration
+    @Profile("!reactive")
+    @ConditionalOnProperty(prefix = "todo.concurrency-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+    static class ConcurrencyLimitConfig {
+
+        @Bean
+        public AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter(
+                @Value("${todo.concurrency-limit.initial-limit:20}") int initialLimit,
+                @Value("${todo.concurrency-limit.min-limit:4}") int minLimit,
+                @Value("${todo.concurrency-limit.max-limit:200}") int maxLimit,
+                @Value("${todo.concurrency-limit.tolerance:2.0}") double tolerance,
+                MeterRegistry registry) {
+            AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, tolerance);
+            Gauge.builder("todo.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                    .description("Concurrent task service calls currently allowed")
+                    .register(registry);
+            Gauge.builder("todo.concurrency.in_flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                    .description("Task service calls in progress")
+                    .register(registry);
+            return limiter;
+        }
+
+        @Bean
+        public ConcurrencyLimitAspect concurrencyLimitAspect(AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter) {
+            return new ConcurrencyLimitAspect(adaptiveConcurrencyLimiter);
+        }
+    }
+}
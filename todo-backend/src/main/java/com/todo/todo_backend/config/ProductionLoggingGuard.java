@@ -0,0 +1,30 @@
+package com.todo.todo_backend.config;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Guards the {@code prod} profile against SQL echo. Hibernate writes {@code show_sql} output
+ * straight to stdout, bypassing the asynchronous appender, so a stray
+ * {@code SPRING_JPA_SHOW_SQL=true} would put a synchronous console write on every query.
+ */
+@Configuration
+@Profile("prod")
+public class ProductionLoggingGuard implements InitializingBean {
+
+    @Value("${spring.jpa.show-sql:false}")
+    private boolean showSql;
+
+    @Value("${spring.jpa.properties.hibernate.show_sql:false}")
+    private boolean hibernateShowSql;
+
+    @Override
+    public void afterPropertiesSet() {
+        if (showSql || hibernateShowSql) {
+            throw new IllegalStateException("SQL echo must be off in the prod profile; unset "
+                    + "spring.jpa.show-sql and spring.jpa.properties.hibernate.show_sql");
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.todo.todo_backend.config;
+
+import com.todo.todo_backend.datasource.ReadReplicaProperties;
+import com.todo.todo_backend.datasource.ReadWriteRoutingDataSource;
+import com.todo.todo_backend.datasource.ReadYourWritesWindow;
+import com.todo.todo_backend.datasource.ReplicaPool;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits reads from writes once {@code todo.datasource.read.replicas} lists at least one
+ * replica. {@code spring.datasource} stays the primary and takes every write, while read-only
+ * transactions ({@code @Transactional(readOnly = true)}) are served by a healthy replica unless
+ * a recent write keeps them on the primary. Without replicas, Boot's single data source is
+ * used unchanged.
+ * <p>
+ * Rows read from a replica may lag the primary, so they must not reach Hibernate's
+ * second-level or query cache, where primary reads would pick them up. The reads that fill
+ * those caches (a single task and the recent open tasks) are therefore not read-only and stay
+ * on the primary, and the page and search queries that replicas serve load tasks with
+ * {@code CacheMode.GET}, reading the caches without filling them.
+ */
+@Slf4j
+@Configuration
+@Profile("!reactive")
+@EnableConfigurationProperties(ReadReplicaProperties.class)
+@ConditionalOnProperty(prefix = "todo.datasource.read", name = "replicas[0].url")
+public class ReadWriteRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaPool replicaPool(ReadReplicaProperties properties) {
+        List<ReplicaPool.Replica> replicas = new ArrayList<>(properties.replicas().size());
+        for (int i = 0; i < properties.replicas().size(); i++) {
+            ReadReplicaProperties.Replica replica = properties.replicas().get(i);
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(replica.url())
+                    .username(replica.username())
+                    .password(replica.password())
+                    .build();
+            dataSource.setPoolName("replica-" + i);
+            dataSource.setReadOnly(true);
+            replicas.add(new ReplicaPool.Replica(dataSource.getPoolName(), dataSource));
+        }
+        log.info("Routing read-only transactions to {} replicas ({})", replicas.size(), properties.selection());
+        return new ReplicaPool(replicas, properties.selection(), properties.healthCheckInterval());
+    }
+
+    @Bean
+    public ReadYourWritesWindow readYourWritesWindow(ReadReplicaProperties properties) {
+        return new ReadYourWritesWindow(properties.readYourWritesWindow());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource,
+                                 ReplicaPool replicaPool,
+                                 ReadYourWritesWindow readYourWritesWindow) {
+        return new LazyConnectionDataSourceProxy(
+                new ReadWriteRoutingDataSource(primaryDataSource, replicaPool, readYourWritesWindow));
+    }
+}
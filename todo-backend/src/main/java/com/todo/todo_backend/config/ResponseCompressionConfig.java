@@ -0,0 +1,140 @@
+package com.todo.todo_backend.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Makes {@code server.compression.min-response-size} apply to API responses.
+ * <p>
+ * Tomcat decides whether to gzip when the response is committed, and only skips compression
+ * when it knows the body is smaller than the threshold. Spring's message converters flush after
+ * writing a body, which commits it without a length, so every JSON response would be gzipped,
+ * however small. This filter holds back flushes until the threshold has been written: a small
+ * body then stays in Tomcat's buffer until the request completes, gets a {@code Content-Length}
+ * and goes out uncompressed. Event streams are always flushed straight through.
+ */
+@Configuration
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "server.compression", name = "enabled", havingValue = "true")
+public class ResponseCompressionConfig {
+
+    @Bean
+    public FilterRegistrationBean<DeferredFlushFilter> deferredFlushFilter(
+            @Value("${server.compression.min-response-size:2KB}") DataSize minResponseSize) {
+        FilterRegistrationBean<DeferredFlushFilter> registration =
+                new FilterRegistrationBean<>(new DeferredFlushFilter(minResponseSize.toBytes()));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+
+    static final class DeferredFlushFilter extends OncePerRequestFilter {
+
+        private final long threshold;
+
+        DeferredFlushFilter(long threshold) {
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+                throws ServletException, IOException {
+            chain.doFilter(request, new DeferredFlushResponse(response, threshold));
+        }
+    }
+
+    private static final class DeferredFlushResponse extends HttpServletResponseWrapper {
+
+        private final long threshold;
+        private DeferredFlushOutputStream outputStream;
+
+        private DeferredFlushResponse(HttpServletResponse response, long threshold) {
+            super(response);
+            this.threshold = threshold;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                outputStream = new DeferredFlushOutputStream(this, super.getOutputStream());
+            }
+            return outputStream;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (shouldFlush()) {
+                super.flushBuffer();
+            }
+        }
+
+        private boolean shouldFlush() {
+            if (outputStream != null && outputStream.written >= threshold) {
+                return true;
+            }
+            String contentType = getContentType();
+            return contentType != null && contentType.startsWith(MediaType.TEXT_EVENT_STREAM_VALUE);
+        }
+    }
+
+    private static final class DeferredFlushOutputStream extends ServletOutputStream {
+
+        private final DeferredFlushResponse response;
+        private final ServletOutputStream delegate;
+        private long written;
+
+        private DeferredFlushOutputStream(DeferredFlushResponse response, ServletOutputStream delegate) {
+            this.response = response;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            written++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+            written += len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (response.shouldFlush()) {
+                delegate.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
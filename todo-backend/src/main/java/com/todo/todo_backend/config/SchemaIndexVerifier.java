@@ -0,0 +1,82 @@
+package com.todo.todo_backend.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Refuses to start the application when the indexes the hot task queries depend on are
+ * missing, instead of silently degrading to full scans once the table grows. Runs once all
+ * singletons, including the Flyway migration initializer, have been created.
+ */
+@Slf4j
+@Component
+@Profile("!reactive & !embedded")
+@ConditionalOnProperty(name = "todo.schema.verify-indexes", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class SchemaIndexVerifier implements SmartInitializingSingleton {
+
+    static final String TASK_TABLE = "task";
+    static final Set<String> REQUIRED_INDEXES = Set.of(
+            "idx_task_completed_created_at",
+            "idx_task_created_at_id",
+            "idx_task_completed_at"
+    );
+    // Full-text search index, created by migration V3 on PostgreSQL only.
+    static final Set<String> POSTGRES_INDEXES = Set.of(
+            "idx_task_search"
+    );
+
+    private final DataSource dataSource;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        Set<String> missing;
+        try {
+            missing = findMissingIndexes();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not read index metadata for table '" + TASK_TABLE + "'", e);
+        }
+
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException("Missing required indexes on table '" + TASK_TABLE + "': " + missing
+                    + ". Run the database migrations before starting the application.");
+        }
+        log.info("Verified required indexes on table '{}'", TASK_TABLE);
+    }
+
+    private Set<String> findMissingIndexes() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            Set<String> missing = new HashSet<>(REQUIRED_INDEXES);
+            if ("PostgreSQL".equals(metaData.getDatabaseProductName())) {
+                missing.addAll(POSTGRES_INDEXES);
+            }
+            String table = metaData.storesUpperCaseIdentifiers()
+                    ? TASK_TABLE.toUpperCase(Locale.ROOT)
+                    : TASK_TABLE;
+
+            try (ResultSet rs = metaData.getIndexInfo(connection.getCatalog(), null, table, false, false)) {
+                while (rs.next()) {
+                    String name = rs.getString("INDEX_NAME");
+                    if (name != null) {
+                        missing.remove(name.toLowerCase(Locale.ROOT));
+                    }
+                }
+            }
+            return missing;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.todo.todo_backend.config;
+
+import com.todo.todo_backend.search.LuceneTaskSearchIndex;
+import com.todo.todo_backend.search.PostgresTaskSearchIndex;
+import com.todo.todo_backend.search.TaskSearchIndex;
+import com.todo.todo_backend.store.EmbeddedTaskStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Locale;
+
+/**
+ * Picks the full-text search engine. {@code todo.search.engine} may be {@code postgres},
+ * {@code lucene} or {@code auto} (the default), which uses PostgreSQL's own text search when
+ * the datasource is PostgreSQL and the embedded Lucene index otherwise. The {@code embedded}
+ * profile has no datasource and always builds the Lucene index from the embedded task store.
+ */
+@Slf4j
+@Configuration
+@Profile("!reactive")
+public class TaskSearchConfig {
+
+    @Bean
+    @Profile("!embedded")
+    public TaskSearchIndex taskSearchIndex(@Value("${todo.search.engine:auto}") String engine,
+                                           DataSource dataSource,
+                                           JdbcTemplate jdbcTemplate) throws SQLException {
+        String selected = engine.toLowerCase(Locale.ROOT);
+        if ("auto".equals(selected)) {
+            try (Connection connection = dataSource.getConnection()) {
+                selected = "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())
+                        ? "postgres"
+                        : "lucene";
+            }
+        }
+        log.info("Task search engine: {}", selected);
+        return switch (selected) {
+            case "postgres" -> new PostgresTaskSearchIndex(jdbcTemplate);
+            case "lucene" -> new LuceneTaskSearchIndex(jdbcTemplate);
+            default -> throw new IllegalStateException("Unknown todo.search.engine '" + engine
+                    + "'; expected auto, postgres or lucene");
+        };
+    }
+
+    @Bean
+    @Profile("embedded")
+    public TaskSearchIndex embeddedTaskSearchIndex(EmbeddedTaskStore store) {
+        log.info("Task search engine: lucene (embedded store)");
+        return new LuceneTaskSearchIndex(action -> store.streamInIdOrder(null).forEach(action));
+    }
+}
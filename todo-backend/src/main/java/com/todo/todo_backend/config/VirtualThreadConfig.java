@@ -0,0 +1,34 @@
+package com.todo.todo_backend.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Guards the {@code virtual-threads} profile. Spring Boot silently falls back to platform
+ * threads below Java 21, which would leave the profile's pool sizing in place without the
+ * threading model it was sized for.
+ */
+@Slf4j
+@Configuration
+@Profile("virtual-threads")
+public class VirtualThreadConfig implements InitializingBean {
+
+    private static final int MIN_JAVA_VERSION = 21;
+
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int maximumPoolSize;
+
+    @Override
+    public void afterPropertiesSet() {
+        int javaVersion = Runtime.version().feature();
+        if (javaVersion < MIN_JAVA_VERSION) {
+            throw new IllegalStateException("The virtual-threads profile requires Java " + MIN_JAVA_VERSION
+                    + " or newer, but the application is running on Java " + javaVersion);
+        }
+        log.info("Virtual-thread execution enabled; database concurrency bounded by a pool of {} connections",
+                maximumPoolSize);
+    }
+}
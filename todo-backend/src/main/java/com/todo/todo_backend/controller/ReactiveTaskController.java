@@ -0,0 +1,42 @@
+package com.todo.todo_backend.controller;
+
+import com.todo.todo_backend.dto.TaskRequest;
+import com.todo.todo_backend.dto.TaskResponse;
+import com.todo.todo_backend.service.ReactiveTaskService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux variant of {@link TaskController}, serving the same {@code /api/v1/tasks} contract
+ * when the {@code reactive} profile is active.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/v1/tasks")
+@RequiredArgsConstructor
+public class ReactiveTaskController {
+    private final ReactiveTaskService taskService;
+
+    @PostMapping
+    public Mono<ResponseEntity<TaskResponse>> createTask(@Valid @RequestBody TaskRequest request) {
+        return taskService.createTask(request)
+                .map(response -> ResponseEntity.status(HttpStatus.CREATED).body(response));
+    }
+
+    @GetMapping
+    public Flux<TaskResponse> getRecentTasks() {
+        return taskService.getRecentTasks();
+    }
+
+    @PutMapping("/{id}/complete")
+    public Mono<ResponseEntity<TaskResponse>> markAsCompleted(@PathVariable Long id) {
+        return taskService.markAsCompleted(id)
+                .map(ResponseEntity::ok);
+    }
+}
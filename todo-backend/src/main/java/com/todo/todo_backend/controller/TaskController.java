@@ -1,26 +1,95 @@
 package com.todo.todo_backend.controller;
 
+import com.todo.todo_backend.cache.TaskChangeVersion;
+import com.todo.todo_backend.dto.BatchTaskRequest;
+import com.todo.todo_backend.dto.BatchTaskResponse;
+import com.todo.todo_backend.dto.BulkCompleteRequest;
+import com.todo.todo_backend.dto.BulkCompleteResponse;
+import com.todo.todo_backend.dto.TaskExportFormat;
+import com.todo.todo_backend.dto.TaskPageResponse;
+import com.todo.todo_backend.dto.TaskPersistenceStatus;
+import com.todo.todo_backend.dto.TaskReceipt;
 import com.todo.todo_backend.dto.TaskRequest;
 import com.todo.todo_backend.dto.TaskResponse;
+import com.todo.todo_backend.dto.TaskStatsGranularity;
+import com.todo.todo_backend.dto.TaskStatsResponse;
+import com.todo.todo_backend.dto.TaskStatusResponse;
+import com.todo.todo_backend.exception.InvalidExportFormatException;
+import com.todo.todo_backend.exception.InvalidStatsQueryException;
+import com.todo.todo_backend.idempotency.IdempotencyStore;
+import com.todo.todo_backend.ingest.TaskIngestQueue;
 import com.todo.todo_backend.service.TaskService;
+import com.todo.todo_backend.sse.TaskEventBroadcaster;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.net.URI;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Locale;
 
+@Profile("!reactive")
 @RestController
 @RequestMapping("/api/v1/tasks")
 @RequiredArgsConstructor
 public class TaskController {
     private final TaskService taskService;
+    private final TaskEventBroadcaster taskEventBroadcaster;
+    private final TaskChangeVersion taskChangeVersion;
+    private final ObjectProvider<TaskIngestQueue> taskIngestQueue;
+    private final IdempotencyStore idempotencyStore;
 
+    /**
+     * Creates a task. With {@code todo.ingest.mode=async} the task is queued instead and the
+     * response is {@code 202 Accepted} with its reserved id and a status link. A retry carrying
+     * the same {@code Idempotency-Key} gets the original response instead of a second task.
+     */
     @PostMapping
-    public ResponseEntity<TaskResponse> createTask(@Valid @RequestBody TaskRequest request) {
+    public ResponseEntity<?> createTask(@Valid @RequestBody TaskRequest request,
+                                        @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey,
+                                        HttpServletRequest servletRequest) {
         try {
-            TaskResponse response = taskService.createTask(request);
+            if (idempotencyKey != null) {
+                return idempotencyStore.execute(idempotencyStore.client(servletRequest), "create", idempotencyKey,
+                        IdempotencyStore.fingerprint(request.title(), request.description()),
+                        () -> createTask(request));
+            }
+            return createTask(request);
+        } catch (Exception e) {
+            throw e;
+        }
+    }
+
+    private ResponseEntity<?> createTask(TaskRequest request) {
+        TaskIngestQueue ingest = taskIngestQueue.getIfAvailable();
+        if (ingest != null) {
+            TaskReceipt receipt = ingest.submit(request);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/v1/tasks/" + receipt.id() + "/status"))
+                    .body(receipt);
+        }
+        TaskResponse response = taskService.createTask(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<BatchTaskResponse> createTasks(@Valid @RequestBody BatchTaskRequest request) {
+        try {
+            BatchTaskResponse response = taskService.createTasks(request.tasks());
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
         } catch (Exception e) {
             throw e;
@@ -28,22 +97,213 @@ public class TaskController {
     }
 
     @GetMapping
-    public ResponseEntity<List<TaskResponse>> getRecentTasks() {
+    public ResponseEntity<List<TaskResponse>> getRecentTasks(WebRequest webRequest) {
+        // Take the tag before reading: a write that lands in between only makes the tag stale,
+        // which costs the client one extra full response instead of a missed change.
+        String etag = taskChangeVersion.etag("recent");
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
         try {
             List<TaskResponse> tasks = taskService.getRecentTasks();
-            return ResponseEntity.ok(tasks);
+            return ResponseEntity.ok().eTag(etag).body(tasks);
+        } catch (Exception e) {
+            throw e;
+        }
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTaskEvents(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return taskEventBroadcaster.subscribe(lastEventId);
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<TaskPageResponse> getTasks(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Boolean completed,
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest webRequest) {
+        String etag = taskChangeVersion.etag("page");
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
+        try {
+            TaskPageResponse page = taskService.getTasks(cursor, completed, size);
+            return ResponseEntity.ok().eTag(etag).body(page);
+        } catch (Exception e) {
+            throw e;
+        }
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<TaskPageResponse> searchTasks(
+            @RequestParam(defaultValue = "") String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Boolean completed,
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest webRequest) {
+        String etag = taskChangeVersion.etag("search");
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
+        try {
+            TaskPageResponse page = taskService.searchTasks(q, cursor, completed, size);
+            return ResponseEntity.ok().eTag(etag).body(page);
+        } catch (Exception e) {
+            throw e;
+        }
+    }
+
+    /**
+     * Streams every task (optionally only open or completed ones) as NDJSON or CSV, written to
+     * the response as rows are read rather than collected first. Runs on the request thread so
+     * a long export is not cut off by the async request timeout.
+     */
+    @GetMapping("/export")
+    public void exportTasks(@RequestParam(defaultValue = "ndjson") String format,
+                            @RequestParam(required = false) Boolean completed,
+                            HttpServletResponse response) throws IOException {
+        TaskExportFormat exportFormat;
+        try {
+            exportFormat = TaskExportFormat.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidExportFormatException("Unsupported export format: " + format);
+        }
+
+        response.setContentType(exportFormat.contentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("tasks." + exportFormat.fileExtension())
+                .build()
+                .toString());
+        try {
+            taskService.exportTasks(exportFormat, completed, response.getOutputStream());
+        } catch (Exception e) {
+            // Until the first buffer is flushed the export headers can still be swapped for an
+            // error response; after that the client sees a truncated download.
+            if (!response.isCommitted()) {
+                response.reset();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Tasks created and completed per minute or hour, the open backlog and time-to-complete
+     * percentiles, read from rollups that trail live writes by up to one flush interval.
+     * Defaults to the last hour by minute, or the last day by hour.
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<TaskStatsResponse> getStats(
+            @RequestParam(defaultValue = "minute") String granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        TaskStatsGranularity statsGranularity;
+        try {
+            statsGranularity = TaskStatsGranularity.valueOf(granularity.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidStatsQueryException("Unsupported stats granularity: " + granularity);
+        }
+
+        try {
+            TaskStatsResponse response = taskService.getStats(statsGranularity, from, to);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            throw e;
+        }
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<TaskResponse> getTask(@PathVariable Long id, WebRequest webRequest) {
+        String etag = taskChangeVersion.etag("task-" + id);
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
+        try {
+            TaskResponse response = taskService.getTask(id);
+            return ResponseEntity.ok().eTag(etag).body(response);
         } catch (Exception e) {
             throw e;
         }
     }
 
+    /**
+     * Looks up a task that has been moved to the archive. Archived tasks are no longer served
+     * by the other task endpoints.
+     */
+    @GetMapping("/archive/{id}")
+    public ResponseEntity<TaskResponse> getArchivedTask(@PathVariable Long id) {
+        try {
+            TaskResponse response = taskService.getArchivedTask(id);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            throw e;
+        }
+    }
+
+    @GetMapping("/{id}/status")
+    public ResponseEntity<TaskStatusResponse> getTaskStatus(@PathVariable Long id) {
+        try {
+            TaskIngestQueue ingest = taskIngestQueue.getIfAvailable();
+            TaskPersistenceStatus status = ingest == null ? null : ingest.status(id).orElse(null);
+            if (status == null) {
+                // Throws TaskNotFoundException when the id was never accepted.
+                taskService.getTask(id);
+                status = TaskPersistenceStatus.PERSISTED;
+            }
+            return ResponseEntity.ok(TaskStatusResponse.builder().id(id).status(status).build());
+        } catch (Exception e) {
+            throw e;
+        }
+    }
+
+    /**
+     * Completes a task. A task still waiting in the asynchronous ingest queue has its completion
+     * queued behind it, answered with {@code 202 Accepted} like the creation was. Takes an
+     * {@code Idempotency-Key} like {@link #createTask}.
+     * <p>
+     * Completing an already completed task returns it unchanged. Of several requests racing to
+     * complete the same open task one wins; the others get the task as the winner completed it.
+     */
     @PutMapping("/{id}/complete")
-    public ResponseEntity<TaskResponse> markAsCompleted(@PathVariable Long id) {
+    public ResponseEntity<?> markAsCompleted(@PathVariable Long id,
+                                             @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey,
+                                             HttpServletRequest servletRequest) {
+        try {
+            if (idempotencyKey != null) {
+                return idempotencyStore.execute(idempotencyStore.client(servletRequest), "complete", idempotencyKey,
+                        IdempotencyStore.fingerprint(id.toString()),
+                        () -> markAsCompleted(id));
+            }
+            return markAsCompleted(id);
+        } catch (Exception e) {
+            throw e;
+        }
+    }
+
+    private ResponseEntity<?> markAsCompleted(Long id) {
+        TaskIngestQueue ingest = taskIngestQueue.getIfAvailable();
+        TaskReceipt receipt = ingest == null ? null : ingest.submitCompletion(id).orElse(null);
+        if (receipt != null) {
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/v1/tasks/" + id + "/status"))
+                    .body(receipt);
+        }
+        TaskResponse response = taskService.markAsCompleted(id);
+        return ResponseEntity.ok(response);
+    }
+
+    @PutMapping("/complete")
+    public ResponseEntity<BulkCompleteResponse> markAllAsCompleted(@Valid @RequestBody BulkCompleteRequest request) {
         try {
-            TaskResponse response = taskService.markAsCompleted(id);
+            BulkCompleteResponse response = taskService.markAllAsCompleted(request.ids());
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             throw e;
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,27 @@
+package com.todo.todo_backend.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Read replicas for read-only transactions, bound from {@code todo.datasource.read}. Routing is
+ * only set up when at least one replica URL is configured.
+ */
+@ConfigurationProperties(prefix = "todo.datasource.read")
+public record ReadReplicaProperties(
+        @DefaultValue List<Replica> replicas,
+        @DefaultValue("round-robin") Selection selection,
+        @DefaultValue("5s") Duration healthCheckInterval,
+        @DefaultValue("2s") Duration readYourWritesWindow
+) {
+
+    public record Replica(String url, String username, String password) {
+    }
+
+    public enum Selection {
+        ROUND_ROBIN, LEAST_LATENCY
+    }
+}
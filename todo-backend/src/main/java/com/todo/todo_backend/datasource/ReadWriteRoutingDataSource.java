@@ -0,0 +1,49 @@
+package com.todo.todo_backend.datasource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Sends read-only transactions to a replica and everything else to the primary.
+ * <p>
+ * The decision is made from the transaction synchronization state when the connection is
+ * obtained, which is only set once the transaction has begun. This data source therefore has
+ * to sit behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}
+ * so that connection is not fetched until the first statement runs.
+ */
+public class ReadWriteRoutingDataSource extends AbstractDataSource {
+
+    private final DataSource primary;
+    private final ReplicaPool replicas;
+    private final ReadYourWritesWindow readYourWritesWindow;
+
+    public ReadWriteRoutingDataSource(DataSource primary, ReplicaPool replicas, ReadYourWritesWindow readYourWritesWindow) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.readYourWritesWindow = readYourWritesWindow;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && !readYourWritesWindow.isOpen()) {
+            Connection replica = replicas.getConnection();
+            if (replica != null) {
+                return replica;
+            }
+        }
+        return primary.getConnection();
+    }
+
+    /**
+     * Explicit credentials are the primary's: replicas are only reachable with their own, so
+     * these connections always go to the primary.
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+}
@@ -0,0 +1,47 @@
+package com.todo.todo_backend.datasource;
+
+import com.todo.todo_backend.event.TaskEvent;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Keeps reads on the primary for a short while after each committed task write, so a client
+ * that creates or completes a task and immediately lists tasks is not served a replica that has
+ * not replayed the write yet. The window should cover the replicas' usual replication lag.
+ * <p>
+ * The window is per instance rather than per client: the API has no session to key it on, and
+ * a per-instance window errs on the side of freshness. Under a steady stream of writes, reads
+ * stay on the primary.
+ */
+public class ReadYourWritesWindow {
+
+    private final long windowNanos;
+    private final LongSupplier nanoTime;
+    private volatile long openUntil;
+
+    public ReadYourWritesWindow(Duration window) {
+        this(window, System::nanoTime);
+    }
+
+    ReadYourWritesWindow(Duration window, LongSupplier nanoTime) {
+        this.windowNanos = window.toNanos();
+        this.nanoTime = nanoTime;
+        this.openUntil = nanoTime.getAsLong();
+    }
+
+    // Runs ahead of TaskChangeVersion so a client revalidating with a new entity tag is never
+    // routed to a replica that may not hold the write yet.
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskEvent(TaskEvent event) {
+        openUntil = nanoTime.getAsLong() + windowNanos;
+    }
+
+    public boolean isOpen() {
+        return nanoTime.getAsLong() - openUntil < 0;
+    }
+}
@@ -0,0 +1,144 @@
+package com.todo.todo_backend.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The set of read replicas and the policy for picking one.
+ * <p>
+ * A background check validates a connection to every replica on a fixed interval and keeps an
+ * exponentially weighted moving average of how long that took. Failing replicas are taken out
+ * of rotation until a check passes again; a replica that fails to hand out a connection between
+ * checks is taken out immediately. Selection is round-robin over the healthy replicas, or the
+ * healthy replica with the lowest average latency.
+ */
+@Slf4j
+public class ReplicaPool implements AutoCloseable {
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 1;
+    private static final double LATENCY_WEIGHT = 0.3;
+
+    private final List<Replica> replicas;
+    private final ReadReplicaProperties.Selection selection;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ScheduledExecutorService healthCheck;
+
+    public ReplicaPool(List<Replica> replicas, ReadReplicaProperties.Selection selection, Duration healthCheckInterval) {
+        this.replicas = List.copyOf(replicas);
+        this.selection = selection;
+
+        checkHealth();
+        this.healthCheck = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = healthCheckInterval.toMillis();
+        healthCheck.scheduleWithFixedDelay(this::checkHealth, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Returns a connection to a healthy replica, or {@code null} when none can provide one and
+     * the caller should fall back to the primary.
+     */
+    public Connection getConnection() {
+        for (int attempt = 0; attempt < replicas.size(); attempt++) {
+            Replica replica = select();
+            if (replica == null) {
+                return null;
+            }
+            try {
+                return replica.dataSource().getConnection();
+            } catch (SQLException e) {
+                log.warn("Read replica {} failed to provide a connection, taking it out of rotation: {}",
+                        replica.name(), e.getMessage());
+                replica.healthy = false;
+            }
+        }
+        return null;
+    }
+
+    Replica select() {
+        if (selection == ReadReplicaProperties.Selection.LEAST_LATENCY) {
+            Replica fastest = null;
+            for (Replica replica : replicas) {
+                if (replica.healthy && (fastest == null || replica.latencyNanos < fastest.latencyNanos)) {
+                    fastest = replica;
+                }
+            }
+            return fastest;
+        }
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    void checkHealth() {
+        for (Replica replica : replicas) {
+            long started = System.nanoTime();
+            boolean valid;
+            try (Connection connection = replica.dataSource().getConnection()) {
+                valid = connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+            } catch (SQLException | RuntimeException e) {
+                valid = false;
+            }
+            long elapsed = System.nanoTime() - started;
+
+            if (valid) {
+                replica.latencyNanos = replica.latencyNanos == 0
+                        ? elapsed
+                        : (long) (LATENCY_WEIGHT * elapsed + (1 - LATENCY_WEIGHT) * replica.latencyNanos);
+            }
+            if (valid != replica.healthy) {
+                log.info("Read replica {} is now {}", replica.name(), valid ? "healthy" : "unhealthy");
+            }
+            replica.healthy = valid;
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        healthCheck.shutdownNow();
+        for (Replica replica : replicas) {
+            if (replica.dataSource() instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    public static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        // Written by the health check and by failed connection attempts, read on every selection.
+        private volatile boolean healthy;
+        private volatile long latencyNanos;
+
+        public Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public DataSource dataSource() {
+            return dataSource;
+        }
+    }
+}
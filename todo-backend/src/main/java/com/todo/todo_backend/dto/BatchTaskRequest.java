@@ -0,0 +1,17 @@
+package com.todo.todo_backend.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+public record BatchTaskRequest(
+        @NotEmpty(message = "At least one task is required")
+        @Size(max = 50000, message = "A batch may contain at most 50000 tasks")
+        List<@Valid @NotNull(message = "Task must not be null") TaskRequest> tasks
+) {
+}
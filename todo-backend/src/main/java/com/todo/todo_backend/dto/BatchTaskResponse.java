@@ -0,0 +1,12 @@
+package com.todo.todo_backend.dto;
+
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+public record BatchTaskResponse(
+        int created,
+        List<TaskResponse> tasks
+) {
+}
@@ -0,0 +1,16 @@
+package com.todo.todo_backend.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+public record BulkCompleteRequest(
+        @NotEmpty(message = "At least one id is required")
+        @Size(max = 10000, message = "At most 10000 ids may be completed at once")
+        List<@NotNull(message = "Id must not be null") Long> ids
+) {
+}
@@ -0,0 +1,13 @@
+package com.todo.todo_backend.dto;
+
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+public record BulkCompleteResponse(
+        List<Long> completed,
+        List<Long> alreadyCompleted,
+        List<Long> notFound
+) {
+}
@@ -0,0 +1,9 @@
+package com.todo.todo_backend.dto;
+
+public enum TaskPersistenceStatus {
+    /** Accepted and queued, not yet committed to the database. */
+    PENDING,
+    PERSISTED,
+    /** The write was accepted but could not be committed; the id will never exist. */
+    FAILED
+}
@@ -0,0 +1,13 @@
+package com.todo.todo_backend.dto;
+
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+
+@Builder
+public record TaskReceipt(
+        Long id,
+        TaskPersistenceStatus status,
+        LocalDateTime createdAt
+) {
+}
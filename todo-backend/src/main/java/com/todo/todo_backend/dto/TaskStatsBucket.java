@@ -0,0 +1,14 @@
+package com.todo.todo_backend.dto;
+
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+
+@Builder
+public record TaskStatsBucket(
+        LocalDateTime start,
+        long created,
+        long completed,
+        Long medianTimeToCompleteMillis
+) {
+}
@@ -0,0 +1,31 @@
+package com.todo.todo_backend.dto;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+public enum TaskStatsGranularity {
+    MINUTE(ChronoUnit.MINUTES, Duration.ofHours(1)),
+    HOUR(ChronoUnit.HOURS, Duration.ofDays(1));
+
+    private final ChronoUnit unit;
+    private final Duration defaultRange;
+
+    TaskStatsGranularity(ChronoUnit unit, Duration defaultRange) {
+        this.unit = unit;
+        this.defaultRange = defaultRange;
+    }
+
+    public LocalDateTime bucketStart(LocalDateTime time) {
+        return time.truncatedTo(unit);
+    }
+
+    public long bucketsBetween(LocalDateTime from, LocalDateTime to) {
+        return unit.between(bucketStart(from), bucketStart(to.minusNanos(1))) + 1;
+    }
+
+    /** How far back a query without a start time reaches. */
+    public Duration defaultRange() {
+        return defaultRange;
+    }
+}
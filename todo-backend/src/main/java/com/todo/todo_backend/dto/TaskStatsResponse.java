@@ -0,0 +1,24 @@
+package com.todo.todo_backend.dto;
+
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Throughput over {@code [from, to)}. Only buckets in which something happened are listed, and
+ * the time-to-complete figures are {@code null} when no task was completed in the range.
+ */
+@Builder
+public record TaskStatsResponse(
+        TaskStatsGranularity granularity,
+        LocalDateTime from,
+        LocalDateTime to,
+        long backlog,
+        long created,
+        long completed,
+        Long medianTimeToCompleteMillis,
+        Long p90TimeToCompleteMillis,
+        List<TaskStatsBucket> buckets
+) {
+}
@@ -0,0 +1,10 @@
+package com.todo.todo_backend.dto;
+
+import lombok.Builder;
+
+@Builder
+public record TaskStatusResponse(
+        Long id,
+        TaskPersistenceStatus status
+) {
+}
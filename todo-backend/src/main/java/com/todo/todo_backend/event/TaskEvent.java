@@ -0,0 +1,25 @@
+package com.todo.todo_backend.event;
+
+import com.todo.todo_backend.dto.TaskResponse;
+
+/**
+ * Published by the task service whenever a task is written. Listeners that keep derived
+ * state (caches, streams, counters) should consume it after the surrounding transaction
+ * commits, so they never observe a write that is later rolled back.
+ */
+public record TaskEvent(
+        TaskEventType type,
+        TaskResponse task
+) {
+    public static TaskEvent created(TaskResponse task) {
+        return new TaskEvent(TaskEventType.CREATED, task);
+    }
+
+    public static TaskEvent completed(TaskResponse task) {
+        return new TaskEvent(TaskEventType.COMPLETED, task);
+    }
+
+    public static TaskEvent archived(TaskResponse task) {
+        return new TaskEvent(TaskEventType.ARCHIVED, task);
+    }
+}
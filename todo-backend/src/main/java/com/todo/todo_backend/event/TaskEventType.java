@@ -0,0 +1,8 @@
+package com.todo.todo_backend.event;
+
+public enum TaskEventType {
+    CREATED,
+    COMPLETED,
+    /** Moved from the task table to the archive some time after it was completed. */
+    ARCHIVED
+}
@@ -0,0 +1,7 @@
+package com.todo.todo_backend.exception;
+
+public class InvalidExportFormatException extends RuntimeException {
+    public InvalidExportFormatException(String message) {
+        super(message);
+    }
+}
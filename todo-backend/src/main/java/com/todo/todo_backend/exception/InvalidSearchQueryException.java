@@ -0,0 +1,7 @@
+package com.todo.todo_backend.exception;
+
+public class InvalidSearchQueryException extends RuntimeException {
+    public InvalidSearchQueryException(String message) {
+        super(message);
+    }
+}
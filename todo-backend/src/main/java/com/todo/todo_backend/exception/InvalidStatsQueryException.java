@@ -0,0 +1,7 @@
+package com.todo.todo_backend.exception;
+
+public class InvalidStatsQueryException extends RuntimeException {
+    public InvalidStatsQueryException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.todo.todo_backend.exception;
+
+public class ServiceOverloadedException extends RuntimeException {
+    public ServiceOverloadedException(String message) {
+        super(message);
+    }
+}
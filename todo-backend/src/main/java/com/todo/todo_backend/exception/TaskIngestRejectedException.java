@@ -0,0 +1,7 @@
+package com.todo.todo_backend.exception;
+
+public class TaskIngestRejectedException extends RuntimeException {
+    public TaskIngestRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,82 @@
+package com.todo.todo_backend.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvGenerator;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.todo.todo_backend.dto.TaskExportFormat;
+import com.todo.todo_backend.dto.TaskResponse;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes tasks to an output stream one record at a time, as NDJSON (one JSON object per line)
+ * or as CSV with a header row. Records go straight into the generator's buffer, which is
+ * flushed to the stream whenever it fills, so memory use does not depend on how many tasks
+ * are written. Closing the writer flushes it but leaves the stream open.
+ */
+public final class TaskExportWriter implements Closeable {
+
+    private static final CsvMapper CSV_MAPPER = CsvMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            // Quote only fields that contain a separator, quote or line break.
+            .enable(CsvGenerator.Feature.STRICT_CHECK_FOR_QUOTING)
+            .build();
+
+    private static final CsvSchema CSV_SCHEMA = CsvSchema.builder()
+            .addColumn("id")
+            .addColumn("title")
+            .addColumn("description")
+            .addColumn("completed")
+            .addColumn("createdAt")
+            .addColumn("completedAt")
+            .setUseHeader(true)
+            .build();
+
+    private final JsonGenerator generator;
+    private final SequenceWriter records;
+    private final boolean newlineAfterRecord;
+
+    private TaskExportWriter(ObjectWriter writer, OutputStream out, boolean newlineAfterRecord) throws IOException {
+        ObjectWriter recordWriter = writer.without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.generator = recordWriter.createGenerator(out);
+        this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.records = recordWriter.writeValues(generator);
+        this.newlineAfterRecord = newlineAfterRecord;
+    }
+
+    /**
+     * @param objectMapper the application's mapper, so NDJSON records match the API's JSON
+     */
+    public static TaskExportWriter create(TaskExportFormat format, ObjectMapper objectMapper, OutputStream out)
+            throws IOException {
+        return switch (format) {
+            // Lines are terminated explicitly rather than separated, so the last one ends in a
+            // newline too.
+            case NDJSON -> new TaskExportWriter(
+                    objectMapper.writerFor(TaskResponse.class).withRootValueSeparator((String) null), out, true);
+            case CSV -> new TaskExportWriter(CSV_MAPPER.writerFor(TaskResponse.class).with(CSV_SCHEMA), out, false);
+        };
+    }
+
+    public void write(TaskResponse task) throws IOException {
+        records.write(task);
+        if (newlineAfterRecord) {
+            generator.writeRaw('\n');
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        records.close();
+        generator.close();
+    }
+}
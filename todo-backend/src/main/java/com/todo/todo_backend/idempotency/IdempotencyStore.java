@@ -0,0 +1,249 @@
+package com.todo.todo_backend.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.todo.todo_backend.dto.TaskResponse;
+import com.todo.todo_backend.exception.IdempotencyKeyInUseException;
+import com.todo.todo_backend.exception.IdempotencyKeyMismatchException;
+import com.todo.todo_backend.exception.InvalidIdempotencyKeyException;
+import lombok.extern.slf4j.Slf4j;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Answers requests sent with an {@code Idempotency-Key} header at most once per key.
+ * <p>
+ * Keys are scoped per client, so two clients that pick the same key never see each other's
+ * responses. A client is identified as the rate limiter does: by its API key header when it
+ * sends one, otherwise by its remote address.
+ * <p>
+ * The first request with a key runs and its successful response is stored; a retry with the
+ * same key and request is answered from the store, marked with {@code Idempotent-Replayed},
+ * without touching the database. The stored body is deserialized again and goes through
+ * content negotiation, so a retry gets it in whatever representation it accepts. A duplicate
+ * that arrives while the first is still running waits for its outcome rather than running as
+ * well. Failed requests are not stored, so they can be retried under the same key.
+ * <p>
+ * Completed responses live in a size-bounded cache that forgets them after
+ * {@code todo.idempotency.ttl}; requests still running are tracked separately so eviction can
+ * never let a duplicate through. With {@code todo.idempotency.store=jdbc} responses are also
+ * written to the {@code idempotency_key} table, which is consulted when the cache misses.
+ * The table write is not part of the request's transaction: a crash in between loses the
+ * record, not the task.
+ */
+@Slf4j
+@Component
+@Profile("!reactive")
+public class IdempotencyStore {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+    // Stored body types are read back from the database, so only response DTOs are trusted.
+    private static final String REPLAYABLE_PACKAGE = TaskResponse.class.getPackageName() + ".";
+
+    private final ObjectMapper objectMapper;
+    private final String apiKeyHeader;
+    private final Duration inFlightWait;
+    private final JdbcIdempotencyRecords records;
+    private final Cache<Key, StoredResponse> completed;
+    private final ConcurrentMap<Key, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyStore(ObjectMapper objectMapper,
+                            @Value("${todo.rate-limit.api-key-header:X-API-Key}") String apiKeyHeader,
+                            @Value("${todo.idempotency.max-entries:50000}") long maxEntries,
+                            @Value("${todo.idempotency.ttl:24h}") Duration ttl,
+                            @Value("${todo.idempotency.in-flight-wait:10s}") Duration inFlightWait,
+                            ObjectProvider<JdbcIdempotencyRecords> records) {
+        this.objectMapper = objectMapper;
+        this.apiKeyHeader = apiKeyHeader;
+        this.inFlightWait = inFlightWait;
+        this.records = records.getIfAvailable();
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * Hashes the parts of a request that must match for a retry to be replayed.
+     */
+    public static String fingerprint(String... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String part : parts) {
+                // Length-prefixed so ("ab", "c") and ("a", "bc") differ, and null differs from "".
+                digest.update(Integer.toString(part == null ? -1 : part.length()).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) ':');
+                if (part != null) {
+                    digest.update(part.getBytes(StandardCharsets.UTF_8));
+                }
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Identifies the client whose keys {@code request}'s key is scoped to.
+     */
+    public String client(HttpServletRequest request) {
+        String apiKey = request.getHeader(apiKeyHeader);
+        return apiKey != null && !apiKey.isBlank() ? "key:" + apiKey : "ip:" + request.getRemoteAddr();
+    }
+
+    /**
+     * Runs {@code action} for the first request from {@code client} with {@code key} under
+     * {@code operation}, and replays its response for every later one with the same key.
+     *
+     * @throws InvalidIdempotencyKeyException   if the key is blank or too long
+     * @throws IdempotencyKeyMismatchException  if the key was used for a different request
+     * @throws IdempotencyKeyInUseException     if the first request is still running after the wait
+     */
+    public ResponseEntity<?> execute(String client, String operation, String key, String fingerprint,
+                                     Supplier<ResponseEntity<?>> action) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new InvalidIdempotencyKeyException(
+                    HEADER + " must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+        Key cacheKey = new Key(client, operation, key);
+
+        StoredResponse stored = lookup(cacheKey);
+        if (stored != null) {
+            return replay(stored, fingerprint);
+        }
+
+        CompletableFuture<StoredResponse> execution = new CompletableFuture<>();
+        CompletableFuture<StoredResponse> running = inFlight.putIfAbsent(cacheKey, execution);
+        if (running != null) {
+            return replay(await(running), fingerprint);
+        }
+        try {
+            // The first request may have finished between the lookup and claiming the key.
+            stored = completed.getIfPresent(cacheKey);
+            if (stored != null) {
+                execution.complete(stored);
+                return replay(stored, fingerprint);
+            }
+
+            ResponseEntity<?> response = action.get();
+            stored = store(cacheKey, fingerprint, response);
+            execution.complete(stored);
+            return response;
+        } catch (RuntimeException e) {
+            execution.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(cacheKey, execution);
+        }
+    }
+
+    private StoredResponse lookup(Key key) {
+        StoredResponse stored = completed.getIfPresent(key);
+        if (stored == null && records != null) {
+            stored = records.find(key.client(), key.operation(), key.key());
+            if (stored != null) {
+                completed.put(key, stored);
+            }
+        }
+        return stored;
+    }
+
+    private StoredResponse store(Key key, String fingerprint, ResponseEntity<?> response) {
+        String body;
+        try {
+            body = objectMapper.writeValueAsString(response.getBody());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize response for idempotent replay", e);
+        }
+        String location = response.getHeaders().getLocation() == null
+                ? null
+                : response.getHeaders().getLocation().toString();
+        String bodyType = response.getBody() == null ? null : response.getBody().getClass().getName();
+        StoredResponse stored = new StoredResponse(fingerprint, response.getStatusCode().value(), location, body,
+                bodyType, LocalDateTime.now());
+        completed.put(key, stored);
+        if (records != null) {
+            try {
+                records.save(key.client(), key.operation(), key.key(), stored);
+            } catch (RuntimeException e) {
+                // The request has already been applied; losing the durable copy only narrows
+                // replay to this instance's cache.
+                log.warn("Failed to persist idempotency key for {}: {}", key.operation(), e.getMessage());
+            }
+        }
+        return stored;
+    }
+
+    private StoredResponse await(CompletableFuture<StoredResponse> running) {
+        try {
+            return running.get(inFlightWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new IdempotencyKeyInUseException("A request with this " + HEADER + " is still in progress");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyKeyInUseException("A request with this " + HEADER + " is still in progress");
+        }
+    }
+
+    private ResponseEntity<Object> replay(StoredResponse stored, String fingerprint) {
+        if (!stored.fingerprint().equals(fingerprint)) {
+            throw new IdempotencyKeyMismatchException(HEADER + " was already used for a different request");
+        }
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(stored.status())
+                .header(REPLAYED_HEADER, "true");
+        if (stored.location() != null) {
+            builder.header(HttpHeaders.LOCATION, stored.location());
+        }
+        return builder.body(body(stored));
+    }
+
+    private Object body(StoredResponse stored) {
+        try {
+            if (stored.bodyType() == null) {
+                // Null bodies, and rows written before body types were recorded, which can still
+                // be replayed as the JSON tree they were stored as.
+                JsonNode tree = objectMapper.readTree(stored.body());
+                return tree.isNull() ? null : tree;
+            }
+            if (!stored.bodyType().startsWith(REPLAYABLE_PACKAGE)) {
+                throw new IllegalStateException("Refusing to replay a stored " + stored.bodyType());
+            }
+            return objectMapper.readValue(stored.body(), Class.forName(stored.bodyType()));
+        } catch (ClassNotFoundException | JsonProcessingException e) {
+            throw new IllegalStateException("Failed to restore response for idempotent replay", e);
+        }
+    }
+
+    private record Key(String client, String operation, String key) {
+    }
+}
@@ -0,0 +1,104 @@
+package com.todo.todo_backend.idempotency;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps stored responses in the {@code idempotency_key} table as well, so a retry is still
+ * recognised after a restart or when it lands on another instance. Rows past the TTL are
+ * ignored on lookup, replaced when their key is used again, and purged in the background.
+ */
+@Slf4j
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "todo.idempotency", name = "store", havingValue = "jdbc")
+class JdbcIdempotencyRecords implements AutoCloseable {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration ttl;
+    private final ScheduledExecutorService purge;
+
+    JdbcIdempotencyRecords(JdbcTemplate jdbcTemplate,
+                           @Value("${todo.idempotency.ttl:24h}") Duration ttl,
+                           @Value("${todo.idempotency.purge-interval:10m}") Duration purgeInterval) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ttl = ttl;
+        this.purge = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "idempotency-purge");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = purgeInterval.toMillis();
+        purge.scheduleWithFixedDelay(this::purgeExpired, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    StoredResponse find(String client, String operation, String key) {
+        List<StoredResponse> rows = jdbcTemplate.query("""
+                        SELECT fingerprint, status, location, body, body_type, created_at FROM idempotency_key
+                        WHERE client = ? AND operation = ? AND idempotency_key = ? AND created_at >= ?""",
+                (rs, rowNum) -> new StoredResponse(
+                        rs.getString("fingerprint"),
+                        rs.getInt("status"),
+                        rs.getString("location"),
+                        rs.getString("body"),
+                        rs.getString("body_type"),
+                        rs.getTimestamp("created_at").toLocalDateTime()),
+                client, operation, key, Timestamp.valueOf(LocalDateTime.now().minus(ttl)));
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    void save(String client, String operation, String key, StoredResponse response) {
+        try {
+            jdbcTemplate.update("""
+                            INSERT INTO idempotency_key
+                                (client, operation, idempotency_key, fingerprint, status, location, body, body_type,
+                                 created_at)
+                            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)""",
+                    client, operation, key, response.fingerprint(), response.status(), response.location(),
+                    response.body(), response.bodyType(), Timestamp.valueOf(response.createdAt()));
+        } catch (DuplicateKeyException e) {
+            // The row is either a live response another instance stored first, which is as valid
+            // a replay as ours, or an expired one the purge has not reached, which ours replaces.
+            int replaced = jdbcTemplate.update("""
+                            UPDATE idempotency_key
+                            SET fingerprint = ?, status = ?, location = ?, body = ?, body_type = ?, created_at = ?
+                            WHERE client = ? AND operation = ? AND idempotency_key = ? AND created_at < ?""",
+                    response.fingerprint(), response.status(), response.location(), response.body(),
+                    response.bodyType(), Timestamp.valueOf(response.createdAt()), client, operation, key,
+                    Timestamp.valueOf(LocalDateTime.now().minus(ttl)));
+            if (replaced == 0) {
+                log.debug("Idempotency key {} already stored for {}", key, operation);
+            }
+        }
+    }
+
+    void purgeExpired() {
+        try {
+            int purged = jdbcTemplate.update("DELETE FROM idempotency_key WHERE created_at < ?",
+                    Timestamp.valueOf(LocalDateTime.now().minus(ttl)));
+            if (purged > 0) {
+                log.debug("Purged {} expired idempotency keys", purged);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to purge expired idempotency keys: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        purge.shutdownNow();
+    }
+}
@@ -0,0 +1,14 @@
+package com.todo.todo_backend.idempotency;
+
+import java.time.LocalDateTime;
+
+/**
+ * The response given to the first request carrying an idempotency key, with the fingerprint
+ * of that request so a reuse of the key for a different request can be told apart from a
+ * retry. {@code body} is the serialized JSON of an instance of {@code bodyType}, or of null
+ * when the type is null, so a replay can be rendered again in the representation its retry
+ * accepts.
+ */
+record StoredResponse(String fingerprint, int status, String location, String body, String bodyType,
+                      LocalDateTime createdAt) {
+}
@@ -0,0 +1,533 @@
+package com.todo.todo_backend.ingest;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * {@link TaskWriteAheadLog} kept as a directory of append-only segment files written through a
+ * {@link FileChannel}. Records are framed as {@code [length][crc32][payload]}.
+ * <p>
+ * With a zero fsync interval, {@link #awaitDurable} returns only once the record has been
+ * forced, but concurrent callers share forces: whoever holds the sync lock forces everything
+ * appended so far, and the callers queued behind it usually find their record already covered.
+ * With a positive interval a background thread forces on that period and callers do not wait,
+ * trading a bounded window of acknowledged-but-lost writes for latency.
+ * <p>
+ * A segment is rolled once it reaches the segment size, or as soon as every record in it has
+ * been acknowledged, and deleted once it is sealed and fully acknowledged. Acknowledgements also
+ * advance a checkpoint file holding the highest LSN up to which everything is acknowledged, so
+ * replay skips records the database already holds even in a segment that was still live. The
+ * checkpoint is not forced: losing its latest update only replays writes that recovery finds
+ * already applied. Replay stops reading a segment at the first torn or corrupt record, which is
+ * what a crash in the middle of an append leaves behind.
+ */
+@Slf4j
+final class SegmentedTaskWriteAheadLog implements TaskWriteAheadLog {
+
+    private static final String PREFIX = "tasks-";
+    private static final String SUFFIX = ".wal";
+    private static final String CHECKPOINT = "tasks.checkpoint";
+    private static final int CHECKPOINT_BYTES = Long.BYTES + Integer.BYTES;
+    private static final int HEADER_BYTES = 8;
+    private static final int MAX_RECORD_BYTES = 1 << 20;
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final long fsyncIntervalMillis;
+
+    // Lock order: sync before append, ack before append. Appends never wait for a force.
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final ReentrantLock syncLock = new ReentrantLock();
+    private final ConcurrentSkipListMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+    private final AtomicLong durableLsn = new AtomicLong(-1);
+
+    // Guarded by the ack lock. Every LSN up to the watermark is acknowledged; acknowledgements
+    // that arrive ahead of a gap wait in the set until it closes.
+    private final ReentrantLock ackLock = new ReentrantLock();
+    private final ConcurrentSkipListSet<Long> acknowledgedAhead = new ConcurrentSkipListSet<>();
+    private final ByteBuffer checkpointBuffer = ByteBuffer.allocate(CHECKPOINT_BYTES);
+    private long acknowledgedLsn = -1;
+    private FileChannel checkpoint;
+
+    // Guarded by the append lock.
+    private final CRC32 crc = new CRC32();
+    private ByteBuffer buffer = ByteBuffer.allocate(4096);
+    private Segment active;
+    private long nextLsn;
+
+    private ScheduledExecutorService flusher;
+
+    SegmentedTaskWriteAheadLog(Path directory, long segmentBytes, Duration fsyncInterval) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.fsyncIntervalMillis = fsyncInterval.toMillis();
+    }
+
+    @Override
+    public void replay(Consumer<List<Entry>> applier) {
+        appendLock.lock();
+        try {
+            if (active != null) {
+                throw new IllegalStateException("Task write-ahead log is already open");
+            }
+            Files.createDirectories(directory);
+            List<Path> files;
+            try (Stream<Path> listing = Files.list(directory)) {
+                files = listing.filter(SegmentedTaskWriteAheadLog::isSegment)
+                        .sorted(Comparator.comparingLong(SegmentedTaskWriteAheadLog::firstLsn))
+                        .toList();
+            }
+
+            Path checkpointFile = directory.resolve(CHECKPOINT);
+            long acknowledged = readCheckpoint(checkpointFile);
+            List<Entry> entries = new ArrayList<>();
+            // LSNs carry on past the checkpoint even once every segment is gone, so a new record
+            // can never fall at or below it.
+            long next = acknowledged + 1;
+            for (Path file : files) {
+                int count = read(file, firstLsn(file), acknowledged, entries);
+                next = Math.max(next, firstLsn(file) + count);
+            }
+            if (!entries.isEmpty()) {
+                log.info("Replaying {} task writes from {} log segments", entries.size(), files.size());
+                applier.accept(entries);
+            }
+
+            nextLsn = next;
+            durableLsn.set(next - 1);
+            // Nothing can be acknowledged before replay returns, so the ack lock is not needed.
+            checkpoint = FileChannel.open(checkpointFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            acknowledgedLsn = next - 1;
+            writeCheckpoint();
+            checkpoint.force(false);
+            // The applier has committed everything read, and the forced checkpoint now covers
+            // it, so only now can the segments holding it go.
+            for (Path file : files) {
+                Files.delete(file);
+            }
+            active = open(next);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to replay task write-ahead log in " + directory, e);
+        } finally {
+            appendLock.unlock();
+        }
+
+        if (fsyncIntervalMillis > 0) {
+            flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "task-wal-fsync");
+                thread.setDaemon(true);
+                return thread;
+            });
+            flusher.scheduleWithFixedDelay(this::forceQuietly, fsyncIntervalMillis, fsyncIntervalMillis,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public long append(Entry entry) {
+        byte[] title = utf8(entry.title());
+        byte[] description = utf8(entry.description());
+        int payload = 1 + Long.BYTES + Long.BYTES;
+        if (entry.operation() == Operation.CREATE) {
+            payload += Integer.BYTES + length(title) + Integer.BYTES + length(description);
+        }
+        if (payload > MAX_RECORD_BYTES) {
+            throw new IllegalArgumentException("Task write of " + payload + " bytes exceeds the log record limit");
+        }
+
+        appendLock.lock();
+        try {
+            if (active == null) {
+                throw new IllegalStateException("Task write-ahead log must be replayed before it is appended to");
+            }
+            if (active.size >= segmentBytes) {
+                roll();
+            }
+            ByteBuffer record = frame(entry, title, description, payload);
+            try {
+                while (record.hasRemaining()) {
+                    active.channel.write(record);
+                }
+            } catch (IOException e) {
+                // Cut off the partial record so later appends are not hidden behind it on replay.
+                active.channel.truncate(active.size);
+                throw e;
+            }
+            active.size += HEADER_BYTES + payload;
+            active.outstanding.incrementAndGet();
+            return nextLsn++;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append to task write-ahead log", e);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    @Override
+    public void awaitDurable(long lsn) {
+        if (fsyncIntervalMillis > 0) {
+            return;
+        }
+        while (durableLsn.get() < lsn) {
+            force();
+        }
+    }
+
+    @Override
+    public void acknowledge(long lsn) {
+        if (lsn < 0) {
+            return;
+        }
+        ackLock.lock();
+        try {
+            advanceCheckpoint(lsn);
+            Map.Entry<Long, Segment> entry = segments.floorEntry(lsn);
+            if (entry != null && entry.getValue().release() == 0) {
+                rollIfAcknowledged(entry.getValue());
+            }
+        } finally {
+            ackLock.unlock();
+        }
+    }
+
+    private void advanceCheckpoint(long lsn) {
+        if (lsn <= acknowledgedLsn) {
+            return;
+        }
+        acknowledgedAhead.add(lsn);
+        long watermark = acknowledgedLsn;
+        while (acknowledgedAhead.remove(watermark + 1)) {
+            watermark++;
+        }
+        if (watermark > acknowledgedLsn) {
+            acknowledgedLsn = watermark;
+            try {
+                writeCheckpoint();
+            } catch (IOException e) {
+                // Only costs replaying writes that are already committed.
+                log.warn("Failed to update task write-ahead log checkpoint: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void writeCheckpoint() throws IOException {
+        CRC32 checksum = new CRC32();
+        checkpointBuffer.clear().putLong(acknowledgedLsn);
+        checksum.update(checkpointBuffer.array(), 0, Long.BYTES);
+        checkpointBuffer.putInt((int) checksum.getValue()).flip();
+        long position = 0;
+        while (checkpointBuffer.hasRemaining()) {
+            position += checkpoint.write(checkpointBuffer, position);
+        }
+    }
+
+    /**
+     * Swaps out the active segment once every record in it is acknowledged, so an idle log holds
+     * nothing a restart would have to read. Its records are committed, so it is not forced.
+     */
+    private void rollIfAcknowledged(Segment segment) {
+        appendLock.lock();
+        try {
+            if (segment != active || segment.outstanding.get() != 0 || segment.size == 0) {
+                return;
+            }
+            segment.channel.close();
+            active = open(nextLsn);
+            segment.seal();
+        } catch (IOException e) {
+            log.warn("Failed to roll acknowledged log segment {}: {}", segment.path, e.getMessage());
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (flusher != null) {
+            flusher.shutdownNow();
+        }
+        appendLock.lock();
+        try {
+            if (active == null) {
+                return;
+            }
+            active.channel.force(false);
+            durableLsn.accumulateAndGet(nextLsn - 1, Math::max);
+            active.channel.close();
+            active.seal();
+            active = null;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to close task write-ahead log", e);
+        } finally {
+            appendLock.unlock();
+        }
+        ackLock.lock();
+        try {
+            if (checkpoint != null && checkpoint.isOpen()) {
+                checkpoint.force(false);
+                checkpoint.close();
+            }
+        } catch (IOException e) {
+            log.warn("Failed to close task write-ahead log checkpoint: {}", e.getMessage());
+        } finally {
+            ackLock.unlock();
+        }
+        if (!segments.isEmpty()) {
+            log.warn("Task write-ahead log closed with {} segments awaiting replay", segments.size());
+        }
+    }
+
+    private void force() {
+        syncLock.lock();
+        try {
+            Segment segment;
+            long target;
+            appendLock.lock();
+            try {
+                segment = active;
+                target = nextLsn - 1;
+            } finally {
+                appendLock.unlock();
+            }
+            if (segment == null || target <= durableLsn.get()) {
+                return;
+            }
+            segment.channel.force(false);
+            durableLsn.accumulateAndGet(target, Math::max);
+        } catch (ClosedChannelException e) {
+            // Rolled or closed while we were forcing. Both force the segment themselves, except a
+            // roll of a fully acknowledged segment, whose records no longer need to be durable.
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to sync task write-ahead log", e);
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    private void forceQuietly() {
+        try {
+            force();
+        } catch (RuntimeException e) {
+            log.error("Periodic task write-ahead log sync failed", e);
+        }
+    }
+
+    private void roll() throws IOException {
+        Segment sealed = active;
+        sealed.channel.force(false);
+        durableLsn.accumulateAndGet(nextLsn - 1, Math::max);
+        sealed.channel.close();
+        active = open(nextLsn);
+        sealed.seal();
+    }
+
+    private Segment open(long firstLsn) throws IOException {
+        Path path = directory.resolve(String.format("%s%020d%s", PREFIX, firstLsn, SUFFIX));
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        Segment segment = new Segment(firstLsn, path, channel);
+        segments.put(firstLsn, segment);
+        return segment;
+    }
+
+    private ByteBuffer frame(Entry entry, byte[] title, byte[] description, int payload) {
+        int size = HEADER_BYTES + payload;
+        if (buffer.capacity() < size) {
+            buffer = ByteBuffer.allocate(Integer.highestOneBit(size) << 1);
+        }
+        buffer.clear();
+        buffer.putInt(payload).putInt(0);
+        buffer.put((byte) entry.operation().ordinal());
+        buffer.putLong(entry.id());
+        buffer.putLong(toMicros(entry.timestamp()));
+        if (entry.operation() == Operation.CREATE) {
+            putString(buffer, title);
+            putString(buffer, description);
+        }
+        crc.reset();
+        crc.update(buffer.array(), HEADER_BYTES, payload);
+        buffer.putInt(Integer.BYTES, (int) crc.getValue());
+        return buffer.flip();
+    }
+
+    /** Reads every intact record, keeping those after {@code acknowledged}, and returns the count. */
+    private static int read(Path file, long firstLsn, long acknowledged, List<Entry> entries) throws IOException {
+        ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(file));
+        CRC32 checksum = new CRC32();
+        int count = 0;
+        while (data.hasRemaining()) {
+            int start = data.position();
+            if (data.remaining() < HEADER_BYTES) {
+                log.warn("Ignoring torn record at offset {} of {}", start, file);
+                break;
+            }
+            int length = data.getInt();
+            int expected = data.getInt();
+            if (length <= 0 || length > MAX_RECORD_BYTES || length > data.remaining()) {
+                log.warn("Ignoring torn record at offset {} of {}", start, file);
+                break;
+            }
+            checksum.reset();
+            checksum.update(data.array(), data.position(), length);
+            if ((int) checksum.getValue() != expected) {
+                log.warn("Ignoring corrupt record at offset {} of {}", start, file);
+                break;
+            }
+            if (firstLsn + count > acknowledged) {
+                entries.add(decode(data.slice(data.position(), length)));
+            }
+            data.position(data.position() + length);
+            count++;
+        }
+        return count;
+    }
+
+    private static long readCheckpoint(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return -1;
+        }
+        ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(file));
+        if (data.remaining() != CHECKPOINT_BYTES) {
+            log.warn("Ignoring torn task write-ahead log checkpoint {}", file);
+            return -1;
+        }
+        long acknowledged = data.getLong();
+        CRC32 checksum = new CRC32();
+        checksum.update(data.array(), 0, Long.BYTES);
+        if ((int) checksum.getValue() != data.getInt()) {
+            log.warn("Ignoring corrupt task write-ahead log checkpoint {}", file);
+            return -1;
+        }
+        return acknowledged;
+    }
+
+    private static Entry decode(ByteBuffer payload) {
+        Operation operation = Operation.values()[payload.get()];
+        long id = payload.getLong();
+        LocalDateTime timestamp = fromMicros(payload.getLong());
+        if (operation == Operation.COMPLETE) {
+            return Entry.complete(id, timestamp);
+        }
+        return Entry.create(id, getString(payload), getString(payload), timestamp);
+    }
+
+    private static void putString(ByteBuffer target, byte[] value) {
+        if (value == null) {
+            target.putInt(-1);
+        } else {
+            target.putInt(value.length).put(value);
+        }
+    }
+
+    private static String getString(ByteBuffer source) {
+        int length = source.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] value = new byte[length];
+        source.get(value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int length(byte[] value) {
+        return value == null ? 0 : value.length;
+    }
+
+    private static long toMicros(LocalDateTime timestamp) {
+        return timestamp.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + timestamp.getNano() / 1_000;
+    }
+
+    private static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000),
+                (int) Math.floorMod(micros, 1_000_000) * 1_000, ZoneOffset.UTC);
+    }
+
+    private static boolean isSegment(Path file) {
+        String name = file.getFileName().toString();
+        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+    }
+
+    private static long firstLsn(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    /**
+     * One segment file. Its records are counted as outstanding from append until acknowledgement;
+     * once the segment is sealed, the last release deletes it.
+     */
+    private final class Segment {
+        private final long firstLsn;
+        private final Path path;
+        private final FileChannel channel;
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private final AtomicBoolean deleted = new AtomicBoolean();
+        private volatile boolean sealed;
+        private long size;
+
+        private Segment(long firstLsn, Path path, FileChannel channel) {
+            this.firstLsn = firstLsn;
+            this.path = path;
+            this.channel = channel;
+        }
+
+        int release() {
+            int remaining = outstanding.decrementAndGet();
+            if (remaining == 0 && sealed) {
+                delete();
+            }
+            return remaining;
+        }
+
+        void seal() {
+            sealed = true;
+            if (outstanding.get() == 0) {
+                delete();
+            }
+        }
+
+        private void delete() {
+            if (!deleted.compareAndSet(false, true)) {
+                return;
+            }
+            segments.remove(firstLsn);
+            try {
+                Files.deleteIfExists(path);
+                log.debug("Compacted task write-ahead log segment {}", path.getFileName());
+            } catch (IOException e) {
+                log.warn("Failed to delete acknowledged log segment {}: {}", path, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.todo.todo_backend.ingest;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hands out task ids ahead of the insert, from the same {@code task_seq} sequence and with the
+ * same block semantics as Hibernate's pooled optimizer on {@code Task}: each sequence value
+ * {@code v} reserves {@code (v - blockSize, v]}. Ids reserved here can therefore never collide
+ * with ids Hibernate assigns to synchronous inserts.
+ */
+class TaskIdReserver {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String nextValueSql;
+    private final int blockSize;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private long next;
+    private long last = -1;
+
+    TaskIdReserver(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory, int blockSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.nextValueSql = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices()
+                .getDialect()
+                .getSequenceSupport()
+                .getSequenceNextValString("task_seq");
+        this.blockSize = blockSize;
+    }
+
+    long reserve() {
+        lock.lock();
+        try {
+            if (next > last) {
+                Long value = jdbcTemplate.queryForObject(nextValueSql, Long.class);
+                last = value;
+                next = value - blockSize + 1;
+            }
+            return next++;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,561 @@
+package com.todo.todo_backend.ingest;
+
+import com.todo.todo_backend.dto.TaskPersistenceStatus;
+import com.todo.todo_backend.dto.TaskReceipt;
+import com.todo.todo_backend.dto.TaskRequest;
+import com.todo.todo_backend.dto.TaskResponse;
+import com.todo.todo_backend.event.TaskEvent;
+import com.todo.todo_backend.exception.TaskIngestRejectedException;
+import com.todo.todo_backend.model.Task;
+import com.todo.todo_backend.model.ArchivedTask;
+import com.todo.todo_backend.repository.ArchivedTaskRepository;
+import com.todo.todo_backend.repository.TaskRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind path for task creation, enabled with {@code todo.ingest.mode=async}.
+ * <p>
+ * {@link #submit} reserves an id, enqueues the task and returns immediately. A single writer
+ * thread drains whatever has accumulated into one multi-row insert and one commit, so under
+ * load many requests share each commit instead of paying for their own. A full queue rejects
+ * new work rather than growing without bound. On shutdown the queue stops accepting, and the
+ * writer flushes everything already accepted before the datasource is closed.
+ * <p>
+ * A batch that fails because the database is unreachable or the failure is transient is
+ * retried with backoff until it commits; only writes the database actually rejects are marked
+ * failed, and then row by row so one bad task does not fail its batch. A row found already
+ * stored on that second pass was committed by an attempt reported as failing, and counts as
+ * committed.
+ * <p>
+ * Completing a task that is still queued is queued behind its creation rather than failing
+ * with a not-found.
+ * <p>
+ * When {@code todo.ingest.wal.directory} is set, every accepted write is first appended to a
+ * local {@link TaskWriteAheadLog} and acknowledged there once its batch commits. Writes a crash
+ * left unacknowledged are replayed into the database on the next start, before the queue
+ * accepts anything new. Without a log directory, accepted writes live only in memory until
+ * their batch commits and a crash in between loses them.
+ */
+@Slf4j
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(name = "todo.ingest.mode", havingValue = "async")
+public class TaskIngestQueue implements SmartLifecycle {
+
+    private static final String INSERT_SQL = "INSERT INTO task (id, title, description, completed, created_at) "
+            + "VALUES (?, ?, ?, false, ?)";
+    private static final String COMPLETE_SQL = "UPDATE task SET completed = true, completed_at = ?, version = version + 1 "
+            + "WHERE id = ? AND completed = false";
+    private static final int ID_BLOCK_SIZE = 50;
+    private static final int MAX_TRACKED_FAILURES = 10_000;
+    private static final long INITIAL_BACKOFF_MILLIS = 100;
+    private static final long MAX_BACKOFF_MILLIS = 5_000;
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 30_000;
+    // Stop after the web server (phase MAX_VALUE - 2048) has stopped taking requests.
+    private static final int PHASE = Integer.MAX_VALUE - 4096;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskRepository taskRepository;
+    private final ArchivedTaskRepository archivedTaskRepository;
+    private final Cache secondLevelCache;
+    private final TaskIdReserver idReserver;
+    private final TaskWriteAheadLog writeAheadLog;
+    private final BlockingQueue<PendingWrite> queue;
+    private final int maxBatchSize;
+
+    // Held across log append and enqueue so both see writes in the same order, and so a
+    // capacity check cannot be overtaken by another submitter.
+    private final ReentrantLock submitLock = new ReentrantLock();
+    private final Map<Long, PendingTask> pending = new ConcurrentHashMap<>();
+    private final Map<Long, Boolean> failed = new ConcurrentHashMap<>();
+    private final Queue<Long> failureOrder = new ConcurrentLinkedQueue<>();
+    private final Counter rejected;
+
+    private volatile boolean accepting;
+    private volatile boolean running;
+    private Thread writer;
+
+    @Autowired
+    public TaskIngestQueue(JdbcTemplate jdbcTemplate,
+                           PlatformTransactionManager transactionManager,
+                           EntityManagerFactory entityManagerFactory,
+                           ApplicationEventPublisher eventPublisher,
+                           TaskRepository taskRepository,
+                           ArchivedTaskRepository archivedTaskRepository,
+                           MeterRegistry meterRegistry,
+                           @Value("${todo.ingest.queue-capacity:10000}") int queueCapacity,
+                           @Value("${todo.ingest.max-batch-size:500}") int maxBatchSize,
+                           @Value("${todo.ingest.wal.directory:}") String walDirectory,
+                           @Value("${todo.ingest.wal.segment-size:64MB}") DataSize walSegmentSize,
+                           @Value("${todo.ingest.wal.fsync-interval:0ms}") Duration walFsyncInterval) {
+        this(jdbcTemplate, new TransactionTemplate(transactionManager), eventPublisher, taskRepository,
+                archivedTaskRepository, entityManagerFactory.unwrap(SessionFactory.class).getCache(),
+                new TaskIdReserver(jdbcTemplate, entityManagerFactory, ID_BLOCK_SIZE),
+                walDirectory.isBlank()
+                        ? TaskWriteAheadLog.NONE
+                        : new SegmentedTaskWriteAheadLog(Path.of(walDirectory), walSegmentSize.toBytes(), walFsyncInterval),
+                meterRegistry, queueCapacity, maxBatchSize);
+    }
+
+    TaskIngestQueue(JdbcTemplate jdbcTemplate,
+                    TransactionTemplate transactionTemplate,
+                    ApplicationEventPublisher eventPublisher,
+                    TaskRepository taskRepository,
+                    ArchivedTaskRepository archivedTaskRepository,
+                    Cache secondLevelCache,
+                    TaskIdReserver idReserver,
+                    TaskWriteAheadLog writeAheadLog,
+                    MeterRegistry meterRegistry,
+                    int queueCapacity,
+                    int maxBatchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.taskRepository = taskRepository;
+        this.archivedTaskRepository = archivedTaskRepository;
+        this.secondLevelCache = secondLevelCache;
+        this.idReserver = idReserver;
+        this.writeAheadLog = writeAheadLog;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxBatchSize = maxBatchSize;
+
+        Gauge.builder("todo.ingest.queue.size", queue, BlockingQueue::size)
+                .description("Accepted task writes waiting to be committed")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("todo.ingest.rejected")
+                .description("Task writes rejected because the ingest queue was full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Accepts a task for asynchronous insertion and returns its reserved id.
+     *
+     * @throws TaskIngestRejectedException when the queue is full or shutting down
+     */
+    public TaskReceipt submit(TaskRequest request) {
+        if (!accepting) {
+            throw new TaskIngestRejectedException("Task ingest is shutting down");
+        }
+        PendingTask task = new PendingTask(idReserver.reserve(), request.title(), request.description(),
+                LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+        long lsn;
+        submitLock.lock();
+        try {
+            ensureCapacity();
+            lsn = writeAheadLog.append(TaskWriteAheadLog.Entry.create(
+                    task.id(), task.title(), task.description(), task.createdAt()));
+            pending.put(task.id(), task);
+            queue.add(new PendingWrite(task, null, lsn));
+        } finally {
+            submitLock.unlock();
+        }
+        writeAheadLog.awaitDurable(lsn);
+        return TaskReceipt.builder()
+                .id(task.id())
+                .status(TaskPersistenceStatus.PENDING)
+                .createdAt(task.createdAt())
+                .build();
+    }
+
+    /**
+     * Queues completion of a task that was accepted but is not yet committed. Returns empty when
+     * the task is not queued here, in which case the database is the authority.
+     *
+     * @throws TaskIngestRejectedException when the queue is full or shutting down
+     */
+    public Optional<TaskReceipt> submitCompletion(Long id) {
+        if (!accepting) {
+            throw new TaskIngestRejectedException("Task ingest is shutting down");
+        }
+        PendingTask task;
+        long lsn;
+        submitLock.lock();
+        try {
+            task = pending.get(id);
+            if (task == null) {
+                return Optional.empty();
+            }
+            ensureCapacity();
+            LocalDateTime completedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+            lsn = writeAheadLog.append(TaskWriteAheadLog.Entry.complete(id, completedAt));
+            queue.add(new PendingWrite(task, completedAt, lsn));
+        } finally {
+            submitLock.unlock();
+        }
+        writeAheadLog.awaitDurable(lsn);
+        return Optional.of(TaskReceipt.builder()
+                .id(id)
+                .status(TaskPersistenceStatus.PENDING)
+                .createdAt(task.createdAt())
+                .build());
+    }
+
+    private void ensureCapacity() {
+        // Only submitters add, and only under the submit lock, so a free slot stays free.
+        if (queue.remainingCapacity() == 0) {
+            rejected.increment();
+            throw new TaskIngestRejectedException("Task ingest queue is full");
+        }
+    }
+
+    /**
+     * Returns the state of a task this instance accepted but has not yet committed, or whose
+     * commit failed. Empty means the database is the authority.
+     */
+    public Optional<TaskPersistenceStatus> status(Long id) {
+        if (pending.containsKey(id)) {
+            return Optional.of(TaskPersistenceStatus.PENDING);
+        }
+        if (failed.containsKey(id)) {
+            return Optional.of(TaskPersistenceStatus.FAILED);
+        }
+        return Optional.empty();
+    }
+
+    private void drain() {
+        List<PendingWrite> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingWrite first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, maxBatchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                // Left unacknowledged in the log, so a configured log replays them on the next start.
+                log.warn("Task ingest writer interrupted with {} tasks uncommitted", batch.size() + queue.size());
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<PendingWrite> batch) throws InterruptedException {
+        boolean[] changed;
+        try {
+            changed = commit(batch);
+        } catch (RuntimeException rejection) {
+            // Isolate the offending rows so one bad task does not fail its whole batch.
+            log.warn("Batch write of {} tasks rejected, retrying individually: {}", batch.size(), rejection.getMessage());
+            for (PendingWrite write : batch) {
+                writeAlone(write);
+            }
+            return;
+        }
+        committed(batch, changed);
+    }
+
+    private void writeAlone(PendingWrite write) throws InterruptedException {
+        boolean[] changed;
+        try {
+            changed = commit(List.of(write));
+        } catch (RuntimeException rejection) {
+            if (!write.isCompletion() && isAlreadyStored(write.task().id(), rejection)) {
+                // An earlier attempt committed this task but was reported as failing.
+                committed(List.of(write), new boolean[]{true});
+                return;
+            }
+            log.error("Failed to persist task with id: {}", write.task().id(), rejection);
+            if (!write.isCompletion()) {
+                fail(write.task().id());
+            }
+            // A write the database rejects would be rejected again on every replay.
+            afterCommit("acknowledge a rejected task write", () -> writeAheadLog.acknowledge(write.lsn()));
+            return;
+        }
+        committed(List.of(write), changed);
+    }
+
+    /**
+     * Commits the writes, retrying with backoff for as long as the database is unreachable or
+     * the failure is otherwise transient. Those writes stay queued here and unacknowledged in
+     * the log, so an outage delays them instead of failing them.
+     *
+     * @return per write, whether it changed a row
+     * @throws RuntimeException the exception with which the database rejected the writes
+     */
+    private boolean[] commit(List<PendingWrite> writes) throws InterruptedException {
+        long backoffMillis = INITIAL_BACKOFF_MILLIS;
+        while (true) {
+            try {
+                return apply(writes);
+            } catch (RuntimeException e) {
+                if (!isTransient(e)) {
+                    throw e;
+                }
+                log.warn("Write of {} tasks failed transiently, retrying in {} ms: {}",
+                        writes.size(), backoffMillis, e.getMessage());
+                Thread.sleep(backoffMillis);
+                backoffMillis = Math.min(backoffMillis * 2, MAX_BACKOFF_MILLIS);
+            }
+        }
+    }
+
+    /**
+     * Whether a creation was rejected only because its reserved id is already taken, which
+     * nothing but this task can have done; like {@link #recover}, a task the archiver has since
+     * moved on counts as stored.
+     */
+    private boolean isAlreadyStored(Long id, RuntimeException rejection) {
+        for (Throwable cause = rejection; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DuplicateKeyException) {
+                try {
+                    return taskRepository.existsById(id) || archivedTaskRepository.existsById(id);
+                } catch (RuntimeException e) {
+                    log.warn("Could not check whether task with id: {} is already stored: {}", id, e.getMessage());
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean isTransient(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            // DataAccessResourceFailureException covers CannotGetJdbcConnectionException, and
+            // CannotCreateTransactionException is a connection failure at transaction begin.
+            if (cause instanceof TransientDataAccessException
+                    || cause instanceof DataAccessResourceFailureException
+                    || cause instanceof CannotCreateTransactionException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Applies the batch in one transaction and returns, per write, whether it changed a row.
+     * Creations always precede their completions in the batch, so running all inserts before
+     * all updates preserves their order.
+     */
+    private boolean[] apply(List<PendingWrite> batch) {
+        List<PendingWrite> creates = new ArrayList<>(batch.size());
+        List<PendingWrite> completions = new ArrayList<>();
+        for (PendingWrite write : batch) {
+            (write.isCompletion() ? completions : creates).add(write);
+        }
+        return transactionTemplate.execute(status -> {
+            if (!creates.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, creates, creates.size(), (ps, write) -> {
+                    ps.setLong(1, write.task().id());
+                    ps.setString(2, write.task().title());
+                    ps.setString(3, write.task().description());
+                    ps.setTimestamp(4, Timestamp.valueOf(write.task().createdAt()));
+                });
+            }
+            int[] updated = completions.isEmpty() ? new int[0]
+                    : flatten(jdbcTemplate.batchUpdate(COMPLETE_SQL, completions, completions.size(), (ps, write) -> {
+                        ps.setTimestamp(1, Timestamp.valueOf(write.completedAt()));
+                        ps.setLong(2, write.task().id());
+                    }));
+            boolean[] changed = new boolean[batch.size()];
+            for (int i = 0, completion = 0; i < batch.size(); i++) {
+                changed[i] = !batch.get(i).isCompletion() || updated[completion++] != 0;
+            }
+            return changed;
+        });
+    }
+
+    private static int[] flatten(int[][] counts) {
+        return Arrays.stream(counts).flatMapToInt(Arrays::stream).toArray();
+    }
+
+    /**
+     * Runs once the writes are committed. Nothing here may fail them: a listener, cache or log
+     * failure is logged and the rest carries on, since retrying would only find the rows taken.
+     */
+    private void committed(List<PendingWrite> batch, boolean[] changed) {
+        // These writes bypassed Hibernate, so it cannot invalidate its caches for them.
+        afterCommit("evict the query cache", secondLevelCache::evictDefaultQueryRegion);
+        for (int i = 0; i < batch.size(); i++) {
+            PendingWrite write = batch.get(i);
+            if (write.isCompletion()) {
+                if (changed[i]) {
+                    afterCommit("evict a completed task", () -> secondLevelCache.evictEntityData(Task.class, write.task().id()));
+                    afterCommit("publish a task completion", () -> eventPublisher.publishEvent(
+                            TaskEvent.completed(write.task().toResponse(write.completedAt()))));
+                }
+            } else {
+                pending.remove(write.task().id());
+                afterCommit("publish a task creation", () -> eventPublisher.publishEvent(
+                        TaskEvent.created(write.task().toResponse(null))));
+            }
+            afterCommit("acknowledge a committed task write", () -> writeAheadLog.acknowledge(write.lsn()));
+        }
+        log.debug("Committed {} queued task writes", batch.size());
+    }
+
+    private static void afterCommit(String action, Runnable step) {
+        try {
+            step.run();
+        } catch (RuntimeException e) {
+            log.warn("Failed to {}: {}", action, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Re-applies writes a previous run accepted but may not have committed. Creations the
+     * database already holds, in {@code task} or already moved to {@code archived_task}, are
+     * skipped; completions are idempotent on their own, and those of archived tasks are skipped
+     * with their creation.
+     */
+    private void recover(List<TaskWriteAheadLog.Entry> entries) {
+        Set<Long> ids = new HashSet<>();
+        entries.forEach(entry -> ids.add(entry.id()));
+        Map<Long, PendingTask> tasks = new HashMap<>();
+        for (Task task : taskRepository.findByIdIn(ids)) {
+            tasks.put(task.getId(), new PendingTask(task.getId(), task.getTitle(), task.getDescription(), task.getCreatedAt()));
+        }
+        Set<Long> persisted = new HashSet<>(tasks.keySet());
+        // The archiver may have moved a task on since it was logged; inserting it again would
+        // bring a long-completed task back as open.
+        for (ArchivedTask task : archivedTaskRepository.findAllById(ids)) {
+            persisted.add(task.getId());
+        }
+
+        List<PendingWrite> writes = new ArrayList<>(entries.size());
+        for (TaskWriteAheadLog.Entry entry : entries) {
+            if (entry.operation() == TaskWriteAheadLog.Operation.CREATE) {
+                if (!persisted.contains(entry.id())) {
+                    PendingTask task = new PendingTask(entry.id(), entry.title(), entry.description(), entry.timestamp());
+                    tasks.put(task.id(), task);
+                    writes.add(new PendingWrite(task, null, -1));
+                }
+            } else if (tasks.containsKey(entry.id())) {
+                writes.add(new PendingWrite(tasks.get(entry.id()), entry.timestamp(), -1));
+            }
+        }
+        try {
+            for (int from = 0; from < writes.size(); from += maxBatchSize) {
+                write(writes.subList(from, Math.min(from + maxBatchSize, writes.size())));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while replaying the task write-ahead log", e);
+        }
+        log.info("Recovered {} of {} logged task writes", writes.size(), entries.size());
+    }
+
+    private void fail(Long id) {
+        pending.remove(id);
+        failed.put(id, Boolean.TRUE);
+        failureOrder.add(id);
+        while (failureOrder.size() > MAX_TRACKED_FAILURES) {
+            Long evicted = failureOrder.poll();
+            if (evicted != null) {
+                failed.remove(evicted);
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        writeAheadLog.replay(this::recover);
+        running = true;
+        accepting = true;
+        writer = new Thread(this::drain, "task-ingest-writer");
+        writer.start();
+        log.info("Asynchronous task ingest enabled (capacity: {}, max batch: {})",
+                queue.remainingCapacity(), maxBatchSize);
+    }
+
+    @Override
+    public void stop() {
+        accepting = false;
+        running = false;
+        try {
+            writer.join(SHUTDOWN_TIMEOUT_MILLIS);
+            if (writer.isAlive()) {
+                // Still retrying against an unreachable database; give up rather than block shutdown.
+                writer.interrupt();
+                writer.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!queue.isEmpty()) {
+            log.error("Task ingest stopped with {} accepted writes not persisted", queue.size());
+        } else {
+            log.info("Task ingest drained");
+        }
+        writeAheadLog.close();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    private record PendingTask(Long id, String title, String description, LocalDateTime createdAt) {
+        TaskResponse toResponse(LocalDateTime completedAt) {
+            return TaskResponse.builder()
+                    .id(id)
+                    .title(title)
+                    .description(description)
+                    .completed(completedAt != null)
+                    .createdAt(createdAt)
+                    .completedAt(completedAt)
+                    .build();
+        }
+    }
+
+    /** A queued creation, or a completion when {@code completedAt} is set. */
+    private record PendingWrite(PendingTask task, LocalDateTime completedAt, long lsn) {
+        boolean isCompletion() {
+            return completedAt != null;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.todo.todo_backend.ingest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Local log of task writes accepted by {@link TaskIngestQueue} but not yet committed to the
+ * database. Each append returns a log sequence number that the caller later
+ * {@linkplain #acknowledge acknowledges} once the write has been committed, which lets the log
+ * discard everything the database already holds.
+ */
+interface TaskWriteAheadLog extends AutoCloseable {
+
+    /** Keeps nothing: accepted writes live only in memory until they commit. */
+    TaskWriteAheadLog NONE = new TaskWriteAheadLog() {
+        @Override
+        public void replay(Consumer<List<Entry>> applier) {
+        }
+
+        @Override
+        public long append(Entry entry) {
+            return -1;
+        }
+
+        @Override
+        public void awaitDurable(long lsn) {
+        }
+
+        @Override
+        public void acknowledge(long lsn) {
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+
+    /**
+     * Hands every unacknowledged entry left over from a previous run to {@code applier} in
+     * append order, and discards them once it returns, so the applier must return only after
+     * committing them. If the applier throws, the entries are kept for the next start.
+     */
+    void replay(Consumer<List<Entry>> applier);
+
+    long append(Entry entry);
+
+    /** Blocks until the entry with {@code lsn}, and everything before it, is on stable storage. */
+    void awaitDurable(long lsn);
+
+    void acknowledge(long lsn);
+
+    @Override
+    void close();
+
+    enum Operation {
+        CREATE, COMPLETE
+    }
+
+    /**
+     * A logged write. {@code timestamp} is the creation time for {@code CREATE} and the
+     * completion time for {@code COMPLETE}; title and description are only set on creates.
+     */
+    record Entry(Operation operation, long id, String title, String description, LocalDateTime timestamp) {
+
+        static Entry create(long id, String title, String description, LocalDateTime createdAt) {
+            return new Entry(Operation.CREATE, id, title, description, createdAt);
+        }
+
+        static Entry complete(long id, LocalDateTime completedAt) {
+            return new Entry(Operation.COMPLETE, id, null, null, completedAt);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.todo.todo_backend.logging;
+
+import org.slf4j.Logger;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Caps how many info lines a logger emits per second, for lines written once per request.
+ * <p>
+ * Lines over the budget are dropped before a log event is created, and the number dropped is
+ * reported in a single line when the next second starts. The check is lock-free and
+ * allocation-free, so a suppressed call costs two atomic increments.
+ */
+public final class RateLimitedLogger {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final Logger delegate;
+    private final long permitsPerSecond;
+    private final LongSupplier nanoTime;
+    private final AtomicLong second = new AtomicLong(Long.MIN_VALUE);
+    private final AtomicLong used = new AtomicLong();
+    private final AtomicLong suppressed = new AtomicLong();
+
+    RateLimitedLogger(Logger delegate, long permitsPerSecond, LongSupplier nanoTime) {
+        if (permitsPerSecond < 1) {
+            throw new IllegalArgumentException("permitsPerSecond must be positive");
+        }
+        this.delegate = delegate;
+        this.permitsPerSecond = permitsPerSecond;
+        this.nanoTime = nanoTime;
+    }
+
+    public static RateLimitedLogger perSecond(Logger delegate, long permitsPerSecond) {
+        return new RateLimitedLogger(delegate, permitsPerSecond, System::nanoTime);
+    }
+
+    public void info(String format, Object arg) {
+        if (tryAcquire()) {
+            delegate.info(format, arg);
+        }
+    }
+
+    public void info(String format, Object arg1, Object arg2) {
+        if (tryAcquire()) {
+            delegate.info(format, arg1, arg2);
+        }
+    }
+
+    public void info(String format, Object... args) {
+        if (tryAcquire()) {
+            delegate.info(format, args);
+        }
+    }
+
+    private boolean tryAcquire() {
+        if (!delegate.isInfoEnabled()) {
+            return false;
+        }
+        long now = nanoTime.getAsLong() / NANOS_PER_SECOND;
+        long current = second.get();
+        if (now != current && second.compareAndSet(current, now)) {
+            used.set(0);
+            long dropped = suppressed.getAndSet(0);
+            if (dropped > 0) {
+                delegate.info("Suppressed {} log lines over the limit of {} per second", dropped, permitsPerSecond);
+            }
+        }
+        if (used.incrementAndGet() <= permitsPerSecond) {
+            return true;
+        }
+        suppressed.incrementAndGet();
+        return false;
+    }
+}
@@ -1,7 +1,9 @@
 package com.todo.todo_backend.mapper;
 
 import com.todo.todo_backend.dto.TaskResponse;
+import com.todo.todo_backend.model.ArchivedTask;
 import com.todo.todo_backend.model.Task;
+import com.todo.todo_backend.model.TaskRecord;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -16,4 +18,26 @@ public class TaskMapper {
                 .completedAt(task.getCompletedAt())
                 .build();
     }
+
+    public TaskResponse mapToResponse(ArchivedTask task) {
+        return TaskResponse.builder()
+                .id(task.getId())
+                .title(task.getTitle())
+                .description(task.getDescription())
+                .completed(true)
+                .createdAt(task.getCreatedAt())
+                .completedAt(task.getCompletedAt())
+                .build();
+    }
+
+    public TaskResponse mapToResponse(TaskRecord task) {
+        return TaskResponse.builder()
+                .id(task.id())
+                .title(task.title())
+                .description(task.description())
+                .completed(task.completed())
+                .createdAt(task.createdAt())
+                .completedAt(task.completedAt())
+                .build();
+    }
 }
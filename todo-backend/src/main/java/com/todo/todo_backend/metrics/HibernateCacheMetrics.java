@@ -0,0 +1,45 @@
+package com.todo.todo_backend.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import javax.cache.CacheManager;
+
+/**
+ * Publishes hit, miss, put, removal and eviction counts for every second-level cache region
+ * (the task entity region and the query cache regions) as {@code cache.*} meters tagged with
+ * the region name. Binds nothing when the second-level cache is turned off.
+ */
+@Slf4j
+@Component
+@Profile("!reactive & !embedded")
+@RequiredArgsConstructor
+public class HibernateCacheMetrics implements MeterBinder {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        RegionFactory regionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getCache()
+                .getRegionFactory();
+        if (!(regionFactory instanceof JCacheRegionFactory jcache)) {
+            return;
+        }
+        CacheManager cacheManager = jcache.getCacheManager();
+        for (String region : cacheManager.getCacheNames()) {
+            JCacheMetrics.monitor(registry, cacheManager.getCache(region), Tags.of("layer", "hibernate"));
+        }
+        log.debug("Bound cache metrics for second-level cache regions {}", cacheManager.getCacheNames());
+    }
+}
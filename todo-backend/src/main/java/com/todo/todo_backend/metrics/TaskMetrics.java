@@ -0,0 +1,103 @@
+package com.todo.todo_backend.metrics;
+
+import com.todo.todo_backend.event.TaskEvent;
+import com.todo.todo_backend.repository.TaskCounter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Application-level task metrics that the framework does not record on its own.
+ * <p>
+ * The open and completed gauges are counted once at startup and then kept current from
+ * committed task events, so a scrape never runs a {@code COUNT(*)}. They reflect writes made
+ * through this instance only; with several instances writing to one database each instance
+ * drifts until it restarts.
+ */
+@Slf4j
+@Component
+@Profile("!reactive")
+public class TaskMetrics implements SmartInitializingSingleton {
+
+    private final TaskCounter taskCounter;
+    private final AtomicLong open = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final Counter notFound;
+    private final Counter validationFailed;
+    private final Counter rateLimited;
+    private final Counter overloaded;
+
+    public TaskMetrics(MeterRegistry registry, TaskCounter taskCounter) {
+        this.taskCounter = taskCounter;
+
+        Gauge.builder("todo.tasks", open, AtomicLong::get)
+                .description("Tasks by completion state")
+                .tag("state", "open")
+                .register(registry);
+        Gauge.builder("todo.tasks", completed, AtomicLong::get)
+                .description("Tasks by completion state")
+                .tag("state", "completed")
+                .register(registry);
+
+        this.notFound = Counter.builder("todo.tasks.failures")
+                .description("Task requests rejected as invalid, for a missing task or to shed load")
+                .tag("reason", "not_found")
+                .register(registry);
+        this.validationFailed = Counter.builder("todo.tasks.failures")
+                .description("Task requests rejected as invalid, for a missing task or to shed load")
+                .tag("reason", "validation")
+                .register(registry);
+        this.rateLimited = Counter.builder("todo.tasks.failures")
+                .description("Task requests rejected as invalid, for a missing task or to shed load")
+                .tag("reason", "rate_limited")
+                .register(registry);
+        this.overloaded = Counter.builder("todo.tasks.failures")
+                .description("Task requests rejected as invalid, for a missing task or to shed load")
+                .tag("reason", "overloaded")
+                .register(registry);
+    }
+
+    // Runs before the web server starts, so no request can write between the count and the
+    // first event.
+    @Override
+    public void afterSingletonsInstantiated() {
+        open.set(taskCounter.countByCompleted(false));
+        completed.set(taskCounter.countByCompleted(true));
+        log.debug("Task gauges initialised ({} open, {} completed)", open.get(), completed.get());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskEvent(TaskEvent event) {
+        switch (event.type()) {
+            case CREATED -> open.incrementAndGet();
+            case COMPLETED -> {
+                open.decrementAndGet();
+                completed.incrementAndGet();
+            }
+            case ARCHIVED -> completed.decrementAndGet();
+        }
+    }
+
+    public void recordNotFound() {
+        notFound.increment();
+    }
+
+    public void recordValidationFailure() {
+        validationFailed.increment();
+    }
+
+    public void recordRateLimited() {
+        rateLimited.increment();
+    }
+
+    public void recordOverloaded() {
+        overloaded.increment();
+    }
+}
@@ -5,18 +5,28 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 
 @Entity
-@Table(name = "task")
+@Table(name = "task", indexes = {
+        @Index(name = "idx_task_completed_created_at", columnList = "completed, created_at DESC, id DESC"),
+        @Index(name = "idx_task_created_at_id", columnList = "created_at DESC, id DESC"),
+        @Index(name = "idx_task_completed_at", columnList = "completed_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "task")
 public class Task {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_seq")
+    @SequenceGenerator(name = "task_seq", sequenceName = "task_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 200)
@@ -34,9 +44,15 @@ public class Task {
     @Column(name = "completed_at")
     private LocalDateTime completedAt;
 
+    // Null until persisted, which is also how Spring Data tells a new task from an existing one.
+    @Version
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
-        createdAt = LocalDateTime.now();
+        // Match the database's microsecond precision so keyset cursors built from an
+        // in-memory entity compare equal to the stored value.
+        createdAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
         if (completed == null) {
             completed = false;
         }
@@ -0,0 +1,32 @@
+package com.todo.todo_backend.model;
+
+import lombok.Builder;
+import lombok.With;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Sequence;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * R2DBC mapping of the {@code task} table used by the reactive stack. Ids come from the same
+ * {@code task_seq} sequence as {@link Task}; a single sequence value is always the top of a
+ * block Hibernate's pooled optimizer will never hand out, so the two stacks cannot collide.
+ */
+@Builder
+@Table("task")
+public record TaskRecord(
+        @Id
+        @With
+        @Sequence("task_seq")
+        Long id,
+        String title,
+        String description,
+        Boolean completed,
+        @Column("created_at")
+        LocalDateTime createdAt,
+        @Column("completed_at")
+        LocalDateTime completedAt
+) {
+}
@@ -0,0 +1,38 @@
+package com.todo.todo_backend.pagination;
+
+import com.todo.todo_backend.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in the {@code (score DESC, id DESC)} ordering of search results. The score is kept
+ * as its exact float bits so the next page resumes precisely after the last hit.
+ */
+public record SearchCursor(
+        float score,
+        Long id
+) {
+    private static final char SEPARATOR = '|';
+
+    public String encode() {
+        String raw = Integer.toHexString(Float.floatToIntBits(score)) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SearchCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new InvalidCursorException("Invalid cursor: " + cursor);
+            }
+            return new SearchCursor(
+                    Float.intBitsToFloat(Integer.parseUnsignedInt(raw.substring(0, separator), 16)),
+                    Long.parseLong(raw.substring(separator + 1))
+            );
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid cursor: " + cursor, e);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.todo.todo_backend.ratelimit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Caps how many calls may run at once, with the cap derived from their latency rather than
+ * configured up front.
+ * <p>
+ * Two moving averages of call latency are kept: a short one that follows the current load and
+ * a long one that stands in for the latency the service has when it is not queueing. While the
+ * two agree the limit grows by roughly its square root per sample; once the short average
+ * rises past {@code tolerance} times the long one, calls are waiting on something (usually the
+ * connection pool) and the limit shrinks in proportion. Calls over the limit are refused
+ * immediately instead of joining the queue.
+ * <p>
+ * Admission is a compare-and-set on the in-flight count. Limit updates take a lock, but only
+ * with {@code tryLock}: a sample that arrives while another is being applied is dropped.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double SHORT_WINDOW_WEIGHT = 0.1;
+    private static final double LONG_WINDOW_WEIGHT = 0.002;
+    private static final double SMOOTHING = 0.2;
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ReentrantLock updateLock = new ReentrantLock();
+    private volatile int limit;
+
+    // Guarded by updateLock.
+    private double estimatedLimit;
+    private double shortRttNanos;
+    private double longRttNanos;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double tolerance) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Concurrency limits must satisfy 1 <= min <= initial <= max");
+        }
+        if (tolerance < 1.0) {
+            throw new IllegalArgumentException("tolerance must be at least 1.0");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.estimatedLimit = initialLimit;
+        this.limit = initialLimit;
+    }
+
+    /**
+     * Admits a call if the limit allows it.
+     *
+     * @return the number of calls in flight including this one, to be passed to
+     *         {@link #release}, or {@code -1} when the call is refused
+     */
+    public int tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return -1;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return current + 1;
+            }
+        }
+    }
+
+    public void release(long latencyNanos, int inFlightAtStart) {
+        inFlight.decrementAndGet();
+        onSample(latencyNanos, inFlightAtStart);
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    void onSample(long latencyNanos, int inFlightAtStart) {
+        if (!updateLock.tryLock()) {
+            return;
+        }
+        try {
+            if (longRttNanos == 0) {
+                shortRttNanos = latencyNanos;
+                longRttNanos = latencyNanos;
+                return;
+            }
+            shortRttNanos += (latencyNanos - shortRttNanos) * SHORT_WINDOW_WEIGHT;
+            longRttNanos += (latencyNanos - longRttNanos) * LONG_WINDOW_WEIGHT;
+
+            // After an overload the long average sits above recovered latencies for a while;
+            // pull it down so the limit can grow back without waiting for it.
+            if (longRttNanos > 2 * shortRttNanos) {
+                longRttNanos *= 0.95;
+            }
+
+            // A limit that is not being used says nothing about how high it could go.
+            if (inFlightAtStart < estimatedLimit / 2) {
+                return;
+            }
+
+            double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, tolerance * longRttNanos / shortRttNanos));
+            double target = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+            estimatedLimit = Math.max(minLimit, Math.min(maxLimit,
+                    estimatedLimit * (1 - SMOOTHING) + target * SMOOTHING));
+            limit = (int) estimatedLimit;
+        } finally {
+            updateLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.todo.todo_backend.ratelimit;
+
+import com.todo.todo_backend.exception.RateLimitExceededException;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Applies {@link RateLimitProperties.Rule}s with one {@link TokenBucket} per rule and client.
+ * <p>
+ * Buckets are created on a client's first request and dropped by a periodic sweep once they
+ * have refilled, so the maps only hold clients that were limited recently. A request racing
+ * the sweep can take its token from a bucket that is being dropped, which at worst grants a
+ * client one extra request per sweep.
+ * <p>
+ * Each rule tracks at most {@code maxClients} clients, give or take concurrent first requests.
+ * Past that, new clients share a single overflow bucket until the sweep frees room, so a flood
+ * of distinct client keys is throttled as one client instead of growing the maps without bound.
+ */
+public class ClientRateLimiter implements AutoCloseable {
+
+    private static final PathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private final List<Limit> limits;
+    private final LongSupplier nanoTime;
+    private final int maxClients;
+    private final ScheduledExecutorService sweeper;
+
+    public ClientRateLimiter(List<RateLimitProperties.Rule> rules, Duration sweepInterval, int maxClients) {
+        this(rules, System::nanoTime, sweepInterval, maxClients);
+    }
+
+    ClientRateLimiter(List<RateLimitProperties.Rule> rules, LongSupplier nanoTime) {
+        this(rules, nanoTime, Integer.MAX_VALUE);
+    }
+
+    ClientRateLimiter(List<RateLimitProperties.Rule> rules, LongSupplier nanoTime, int maxClients) {
+        this(rules, nanoTime, null, maxClients);
+    }
+
+    private ClientRateLimiter(List<RateLimitProperties.Rule> rules, LongSupplier nanoTime, Duration sweepInterval,
+                              int maxClients) {
+        long now = nanoTime.getAsLong();
+        this.limits = rules.stream().map(rule -> new Limit(rule, now)).toList();
+        this.nanoTime = nanoTime;
+        this.maxClients = maxClients;
+        if (sweepInterval == null) {
+            this.sweeper = null;
+            return;
+        }
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "rate-limit-sweep");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = sweepInterval.toMillis();
+        sweeper.scheduleWithFixedDelay(this::sweep, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Takes a token from the client's bucket for the first rule matching the request.
+     *
+     * @throws RateLimitExceededException if that bucket is empty
+     */
+    public void acquire(String method, String path, String clientKey) {
+        for (Limit limit : limits) {
+            if (limit.matches(method, path)) {
+                long now = nanoTime.getAsLong();
+                long waitNanos = limit.bucket(clientKey, now, maxClients).tryAcquire(now);
+                if (waitNanos > 0) {
+                    throw new RateLimitExceededException(
+                            "Rate limit exceeded for " + limit.rule.name() + " requests", Duration.ofNanos(waitNanos));
+                }
+                return;
+            }
+        }
+    }
+
+    void sweep() {
+        long now = nanoTime.getAsLong();
+        for (Limit limit : limits) {
+            limit.buckets.values().removeIf(bucket -> bucket.isFull(now));
+        }
+    }
+
+    @Override
+    public void close() {
+        if (sweeper != null) {
+            sweeper.shutdownNow();
+        }
+    }
+
+    int trackedClients() {
+        return limits.stream().mapToInt(limit -> limit.buckets.size()).sum();
+    }
+
+    private static final class Limit {
+
+        private final RateLimitProperties.Rule rule;
+        private final ConcurrentMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+        private final TokenBucket overflow;
+
+        private Limit(RateLimitProperties.Rule rule, long now) {
+            if (rule.path() == null || rule.path().isBlank()) {
+                throw new IllegalArgumentException("Rate limit rule '" + rule.name() + "' has no path");
+            }
+            this.rule = rule;
+            this.overflow = newBucket(now);
+        }
+
+        private TokenBucket bucket(String clientKey, long now, int maxClients) {
+            TokenBucket bucket = buckets.get(clientKey);
+            if (bucket != null) {
+                return bucket;
+            }
+            if (buckets.size() >= maxClients) {
+                return overflow;
+            }
+            return buckets.computeIfAbsent(clientKey, key -> newBucket(now));
+        }
+
+        private boolean matches(String method, String path) {
+            return (rule.method() == null || rule.method().isBlank() || rule.method().equalsIgnoreCase(method))
+                    && PATH_MATCHER.match(rule.path(), path);
+        }
+
+        private TokenBucket newBucket(long now) {
+            return new TokenBucket(rule.requestsPerSecond(), rule.burst(), now);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.todo.todo_backend.ratelimit;
+
+import com.todo.todo_backend.exception.ServiceOverloadedException;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+/**
+ * Runs {@code TaskService} calls, and so the database work behind each request, under an
+ * {@link AdaptiveConcurrencyLimiter}. Ordered ahead of the transaction advice so a refused call
+ * never borrows a connection. Exports are left out: they run for as long as the client keeps
+ * reading, which says nothing about how loaded the database is, and are capped on their own.
+ * Recent-task reads are left out too: {@code RecentTaskCache} answers nearly all of them in
+ * microseconds, and under a polling-heavy mix those samples would pin the long-run latency far
+ * below any real database call, so ordinary writes would read as queueing and shed requests.
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ConcurrencyLimitAspect {
+
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    public ConcurrencyLimitAspect(AdaptiveConcurrencyLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    @Around("execution(* com.todo.todo_backend.service.TaskService.*(..)) "
+            + "&& !execution(* com.todo.todo_backend.service.TaskService.exportTasks(..)) "
+            + "&& !execution(* com.todo.todo_backend.service.TaskService.getRecentTasks(..))")
+    public Object limit(ProceedingJoinPoint joinPoint) throws Throwable {
+        int inFlight = limiter.tryAcquire();
+        if (inFlight < 0) {
+            throw new ServiceOverloadedException("Too many requests in progress, please retry shortly");
+        }
+        long started = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            limiter.release(System.nanoTime() - started, inFlight);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.todo.todo_backend.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Charges the request to the client's remote address before the controller runs, and also to
+ * its API key header when one is sent. The key is not authenticated, so it can only narrow a
+ * quota, never replace the address's: sending a fresh key per request does not escape the
+ * limit. Keys and addresses are kept apart so a client cannot spend another's quota by sending
+ * its address as a key. Behind a proxy the remote address is only the client's if
+ * {@code server.forward-headers-strategy} is set.
+ */
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private final ClientRateLimiter limiter;
+    private final String apiKeyHeader;
+
+    public RateLimitInterceptor(ClientRateLimiter limiter, String apiKeyHeader) {
+        this.limiter = limiter;
+        this.apiKeyHeader = apiKeyHeader;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        limiter.acquire(request.getMethod(), path, "ip:" + request.getRemoteAddr());
+        String apiKey = request.getHeader(apiKeyHeader);
+        if (apiKey != null && !apiKey.isBlank()) {
+            limiter.acquire(request.getMethod(), path, "key:" + apiKey);
+        }
+        return true;
+    }
+}
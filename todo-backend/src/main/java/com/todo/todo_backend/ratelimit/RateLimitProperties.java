@@ -0,0 +1,29 @@
+package com.todo.todo_backend.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Per-client request quotas, bound from {@code todo.rate-limit}. A request is checked against
+ * the first rule whose method and path pattern match it; requests no rule matches are not
+ * limited. {@code maxClients} caps the clients each rule tracks at once.
+ */
+@ConfigurationProperties(prefix = "todo.rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("X-API-Key") String apiKeyHeader,
+        @DefaultValue List<Rule> rules,
+        @DefaultValue("1m") Duration sweepInterval,
+        @DefaultValue("100000") int maxClients
+) {
+
+    /**
+     * @param method HTTP method to match, or blank for any
+     * @param path   Ant-style pattern, e.g. {@code /api/v1/tasks/**}
+     */
+    public record Rule(String name, String method, String path, double requestsPerSecond, int burst) {
+    }
+}
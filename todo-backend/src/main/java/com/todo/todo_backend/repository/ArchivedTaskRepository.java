@@ -0,0 +1,9 @@
+package com.todo.todo_backend.repository;
+
+import com.todo.todo_backend.model.ArchivedTask;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ArchivedTaskRepository extends JpaRepository<ArchivedTask, Long> {
+}
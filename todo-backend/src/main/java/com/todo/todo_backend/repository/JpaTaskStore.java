@@ -0,0 +1,157 @@
+package com.todo.todo_backend.repository;
+
+import com.todo.todo_backend.dto.TaskRequest;
+import com.todo.todo_backend.dto.TaskResponse;
+import com.todo.todo_backend.dto.TaskStatsGranularity;
+import com.todo.todo_backend.dto.TaskStatsResponse;
+import com.todo.todo_backend.mapper.TaskMapper;
+import com.todo.todo_backend.model.Task;
+import com.todo.todo_backend.pagination.TaskCursor;
+import com.todo.todo_backend.stats.TaskStatsStore;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * {@link TaskStore} over the task and archive tables. Joins the caller's transaction; the
+ * service decides where those begin and end, and so when task events are delivered.
+ */
+@Component
+@Profile("!reactive & !embedded")
+@RequiredArgsConstructor
+public class JpaTaskStore implements TaskStore {
+
+    // Matches hibernate.jdbc.batch_size so each chunk is flushed as one JDBC batch.
+    private static final int BATCH_CHUNK_SIZE = 500;
+    private static final int STREAM_CLEAR_INTERVAL = 1000;
+
+    private final TaskRepository taskRepository;
+    private final ArchivedTaskRepository archivedTaskRepository;
+    private final TaskMapper taskMapper;
+    private final EntityManager entityManager;
+    private final TaskStatsStore taskStatsStore;
+
+    @Override
+    public TaskResponse create(TaskRequest request) {
+        return taskMapper.mapToResponse(taskRepository.save(toTask(request)));
+    }
+
+    @Override
+    public List<TaskResponse> createAll(List<TaskRequest> requests) {
+        List<TaskResponse> responses = new ArrayList<>(requests.size());
+        for (int from = 0; from < requests.size(); from += BATCH_CHUNK_SIZE) {
+            List<Task> chunk = requests.subList(from, Math.min(from + BATCH_CHUNK_SIZE, requests.size()))
+                    .stream()
+                    .map(JpaTaskStore::toTask)
+                    .collect(Collectors.toList());
+
+            List<Task> savedChunk = taskRepository.saveAll(chunk);
+            // Push the chunk to the database and detach it so the persistence context,
+            // and the dirty checking done on every flush, stays bounded by one chunk.
+            entityManager.flush();
+            entityManager.clear();
+
+            for (Task savedTask : savedChunk) {
+                responses.add(taskMapper.mapToResponse(savedTask));
+            }
+        }
+        return responses;
+    }
+
+    @Override
+    public Optional<TaskResponse> findById(long id) {
+        return taskRepository.findById(id).map(taskMapper::mapToResponse);
+    }
+
+    @Override
+    public List<TaskResponse> findByIdIn(Collection<Long> ids) {
+        return ids.isEmpty()
+                ? List.of()
+                : taskRepository.findByIdIn(ids).stream().map(taskMapper::mapToResponse).toList();
+    }
+
+    @Override
+    public List<Long> findIdsByIdIn(Collection<Long> ids) {
+        return ids.isEmpty() ? List.of() : taskRepository.findIdsByIdIn(ids);
+    }
+
+    @Override
+    public List<TaskResponse> findRecentOpen(int limit) {
+        return taskRepository.findByCompletedFalseOrderByCreatedAtDesc(PageRequest.of(0, limit))
+                .stream()
+                .map(taskMapper::mapToResponse)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<TaskResponse> findPage(Boolean completed, TaskCursor after, int limit) {
+        PageRequest page = PageRequest.of(0, limit);
+        List<Task> rows;
+        if (after == null) {
+            rows = completed == null
+                    ? taskRepository.findAllByOrderByCreatedAtDescIdDesc(page)
+                    : taskRepository.findByCompletedOrderByCreatedAtDescIdDesc(completed, page);
+        } else {
+            rows = completed == null
+                    ? taskRepository.findPageAfter(after.createdAt(), after.id(), page)
+                    : taskRepository.findPageAfterByCompleted(completed, after.createdAt(), after.id(), page);
+        }
+        return rows.stream().map(taskMapper::mapToResponse).collect(Collectors.toList());
+    }
+
+    /**
+     * Rows come from a forward-only cursor, which needs the caller's transaction to stay open
+     * until the stream is closed, and the persistence context is cleared every
+     * {@value #STREAM_CLEAR_INTERVAL} rows, so memory stays flat however many tasks there are.
+     */
+    @Override
+    public Stream<TaskResponse> streamInIdOrder(Boolean completed) {
+        Stream<Task> rows = completed == null
+                ? taskRepository.streamAllByOrderByIdAsc()
+                : taskRepository.streamByCompletedOrderByIdAsc(completed);
+        long[] read = {0};
+        return rows.map(task -> {
+            TaskResponse response = taskMapper.mapToResponse(task);
+            if (++read[0] % STREAM_CLEAR_INTERVAL == 0) {
+                entityManager.clear();
+            }
+            return response;
+        });
+    }
+
+    @Override
+    public List<TaskResponse> completeAll(Collection<Long> ids, LocalDateTime completedAt) {
+        return taskRepository.completeOpenReturning(ids, completedAt).stream()
+                .map(taskMapper::mapToResponse)
+                .toList();
+    }
+
+    @Override
+    public Optional<TaskResponse> findArchivedById(long id) {
+        return archivedTaskRepository.findById(id).map(taskMapper::mapToResponse);
+    }
+
+    /** Read from the rollups, so the stats trail live writes by up to one flush interval. */
+    @Override
+    public TaskStatsResponse queryStats(TaskStatsGranularity granularity, LocalDateTime from, LocalDateTime to) {
+        return taskStatsStore.query(granularity, from, to);
+    }
+
+    private static Task toTask(TaskRequest request) {
+        return Task.builder()
+                .title(request.title())
+                .description(request.description())
+                .completed(false)
+                .build();
+    }
+}
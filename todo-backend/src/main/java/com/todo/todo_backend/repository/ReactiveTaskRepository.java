@@ -0,0 +1,23 @@
+package com.todo.todo_backend.repository;
+
+import com.todo.todo_backend.model.TaskRecord;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface ReactiveTaskRepository extends R2dbcRepository<TaskRecord, Long> {
+    Flux<TaskRecord> findByCompletedFalseOrderByCreatedAtDesc(Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE task SET completed = TRUE, completed_at = :completedAt, version = version + 1 "
+            + "WHERE id = :id AND completed = FALSE")
+    Mono<Integer> markAsCompleted(@Param("id") Long id, @Param("completedAt") LocalDateTime completedAt);
+}
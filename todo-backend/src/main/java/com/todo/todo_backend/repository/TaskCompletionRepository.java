@@ -0,0 +1,23 @@
+package com.todo.todo_backend.repository;
+
+import com.todo.todo_backend.model.Task;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Completion as a single statement that both changes the rows and returns them, so callers
+ * learn which tasks they completed without a second query.
+ */
+public interface TaskCompletionRepository {
+
+    /**
+     * Completes the tasks among {@code ids} that are still open, stamping them with
+     * {@code completedAt} and bumping their version.
+     *
+     * @return the tasks this call completed, as stored; missing and already completed ones are
+     * left out
+     */
+    List<Task> completeOpenReturning(Collection<Long> ids, LocalDateTime completedAt);
+}
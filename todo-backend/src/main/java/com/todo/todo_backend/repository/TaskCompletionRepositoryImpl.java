@@ -0,0 +1,77 @@
+package com.todo.todo_backend.repository;
+
+import com.todo.todo_backend.model.Task;
+import jakarta.persistence.EntityManager;
+import org.hibernate.action.internal.BulkOperationCleanupAction;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * {@link TaskCompletionRepository} as {@code UPDATE ... RETURNING} on PostgreSQL and as a
+ * {@code SELECT} over the update's {@code FINAL TABLE} on H2; both return the rows as the update
+ * left them, in the same round trip. On H2 the rows are locked first: its update can still match
+ * a row another completion committed while this one waited for it, which PostgreSQL re-checks.
+ */
+class TaskCompletionRepositoryImpl implements TaskCompletionRepository {
+
+    private static final String COLUMNS = "id, title, description, completed, created_at, completed_at, version";
+    private static final String UPDATE = "UPDATE task SET completed = true, completed_at = :completedAt, "
+            + "version = version + 1 WHERE id IN (:ids) AND completed = false";
+    private static final String LOCK = "SELECT id FROM task WHERE id IN (:ids) FOR UPDATE";
+
+    private final EntityManager entityManager;
+    private final String sql;
+    private final boolean lockFirst;
+
+    TaskCompletionRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+        Dialect dialect = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices()
+                .getDialect();
+        if (dialect instanceof PostgreSQLDialect) {
+            this.sql = UPDATE + " RETURNING " + COLUMNS;
+            this.lockFirst = false;
+        } else if (dialect instanceof H2Dialect) {
+            this.sql = "SELECT " + COLUMNS + " FROM FINAL TABLE (" + UPDATE + ")";
+            this.lockFirst = true;
+        } else {
+            throw new IllegalStateException("Task completion supports PostgreSQL and H2, not "
+                    + dialect.getClass().getSimpleName());
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Task> completeOpenReturning(Collection<Long> ids, LocalDateTime completedAt) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        // As a JPQL bulk update would: write pending changes first, and drop managed copies the
+        // update is about to make stale.
+        entityManager.flush();
+        entityManager.clear();
+
+        // Hibernate sees a query, not an update, so schedule the cache cleanup it gives bulk
+        // updates itself: the task region and the query cache are invalidated on commit.
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        BulkOperationCleanupAction.schedule(session,
+                session.getFactory().getMappingMetamodel().getEntityDescriptor(Task.class));
+
+        if (lockFirst) {
+            // Waits out any competing completion, so the update below reads its commit.
+            entityManager.createNativeQuery(LOCK).setParameter("ids", ids).getResultList();
+        }
+        return entityManager.createNativeQuery(sql, Task.class)
+                .setParameter("completedAt", completedAt)
+                .setParameter("ids", ids)
+                .getResultList();
+    }
+}
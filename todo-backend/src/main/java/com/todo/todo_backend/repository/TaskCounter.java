@@ -0,0 +1,8 @@
+package com.todo.todo_backend.repository;
+
+/**
+ * Task counts by completion state, from whichever store holds the tasks.
+ */
+public interface TaskCounter {
+    long countByCompleted(Boolean completed);
+}
@@ -1,13 +1,80 @@
 package com.todo.todo_backend.repository;
 
 import com.todo.todo_backend.model.Task;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskCompletionRepository, TaskCounter {
+    // Cached in the query cache; any write to the task table through Hibernate invalidates it.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Task> findByCompletedFalseOrderByCreatedAtDesc(Pageable pageable);
+
+    // Keyset pagination over (created_at DESC, id DESC): callers pass the last row of the
+    // previous page and a Pageable on page 0, so the database never skips rows by offset.
+    // Page and search reads may be served by a lagging read replica, so the tasks they load
+    // never go into the second-level cache (CacheMode.GET); see ReadWriteRoutingConfig.
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "GET"))
+    List<Task> findAllByOrderByCreatedAtDescIdDesc(Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "GET"))
+    List<Task> findByCompletedOrderByCreatedAtDescIdDesc(Boolean completed, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "GET"))
+    @Query("SELECT t FROM Task t " +
+            "WHERE t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id) " +
+            "ORDER BY t.createdAt DESC, t.id DESC")
+    List<Task> findPageAfter(@Param("createdAt") LocalDateTime createdAt,
+                             @Param("id") Long id,
+                             Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "GET"))
+    @Query("SELECT t FROM Task t " +
+            "WHERE t.completed = :completed " +
+            "AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id)) " +
+            "ORDER BY t.createdAt DESC, t.id DESC")
+    List<Task> findPageAfterByCompleted(@Param("completed") Boolean completed,
+                                        @Param("createdAt") LocalDateTime createdAt,
+                                        @Param("id") Long id,
+                                        Pageable pageable);
+
+    @Query("SELECT t.id FROM Task t WHERE t.id IN :ids")
+    List<Long> findIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "GET"))
+    List<Task> findByIdIn(Collection<Long> ids);
+
+    // Export reads: rows are fetched from an open cursor in fetch-size batches as the stream is
+    // consumed, loaded read-only and kept out of the second-level cache so a full export neither
+    // takes dirty-checking snapshots nor evicts the working set. Callers must consume the stream
+    // inside a transaction and close it.
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    Stream<Task> streamAllByOrderByIdAsc();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    Stream<Task> streamByCompletedOrderByIdAsc(Boolean completed);
+
+    @Override
+    long countByCompleted(Boolean completed);
 }
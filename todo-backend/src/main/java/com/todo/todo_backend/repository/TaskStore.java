@@ -0,0 +1,68 @@
+package com.todo.todo_backend.repository;
+
+import com.todo.todo_backend.dto.TaskRequest;
+import com.todo.todo_backend.dto.TaskResponse;
+import com.todo.todo_backend.dto.TaskStatsGranularity;
+import com.todo.todo_backend.dto.TaskStatsResponse;
+import com.todo.todo_backend.pagination.TaskCursor;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Where {@code TaskServiceImpl} keeps its tasks: the database through {@link JpaTaskStore}, or
+ * the in-process {@code EmbeddedTaskStore} for the {@code embedded} profile. Tasks come back as
+ * responses, so the service reads the same whichever store holds them.
+ */
+public interface TaskStore {
+
+    TaskResponse create(TaskRequest request);
+
+    /** Stores every request as a new open task, returned in request order. */
+    List<TaskResponse> createAll(List<TaskRequest> requests);
+
+    Optional<TaskResponse> findById(long id);
+
+    /** Returns the tasks among {@code ids} that exist, in no particular order. */
+    List<TaskResponse> findByIdIn(Collection<Long> ids);
+
+    /** Returns the ids among {@code ids} that exist, without reading the tasks. */
+    List<Long> findIdsByIdIn(Collection<Long> ids);
+
+    /** Returns up to {@code limit} open tasks, newest first. */
+    List<TaskResponse> findRecentOpen(int limit);
+
+    /**
+     * Returns up to {@code limit} tasks in {@code (created_at DESC, id DESC)} order, starting
+     * after {@code after} when given, and only those with the given completion state unless
+     * {@code completed} is {@code null}.
+     */
+    List<TaskResponse> findPage(Boolean completed, TaskCursor after, int limit);
+
+    /**
+     * Returns the tasks oldest id first, only those with the given completion state unless
+     * {@code completed} is {@code null}, without holding them all in memory at once. The
+     * stream must be closed.
+     */
+    Stream<TaskResponse> streamInIdOrder(Boolean completed);
+
+    /**
+     * Completes the tasks among {@code ids} that are still open, stamping them with
+     * {@code completedAt}, in one write that skips tasks already completed. Of several calls
+     * completing the same task at once, exactly one gets it back.
+     *
+     * @return the tasks this call completed; missing and already completed ones are left out
+     */
+    List<TaskResponse> completeAll(Collection<Long> ids, LocalDateTime completedAt);
+
+    Optional<TaskResponse> findArchivedById(long id);
+
+    /**
+     * @param from start of the first bucket, inclusive
+     * @param to   end of the range, exclusive
+     */
+    TaskStatsResponse queryStats(TaskStatsGranularity granularity, LocalDateTime from, LocalDateTime to);
+}
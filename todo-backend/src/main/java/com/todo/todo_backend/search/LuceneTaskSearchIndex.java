@@ -0,0 +1,218 @@
+package com.todo.todo_backend.search;
+
+import com.todo.todo_backend.dto.TaskResponse;
+import com.todo.todo_backend.event.TaskEvent;
+import com.todo.todo_backend.event.TaskEventType;
+import com.todo.todo_backend.pagination.SearchCursor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.en.EnglishAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.FieldDoc;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopFieldDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Embedded Lucene index for databases without a native full-text index, such as H2.
+ * <p>
+ * The index lives in memory: it is rebuilt from the task table (or whatever {@link TaskSource}
+ * it is given) at startup and then kept current from committed task events. Searches refresh
+ * the reader first, so a client sees its own committed writes. Memory grows with the table,
+ * which makes this suited to development and test databases rather than the production
+ * PostgreSQL path.
+ */
+@Slf4j
+public class LuceneTaskSearchIndex implements TaskSearchIndex, SmartInitializingSingleton, DisposableBean {
+
+    private static final String ID = "id";
+    private static final String ID_SORT = "id_sort";
+    private static final String TITLE = "title";
+    private static final String DESCRIPTION = "description";
+    private static final String COMPLETED = "completed";
+    // Title matches outrank description matches, mirroring the A/B weights used on PostgreSQL.
+    private static final Map<String, Float> FIELD_WEIGHTS = Map.of(TITLE, 2.0f, DESCRIPTION, 1.0f);
+    private static final Sort RANKING = new Sort(SortField.FIELD_SCORE,
+            new SortField(ID_SORT, SortField.Type.LONG, true));
+
+    private final TaskSource source;
+    private final Analyzer analyzer = new EnglishAnalyzer();
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+
+    public LuceneTaskSearchIndex(JdbcTemplate jdbcTemplate) {
+        this(action -> jdbcTemplate.query("SELECT id, title, description, completed FROM task", rs -> {
+            action.accept(TaskResponse.builder()
+                    .id(rs.getLong("id"))
+                    .title(rs.getString("title"))
+                    .description(rs.getString("description"))
+                    .completed(rs.getBoolean("completed"))
+                    .build());
+        }));
+    }
+
+    public LuceneTaskSearchIndex(TaskSource source) {
+        this.source = source;
+        try {
+            this.writer = new IndexWriter(new ByteBuffersDirectory(), new IndexWriterConfig(analyzer));
+            this.searcherManager = new SearcherManager(writer, null);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create the task search index", e);
+        }
+    }
+
+    // Runs once the Flyway migration initializer has created the table.
+    @Override
+    public void afterSingletonsInstantiated() {
+        long[] count = new long[1];
+        source.forEachTask(task -> {
+            index(task.id(), task.title(), task.description(), Boolean.TRUE.equals(task.completed()));
+            count[0]++;
+        });
+        refresh();
+        log.info("Task search index built with {} tasks", count[0]);
+    }
+
+    // Runs ahead of TaskChangeVersion so a new search tag is never paired with stale hits.
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskEvent(TaskEvent event) {
+        TaskResponse task = event.task();
+        if (event.type() == TaskEventType.ARCHIVED) {
+            remove(task.id());
+        } else {
+            index(task.id(), task.title(), task.description(), Boolean.TRUE.equals(task.completed()));
+        }
+    }
+
+    @Override
+    public List<TaskSearchHit> search(String query, Boolean completed, SearchCursor after, int limit) {
+        SimpleQueryParser parser = new SimpleQueryParser(analyzer, FIELD_WEIGHTS);
+        // Every term must match, as with websearch_to_tsquery on PostgreSQL.
+        parser.setDefaultOperator(BooleanClause.Occur.MUST);
+        Query parsed = parser.parse(query);
+        if (parsed == null) {
+            // Nothing left after analysis, e.g. a query made only of stop words.
+            return List.of();
+        }
+        Query filtered = parsed;
+        if (completed != null) {
+            filtered = new BooleanQuery.Builder()
+                    .add(parsed, BooleanClause.Occur.MUST)
+                    .add(new TermQuery(new Term(COMPLETED, completed.toString())), BooleanClause.Occur.FILTER)
+                    .build();
+        }
+
+        refresh();
+        IndexSearcher searcher = null;
+        try {
+            searcher = searcherManager.acquire();
+            TopFieldDocs top;
+            if (after == null) {
+                top = searcher.search(filtered, limit, RANKING, true);
+            } else {
+                // Ids are unique, so the doc id only matters for the cursor's own task; the
+                // highest doc id keeps that task out of the next page.
+                FieldDoc position = new FieldDoc(searcher.getIndexReader().maxDoc() - 1, after.score(),
+                        new Object[]{after.score(), after.id()});
+                top = searcher.searchAfter(position, filtered, limit, RANKING, true);
+            }
+
+            List<TaskSearchHit> hits = new ArrayList<>(top.scoreDocs.length);
+            for (ScoreDoc scoreDoc : top.scoreDocs) {
+                Object[] fields = ((FieldDoc) scoreDoc).fields;
+                hits.add(new TaskSearchHit((Long) fields[1], (Float) fields[0]));
+            }
+            return hits;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Task search failed", e);
+        } finally {
+            release(searcher);
+        }
+    }
+
+    private void index(long id, String title, String description, boolean completed) {
+        Document document = new Document();
+        document.add(new StringField(ID, Long.toString(id), Field.Store.NO));
+        document.add(new NumericDocValuesField(ID_SORT, id));
+        document.add(new TextField(TITLE, title, Field.Store.NO));
+        if (description != null) {
+            document.add(new TextField(DESCRIPTION, description, Field.Store.NO));
+        }
+        document.add(new StringField(COMPLETED, Boolean.toString(completed), Field.Store.NO));
+        try {
+            writer.updateDocument(new Term(ID, Long.toString(id)), document);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not index task " + id, e);
+        }
+    }
+
+    private void remove(long id) {
+        try {
+            writer.deleteDocuments(new Term(ID, Long.toString(id)));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not remove task " + id + " from the index", e);
+        }
+    }
+
+    private void refresh() {
+        try {
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not refresh the task search index", e);
+        }
+    }
+
+    private void release(IndexSearcher searcher) {
+        if (searcher == null) {
+            return;
+        }
+        try {
+            searcherManager.release(searcher);
+        } catch (IOException e) {
+            log.warn("Could not release task index searcher", e);
+        }
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        searcherManager.close();
+        writer.close();
+        analyzer.close();
+    }
+
+    /** Every stored task, read once when the index is built. */
+    @FunctionalInterface
+    public interface TaskSource {
+        void forEachTask(Consumer<TaskResponse> action);
+    }
+}
@@ -0,0 +1,50 @@
+package com.todo.todo_backend.search;
+
+import com.todo.todo_backend.pagination.SearchCursor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Searches the {@code search_vector} column maintained by PostgreSQL itself (see migration V3),
+ * so writes need no application-side index maintenance. The GIN index narrows the scan to
+ * matching rows; only those are ranked with {@code ts_rank_cd}.
+ */
+public class PostgresTaskSearchIndex implements TaskSearchIndex {
+
+    private static final String SELECT = "SELECT t.id, ts_rank_cd(t.search_vector, q.query) AS score " +
+            "FROM task t, websearch_to_tsquery('english', ?) AS q(query) " +
+            "WHERE t.search_vector @@ q.query";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PostgresTaskSearchIndex(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<TaskSearchHit> search(String query, Boolean completed, SearchCursor after, int limit) {
+        StringBuilder sql = new StringBuilder(SELECT);
+        List<Object> args = new ArrayList<>(6);
+        args.add(query);
+
+        if (completed != null) {
+            sql.append(" AND t.completed = ?");
+            args.add(completed);
+        }
+        if (after != null) {
+            sql.append(" AND (ts_rank_cd(t.search_vector, q.query) < ?" +
+                    " OR (ts_rank_cd(t.search_vector, q.query) = ? AND t.id < ?))");
+            args.add(after.score());
+            args.add(after.score());
+            args.add(after.id());
+        }
+        sql.append(" ORDER BY score DESC, t.id DESC LIMIT ?");
+        args.add(limit);
+
+        return jdbcTemplate.query(sql.toString(),
+                (rs, rowNum) -> new TaskSearchHit(rs.getLong("id"), rs.getFloat("score")),
+                args.toArray());
+    }
+}
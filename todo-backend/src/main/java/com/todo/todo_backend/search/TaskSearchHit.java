@@ -0,0 +1,7 @@
+package com.todo.todo_backend.search;
+
+public record TaskSearchHit(
+        Long id,
+        float score
+) {
+}
@@ -0,0 +1,18 @@
+package com.todo.todo_backend.search;
+
+import com.todo.todo_backend.pagination.SearchCursor;
+
+import java.util.List;
+
+/**
+ * Inverted index over task titles and descriptions. Implementations rank matches by relevance
+ * and break ties by id, newest first, so {@link SearchCursor} positions are stable.
+ */
+public interface TaskSearchIndex {
+
+    /**
+     * Returns up to {@code limit} hits for {@code query} ranked after {@code after}, or from the
+     * top when {@code after} is {@code null}. {@code completed} optionally filters by state.
+     */
+    List<TaskSearchHit> search(String query, Boolean completed, SearchCursor after, int limit);
+}
@@ -0,0 +1,12 @@
+package com.todo.todo_backend.service;
+
+import com.todo.todo_backend.dto.TaskRequest;
+import com.todo.todo_backend.dto.TaskResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveTaskService {
+    Mono<TaskResponse> createTask(TaskRequest request);
+    Flux<TaskResponse> getRecentTasks();
+    Mono<TaskResponse> markAsCompleted(Long id);
+}
@@ -1,12 +1,28 @@
 package com.todo.todo_backend.service;
 
+import com.todo.todo_backend.dto.BatchTaskResponse;
+import com.todo.todo_backend.dto.BulkCompleteResponse;
+import com.todo.todo_backend.dto.TaskExportFormat;
+import com.todo.todo_backend.dto.TaskPageResponse;
 import com.todo.todo_backend.dto.TaskRequest;
 import com.todo.todo_backend.dto.TaskResponse;
+import com.todo.todo_backend.dto.TaskStatsGranularity;
+import com.todo.todo_backend.dto.TaskStatsResponse;
 
+import java.io.OutputStream;
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface TaskService {
     TaskResponse createTask(TaskRequest request);
+    BatchTaskResponse createTasks(List<TaskRequest> requests);
     List<TaskResponse> getRecentTasks();
+    TaskResponse getTask(Long id);
+    TaskResponse getArchivedTask(Long id);
     TaskResponse markAsCompleted(Long id);
+    BulkCompleteResponse markAllAsCompleted(List<Long> ids);
+    TaskPageResponse getTasks(String cursor, Boolean completed, int size);
+    TaskPageResponse searchTasks(String query, String cursor, Boolean completed, int size);
+    long exportTasks(TaskExportFormat format, Boolean completed, OutputStream out);
+    TaskStatsResponse getStats(TaskStatsGranularity granularity, LocalDateTime from, LocalDateTime to);
 }
@@ -0,0 +1,93 @@
+package com.todo.todo_backend.serviceImpl;
+
+import com.todo.todo_backend.dto.TaskRequest;
+import com.todo.todo_backend.dto.TaskResponse;
+import com.todo.todo_backend.event.TaskEvent;
+import com.todo.todo_backend.exception.TaskNotFoundException;
+import com.todo.todo_backend.logging.RateLimitedLogger;
+import com.todo.todo_backend.mapper.TaskMapper;
+import com.todo.todo_backend.model.TaskRecord;
+import com.todo.todo_backend.repository.ReactiveTaskRepository;
+import com.todo.todo_backend.service.ReactiveTaskService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Non-blocking counterpart of {@link TaskServiceImpl} backed by R2DBC. Each write is a single
+ * auto-committed statement, so task events are published once the statement has completed.
+ */
+@Slf4j
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveTaskServiceImpl implements ReactiveTaskService {
+
+    private static final int RECENT_TASKS_LIMIT = 5;
+    // Per-request info lines; anything over the budget is counted instead of written.
+    private static final RateLimitedLogger requestLog = RateLimitedLogger.perSecond(log, 50);
+
+    private final ReactiveTaskRepository taskRepository;
+    private final TaskMapper taskMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public Mono<TaskResponse> createTask(TaskRequest request) {
+        log.debug("Creating task with title: {} and description: {}", request.title(), request.description());
+
+        TaskRecord task = TaskRecord.builder()
+                .title(request.title())
+                .description(request.description())
+                .completed(false)
+                .createdAt(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS))
+                .build();
+
+        return taskRepository.save(task)
+                .map(taskMapper::mapToResponse)
+                .doOnNext(response -> {
+                    requestLog.info("Task created successfully with id: {}", response.id());
+                    eventPublisher.publishEvent(TaskEvent.created(response));
+                })
+                .doOnError(e -> log.error("Failed to create task with title: {}", request.title(), e));
+    }
+
+    @Override
+    public Flux<TaskResponse> getRecentTasks() {
+        log.debug("Fetching recent incomplete tasks (limit: {})", RECENT_TASKS_LIMIT);
+
+        return taskRepository.findByCompletedFalseOrderByCreatedAtDesc(PageRequest.of(0, RECENT_TASKS_LIMIT))
+                .map(taskMapper::mapToResponse)
+                .doOnError(e -> log.error("Failed to fetch recent tasks", e));
+    }
+
+    @Override
+    public Mono<TaskResponse> markAsCompleted(Long id) {
+        log.debug("Marking task as completed with id: {}", id);
+
+        LocalDateTime completedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        // Only an open task matches the update; a task completed earlier is returned as stored,
+        // without an event, as on the servlet path.
+        return taskRepository.markAsCompleted(id, completedAt)
+                .flatMap(updated -> taskRepository.findById(id)
+                        .switchIfEmpty(Mono.error(new TaskNotFoundException("Task not found with id: " + id)))
+                        .map(taskMapper::mapToResponse)
+                        .doOnNext(response -> {
+                            if (updated == 0) {
+                                requestLog.info("Task with id: {} is already completed", id);
+                            } else {
+                                requestLog.info("Task with id: {} marked as completed successfully", id);
+                                eventPublisher.publishEvent(TaskEvent.completed(response));
+                            }
+                        }))
+                .doOnError(e -> !(e instanceof TaskNotFoundException),
+                        e -> log.error("Failed to mark task as completed with id: {}", id, e));
+    }
+}
@@ -1,46 +1,94 @@
 package com.todo.todo_backend.serviceImpl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todo.todo_backend.cache.RecentTaskCache;
+import com.todo.todo_backend.dto.BatchTaskResponse;
+import com.todo.todo_backend.dto.BulkCompleteResponse;
+import com.todo.todo_backend.dto.TaskExportFormat;
+import com.todo.todo_backend.dto.TaskPageResponse;
 import com.todo.todo_backend.dto.TaskRequest;
 import com.todo.todo_backend.dto.TaskResponse;
+import com.todo.todo_backend.dto.TaskStatsGranularity;
+import com.todo.todo_backend.dto.TaskStatsResponse;
+import com.todo.todo_backend.event.TaskEvent;
+import com.todo.todo_backend.exception.InvalidSearchQueryException;
+import com.todo.todo_backend.exception.InvalidStatsQueryException;
+import com.todo.todo_backend.exception.ServiceOverloadedException;
 import com.todo.todo_backend.exception.TaskNotFoundException;
-import com.todo.todo_backend.mapper.TaskMapper;
-import com.todo.todo_backend.model.Task;
-import com.todo.todo_backend.repository.TaskRepository;
+import com.todo.todo_backend.export.TaskExportWriter;
+import com.todo.todo_backend.logging.RateLimitedLogger;
+import com.todo.todo_backend.pagination.SearchCursor;
+import com.todo.todo_backend.pagination.TaskCursor;
+import com.todo.todo_backend.repository.TaskStore;
+import com.todo.todo_backend.search.TaskSearchHit;
+import com.todo.todo_backend.search.TaskSearchIndex;
 import com.todo.todo_backend.service.TaskService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+/**
+ * The task API over whichever {@link TaskStore} the profile provides. The transaction
+ * boundaries below only matter for the database store; the embedded profile has no transaction
+ * manager, so there each store call stands alone and task events are delivered at once.
+ */
 @Slf4j
+@Profile("!reactive")
 @Service
 @RequiredArgsConstructor
 @Transactional
+@Timed(value = "todo.tasks.service", description = "Task service method latency", histogram = true)
 public class TaskServiceImpl implements TaskService {
 
-    private final TaskRepository taskRepository;
-    private final TaskMapper taskMapper;
+    // Per-request info lines; anything over the budget is counted instead of written.
+    private static final RateLimitedLogger requestLog = RateLimitedLogger.perSecond(log, 50);
+
+    private static final int MAX_PAGE_SIZE = 100;
+    // Each export holds a pooled connection, or a snapshot of the embedded store, for as long as
+    // the client keeps reading.
+    private static final int MAX_CONCURRENT_EXPORTS = 2;
+    // A day of minutes, or two months of hours.
+    private static final int MAX_STATS_BUCKETS = 1440;
+
+    private final TaskStore taskStore;
+    private final RecentTaskCache recentTaskCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskSearchIndex taskSearchIndex;
+    private final ObjectMapper objectMapper;
+    private final Semaphore exportPermits = new Semaphore(MAX_CONCURRENT_EXPORTS);
 
     @Override
     public TaskResponse createTask(TaskRequest request) {
         log.debug("Creating task with title: {} and description: {}", request.title(), request.description());
 
         try {
-            Task task = Task.builder()
-                    .title(request.title())
-                    .description(request.description())
-                    .completed(false)
-                    .build();
+            TaskResponse response = taskStore.create(request);
+            requestLog.info("Task created successfully with id: {}", response.id());
 
-            Task savedTask = taskRepository.save(task);
-            log.info("Task created successfully with id: {}", savedTask.getId());
-
-            return taskMapper.mapToResponse(savedTask);
+            eventPublisher.publishEvent(TaskEvent.created(response));
+            return response;
         } catch (Exception e) {
             log.error("Failed to create task with title: {}", request.title(), e);
             throw new RuntimeException("Failed to create task", e);
@@ -48,48 +96,92 @@ public class TaskServiceImpl implements TaskService {
     }
 
     @Override
-    @Transactional(readOnly = true)
+    public BatchTaskResponse createTasks(List<TaskRequest> requests) {
+        log.debug("Creating {} tasks in one batch", requests.size());
+
+        try {
+            List<TaskResponse> responses = taskStore.createAll(requests);
+
+            requestLog.info("Created {} tasks in batch", responses.size());
+            responses.forEach(response -> eventPublisher.publishEvent(TaskEvent.created(response)));
+
+            return BatchTaskResponse.builder()
+                    .created(responses.size())
+                    .tasks(responses)
+                    .build();
+        } catch (Exception e) {
+            log.error("Failed to create batch of {} tasks", requests.size(), e);
+            throw new RuntimeException("Failed to create tasks", e);
+        }
+    }
+
+    // Not read-only, like getTask: this read fills the query cache, so it must come from the
+    // primary rather than a read replica.
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public List<TaskResponse> getRecentTasks() {
-        log.debug("Fetching recent incomplete tasks (limit: 5)");
+        log.debug("Fetching recent incomplete tasks (limit: {})", recentTaskCache.limit());
 
         try {
-            List<Task> tasks = taskRepository.findByCompletedFalseOrderByCreatedAtDesc(
-                    PageRequest.of(0, 5)
-            );
+            List<TaskResponse> tasks = recentTaskCache.getRecentTasks(taskStore::findRecentOpen);
 
-            log.info("Retrieved {} recent tasks", tasks.size());
+            requestLog.info("Retrieved {} recent tasks", tasks.size());
 
-            return tasks.stream()
-                    .map(taskMapper::mapToResponse)
-                    .collect(Collectors.toList());
+            return tasks;
         } catch (Exception e) {
             log.error("Failed to fetch recent tasks", e);
             throw new RuntimeException("Failed to fetch recent tasks", e);
         }
     }
 
+    // Not read-only: the task this loads goes into the second-level cache, so it must come from
+    // the primary rather than a read replica that may lag it.
+    @Override
+    public TaskResponse getTask(Long id) {
+        log.debug("Fetching task with id: {}", id);
+
+        return taskStore.findById(id)
+                .orElseThrow(() -> {
+                    log.warn("Task not found with id: {}", id);
+                    return new TaskNotFoundException("Task not found with id: " + id);
+                });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskResponse getArchivedTask(Long id) {
+        log.debug("Fetching archived task with id: {}", id);
+
+        return taskStore.findArchivedById(id)
+                .orElseThrow(() -> {
+                    log.warn("Archived task not found with id: {}", id);
+                    return new TaskNotFoundException("Archived task not found with id: " + id);
+                });
+    }
+
     @Override
     public TaskResponse markAsCompleted(Long id) {
         log.debug("Marking task as completed with id: {}", id);
 
         try {
-            Task task = taskRepository.findById(id)
-                    .orElseThrow(() -> {
-                        log.warn("Task not found with id: {}", id);
-                        return new TaskNotFoundException("Task not found with id: " + id);
-                    });
-
-            if (task.getCompleted()) {
-                log.info("Task with id: {} is already completed", id);
-            }
+            // At the database's precision, so this response matches what later reads return.
+            LocalDateTime completedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+            // One write that only matches an open task, so of several concurrent completions
+            // exactly one gets the task back and its completion time stands.
+            List<TaskResponse> flipped = taskStore.completeAll(List.of(id), completedAt);
+            if (!flipped.isEmpty()) {
+                requestLog.info("Task with id: {} marked as completed successfully", id);
 
-            task.setCompleted(true);
-            task.setCompletedAt(LocalDateTime.now());
-            Task updatedTask = taskRepository.save(task);
-
-            log.info("Task with id: {} marked as completed successfully", id);
+                TaskResponse response = flipped.get(0);
+                eventPublisher.publishEvent(TaskEvent.completed(response));
+                return response;
+            }
 
-            return taskMapper.mapToResponse(updatedTask);
+            // Completing is idempotent: a task completed earlier, or by a request that won the
+            // race, is returned as stored, without an event.
+            TaskResponse task = getTask(id);
+            requestLog.info("Task with id: {} is already completed", id);
+            return task;
         } catch (TaskNotFoundException e) {
             throw e;
         } catch (Exception e) {
@@ -97,4 +189,163 @@ public class TaskServiceImpl implements TaskService {
             throw new RuntimeException("Failed to mark task as completed", e);
         }
     }
-}
\ No newline at end of file
+
+    @Override
+    public BulkCompleteResponse markAllAsCompleted(List<Long> ids) {
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        log.debug("Marking {} tasks as completed", requested.size());
+
+        try {
+            LocalDateTime completedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+            Map<Long, TaskResponse> flipped = taskStore.completeAll(requested, completedAt).stream()
+                    .collect(Collectors.toMap(TaskResponse::id, Function.identity()));
+
+            // Only ids the update passed over need a second look, to tell completed from missing.
+            List<Long> unmatched = requested.stream().filter(id -> !flipped.containsKey(id)).toList();
+            Set<Long> existing = unmatched.isEmpty() ? Set.of() : Set.copyOf(taskStore.findIdsByIdIn(unmatched));
+
+            List<Long> completed = new ArrayList<>(flipped.size());
+            List<Long> alreadyCompleted = new ArrayList<>();
+            List<Long> notFound = new ArrayList<>();
+            for (Long id : requested) {
+                TaskResponse task = flipped.get(id);
+                if (task != null) {
+                    completed.add(id);
+                    eventPublisher.publishEvent(TaskEvent.completed(task));
+                } else if (existing.contains(id)) {
+                    alreadyCompleted.add(id);
+                } else {
+                    notFound.add(id);
+                }
+            }
+
+            requestLog.info("Bulk completion: {} completed, {} already completed, {} not found",
+                    completed.size(), alreadyCompleted.size(), notFound.size());
+
+            return BulkCompleteResponse.builder()
+                    .completed(completed)
+                    .alreadyCompleted(alreadyCompleted)
+                    .notFound(notFound)
+                    .build();
+        } catch (Exception e) {
+            log.error("Failed to mark {} tasks as completed", requested.size(), e);
+            throw new RuntimeException("Failed to mark tasks as completed", e);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskPageResponse getTasks(String cursor, Boolean completed, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        log.debug("Fetching task page (cursor: {}, completed: {}, size: {})", cursor, completed, pageSize);
+
+        TaskCursor after = cursor == null || cursor.isBlank() ? null : TaskCursor.decode(cursor);
+        // Fetch one extra task to learn whether another page exists without a count query.
+        List<TaskResponse> tasks = taskStore.findPage(completed, after, pageSize + 1);
+
+        boolean hasMore = tasks.size() > pageSize;
+        List<TaskResponse> page = hasMore ? tasks.subList(0, pageSize) : tasks;
+        String nextCursor = null;
+        if (hasMore) {
+            TaskResponse last = page.get(page.size() - 1);
+            nextCursor = new TaskCursor(last.createdAt(), last.id()).encode();
+        }
+
+        return TaskPageResponse.builder()
+                .tasks(page)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskPageResponse searchTasks(String query, String cursor, Boolean completed, int size) {
+        if (query == null || query.isBlank()) {
+            throw new InvalidSearchQueryException("Search query must not be blank");
+        }
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        log.debug("Searching tasks (query: {}, cursor: {}, completed: {}, size: {})", query, cursor, completed, pageSize);
+
+        SearchCursor after = cursor == null || cursor.isBlank() ? null : SearchCursor.decode(cursor);
+        List<TaskSearchHit> hits = taskSearchIndex.search(query.trim(), completed, after, pageSize + 1);
+
+        boolean hasMore = hits.size() > pageSize;
+        List<TaskSearchHit> page = hasMore ? hits.subList(0, pageSize) : hits;
+        String nextCursor = null;
+        if (hasMore) {
+            TaskSearchHit last = page.get(page.size() - 1);
+            nextCursor = new SearchCursor(last.score(), last.id()).encode();
+        }
+
+        Map<Long, TaskResponse> tasks = page.isEmpty()
+                ? Map.of()
+                : taskStore.findByIdIn(page.stream().map(TaskSearchHit::id).toList()).stream()
+                        .collect(Collectors.toMap(TaskResponse::id, Function.identity()));
+
+        // Keep the index's ranking; drop hits the index knows about but the store no longer
+        // matches, e.g. a completion committed after the index was read.
+        List<TaskResponse> responses = new ArrayList<>(page.size());
+        for (TaskSearchHit hit : page) {
+            TaskResponse task = tasks.get(hit.id());
+            if (task != null && (completed == null || completed.equals(task.completed()))) {
+                responses.add(task);
+            }
+        }
+
+        return TaskPageResponse.builder()
+                .tasks(responses)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * Streams every task, oldest id first, to {@code out} in {@code format}. The store hands the
+     * tasks over as they are written, so memory stays flat however many tasks there are.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long exportTasks(TaskExportFormat format, Boolean completed, OutputStream out) {
+        if (!exportPermits.tryAcquire()) {
+            throw new ServiceOverloadedException("Too many exports in progress, please retry shortly");
+        }
+        log.debug("Exporting tasks as {} (completed: {})", format, completed);
+
+        long exported = 0;
+        try (Stream<TaskResponse> tasks = taskStore.streamInIdOrder(completed);
+             TaskExportWriter writer = TaskExportWriter.create(format, objectMapper, out)) {
+            Iterator<TaskResponse> rows = tasks.iterator();
+            while (rows.hasNext()) {
+                writer.write(rows.next());
+                exported++;
+            }
+        } catch (IOException e) {
+            // Usually the client going away mid-download; nothing more can be sent to it.
+            log.warn("Task export aborted after {} tasks: {}", exported, e.getMessage());
+            throw new UncheckedIOException(e);
+        } finally {
+            exportPermits.release();
+        }
+
+        requestLog.info("Exported {} tasks", exported);
+        return exported;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskStatsResponse getStats(TaskStatsGranularity granularity, LocalDateTime from, LocalDateTime to) {
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = granularity.bucketStart(from != null ? from : end.minus(granularity.defaultRange()));
+        if (!start.isBefore(end)) {
+            throw new InvalidStatsQueryException("Stats range start must be before its end");
+        }
+        if (granularity.bucketsBetween(start, end) > MAX_STATS_BUCKETS) {
+            throw new InvalidStatsQueryException("Stats range spans more than " + MAX_STATS_BUCKETS + " "
+                    + granularity.name().toLowerCase(Locale.ROOT) + " buckets");
+        }
+        log.debug("Fetching {} task stats from {} to {}", granularity, start, end);
+
+        return taskStore.queryStats(granularity, start, end);
+    }
+}
@@ -0,0 +1,258 @@
+package com.todo.todo_backend.sse;
+
+import com.todo.todo_backend.event.TaskEvent;
+import com.todo.todo_backend.event.TaskEventType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fans committed task events out to Server-Sent Events subscribers.
+ * <p>
+ * Every event gets a monotonically increasing id and is kept in a bounded replay buffer so a
+ * reconnecting client can resume from its {@code Last-Event-ID}. Ids are {@code epoch-sequence},
+ * with an epoch drawn per process, so an id issued by an earlier run or by another instance is
+ * never mistaken for one of this process's. Each subscriber has its own
+ * bounded queue drained by a small shared dispatcher pool; idle subscribers hold no thread.
+ * A subscriber whose queue overflows is disconnected rather than allowed to hold events back
+ * for everyone else, and can resume from the replay buffer when it reconnects.
+ */
+@Slf4j
+@Component
+@Profile("!reactive")
+public class TaskEventBroadcaster implements DisposableBean {
+
+    private static final String RESET_EVENT = "reset";
+
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+
+    private final int bufferSize;
+    private final int replaySize;
+    private final long timeoutMillis;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock publishLock = new ReentrantLock();
+    private final StreamEvent[] replay;
+    private long lastEventId;
+
+    private final ExecutorService dispatcher;
+    private final ScheduledExecutorService heartbeat;
+
+    public TaskEventBroadcaster(@Value("${todo.stream.buffer-size:256}") int bufferSize,
+                                @Value("${todo.stream.replay-size:1024}") int replaySize,
+                                @Value("${todo.stream.timeout:30m}") Duration timeout,
+                                @Value("${todo.stream.heartbeat-interval:30s}") Duration heartbeatInterval,
+                                @Value("${todo.stream.dispatch-threads:4}") int dispatchThreads) {
+        this.bufferSize = bufferSize;
+        this.replaySize = replaySize;
+        this.timeoutMillis = timeout.toMillis();
+        this.replay = new StreamEvent[replaySize];
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.dispatcher = Executors.newFixedThreadPool(dispatchThreads, runnable -> {
+            Thread thread = new Thread(runnable, "task-stream-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-stream-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long heartbeatMillis = heartbeatInterval.toMillis();
+        heartbeat.scheduleAtFixedRate(this::sendHeartbeats, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Registers a new subscriber, replaying everything after {@code lastEventId} when the replay
+     * buffer still covers it, or sending a {@code reset} event telling the client to refetch.
+     * An id from another epoch, one that does not parse, or one ahead of this process's also
+     * triggers a reset.
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, bufferSize);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+
+        publishLock.lock();
+        try {
+            if (lastEventId != null) {
+                long seen = sequenceOf(lastEventId);
+                long missed = this.lastEventId - seen;
+                if (seen < 0 || missed < 0 || missed > Math.min(replaySize, bufferSize)) {
+                    subscriber.queue.offer(reset(this.lastEventId));
+                } else {
+                    for (long id = seen + 1; id <= this.lastEventId; id++) {
+                        subscriber.queue.offer(replay[slot(id)]);
+                    }
+                }
+            }
+            // Registered under the publish lock so no event can fall between replay and live.
+            subscribers.add(subscriber);
+        } finally {
+            publishLock.unlock();
+        }
+
+        schedule(subscriber);
+        log.debug("Task stream subscriber added ({} active)", subscribers.size());
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskEvent(TaskEvent event) {
+        // Archiving moves old completed tasks in bulk; streaming each one would only flood
+        // subscribers with tasks they saw completed long ago.
+        if (event.type() == TaskEventType.ARCHIVED) {
+            return;
+        }
+        List<Subscriber> overflowed = new ArrayList<>();
+        publishLock.lock();
+        try {
+            lastEventId++;
+            StreamEvent streamEvent = new StreamEvent(eventId(lastEventId), event.type().name().toLowerCase(Locale.ROOT), event.task());
+            replay[slot(lastEventId)] = streamEvent;
+            // Queued under the lock that assigned the id, so every subscriber receives events in
+            // id order; a client resuming from the last id it saw cannot have skipped one.
+            for (Subscriber subscriber : subscribers) {
+                if (!subscriber.queue.offer(streamEvent)) {
+                    // Removed before the next event is queued, so it cannot be sent a later id
+                    // than the one it missed.
+                    subscribers.remove(subscriber);
+                    overflowed.add(subscriber);
+                }
+            }
+        } finally {
+            publishLock.unlock();
+        }
+
+        for (Subscriber subscriber : overflowed) {
+            log.warn("Dropping slow task stream subscriber after {} undelivered events", bufferSize);
+            close(subscriber);
+        }
+        subscribers.forEach(this::schedule);
+    }
+
+    private String eventId(long sequence) {
+        return epoch + "-" + sequence;
+    }
+
+    /** Returns the sequence of an id this process issued, or -1 for any other id. */
+    private long sequenceOf(String eventId) {
+        int separator = eventId.lastIndexOf('-');
+        if (separator < 0 || !eventId.substring(0, separator).equals(epoch)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(eventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private StreamEvent reset(long sequence) {
+        return new StreamEvent(eventId(sequence), RESET_EVENT, "");
+    }
+
+    private int slot(long eventId) {
+        return (int) (eventId % replaySize);
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (!subscriber.queue.isEmpty() && subscriber.draining.compareAndSet(false, true)) {
+            dispatcher.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            StreamEvent event;
+            while ((event = subscriber.queue.poll()) != null) {
+                subscriber.emitter.send(event.toSse());
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Task stream subscriber disconnected: {}", e.getMessage());
+            disconnect(subscriber);
+            return;
+        } finally {
+            subscriber.draining.set(false);
+        }
+        // An event may have been queued after the last poll but before the flag was cleared.
+        schedule(subscriber);
+    }
+
+    private void sendHeartbeats() {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.queue.isEmpty() && !subscriber.draining.get()) {
+                try {
+                    subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+                } catch (IOException | IllegalStateException e) {
+                    disconnect(subscriber);
+                }
+            }
+        }
+    }
+
+    private void disconnect(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            close(subscriber);
+        }
+    }
+
+    private static void close(Subscriber subscriber) {
+        subscriber.queue.clear();
+        subscriber.emitter.complete();
+    }
+
+    @Override
+    public void destroy() {
+        heartbeat.shutdownNow();
+        dispatcher.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final Queue<StreamEvent> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Subscriber(SseEmitter emitter, int bufferSize) {
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(bufferSize);
+        }
+    }
+
+    private record StreamEvent(String id, String name, Object data) {
+        SseEmitter.SseEventBuilder toSse() {
+            return SseEmitter.event()
+                    .id(id)
+                    .name(name)
+                    .data(data, MediaType.APPLICATION_JSON);
+        }
+    }
+}
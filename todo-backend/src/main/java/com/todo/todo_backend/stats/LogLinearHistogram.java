@@ -0,0 +1,100 @@
+package com.todo.todo_backend.stats;
+
+/**
+ * Bucket layout and helpers for histograms of non-negative {@code long} values, kept as plain
+ * arrays of counts so they merge by adding them element-wise.
+ * <p>
+ * Values below 16 get a bucket each; above that every power of two is split into 16 equal
+ * buckets, so any recorded value is reported to within 1/16 (6.25%) whatever its magnitude.
+ * The full {@code long} range fits in {@value #BUCKETS} buckets, and the serialized form only
+ * lists the non-empty ones.
+ */
+final class LogLinearHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    static final int BUCKETS = SUB_BUCKETS + (Long.SIZE - 1 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private LogLinearHistogram() {
+    }
+
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) Math.max(value, 0);
+        }
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return SUB_BUCKETS + (exponent - SUB_BUCKET_BITS) * SUB_BUCKETS + subBucket;
+    }
+
+    /** The middle of the range of values that fall into {@code bucket}. */
+    static long valueAt(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = (bucket - SUB_BUCKETS) / SUB_BUCKETS;
+        long lower = (long) (SUB_BUCKETS + (bucket - SUB_BUCKETS) % SUB_BUCKETS) << shift;
+        return lower + ((1L << shift) >>> 1);
+    }
+
+    static long count(long[] counts) {
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * @return the estimated {@code quantile} (0 to 1) of the recorded values, or {@code null}
+     *         if nothing was recorded
+     */
+    static Long quantile(long[] counts, double quantile) {
+        long total = count(counts);
+        if (total == 0) {
+            return null;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            seen += counts[bucket];
+            if (seen >= rank) {
+                return valueAt(bucket);
+            }
+        }
+        return valueAt(counts.length - 1);
+    }
+
+    static void merge(long[] into, long[] from) {
+        for (int bucket = 0; bucket < into.length; bucket++) {
+            into[bucket] += from[bucket];
+        }
+    }
+
+    /** Encodes the non-empty buckets as {@code bucket:count} pairs separated by commas. */
+    static String encode(long[] counts) {
+        StringBuilder encoded = new StringBuilder();
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            if (counts[bucket] != 0) {
+                if (!encoded.isEmpty()) {
+                    encoded.append(',');
+                }
+                encoded.append(bucket).append(':').append(counts[bucket]);
+            }
+        }
+        return encoded.toString();
+    }
+
+    static long[] decode(String encoded) {
+        long[] counts = new long[BUCKETS];
+        if (encoded == null || encoded.isEmpty()) {
+            return counts;
+        }
+        for (String pair : encoded.split(",")) {
+            int colon = pair.indexOf(':');
+            counts[Integer.parseInt(pair, 0, colon, 10)] += Long.parseLong(pair, colon + 1, pair.length(), 10);
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,20 @@
+package com.todo.todo_backend.stats;
+
+import java.time.LocalDateTime;
+
+/**
+ * Counts for one minute or hour: tasks created and completed in it, and the time-to-complete
+ * histogram (in milliseconds, laid out by {@link LogLinearHistogram}) of those completed.
+ */
+record Rollup(
+        LocalDateTime start,
+        long created,
+        long completed,
+        long[] timeToComplete
+) {
+    Rollup mergedWith(Rollup other) {
+        long[] merged = timeToComplete.clone();
+        LogLinearHistogram.merge(merged, other.timeToComplete);
+        return new Rollup(start, created + other.created, completed + other.completed, merged);
+    }
+}
@@ -0,0 +1,174 @@
+package com.todo.todo_backend.stats;
+
+import com.todo.todo_backend.dto.TaskResponse;
+import com.todo.todo_backend.event.TaskEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts committed task events into per-minute buckets in memory and periodically adds them to
+ * the rollup tables through {@link TaskStatsStore}.
+ * <p>
+ * Recording never takes a lock: the counters are {@link LongAdder}s, which spread concurrent
+ * increments over separate cells, and each histogram bucket is its own atomic slot. A flush
+ * drains the counts with get-and-reset, so an increment racing with it is carried by the next
+ * flush rather than lost. If the write fails the drained counts are put back and retried on the
+ * next flush.
+ */
+@Slf4j
+@Component
+@Profile("!reactive & !embedded")
+public class TaskStatsRecorder implements AutoCloseable {
+
+    // Late events (a commit that straddles a minute) still find their bucket for this long.
+    private static final Duration RETAIN_IDLE_BUCKETS = Duration.ofMinutes(2);
+
+    private final TaskStatsStore store;
+    private final ConcurrentMap<LocalDateTime, MinuteBucket> buckets = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flusher;
+
+    public TaskStatsRecorder(TaskStatsStore store,
+                             @Value("${todo.stats.flush-interval:10s}") Duration flushInterval) {
+        this.store = store;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-stats-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = flushInterval.toMillis();
+        flusher.scheduleWithFixedDelay(this::flushQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskEvent(TaskEvent event) {
+        TaskResponse task = event.task();
+        switch (event.type()) {
+            case CREATED -> bucketAt(task.createdAt()).created.increment();
+            case COMPLETED -> {
+                MinuteBucket bucket = bucketAt(task.completedAt());
+                bucket.completed.increment();
+                if (task.createdAt() != null && task.completedAt() != null) {
+                    long millis = Duration.between(task.createdAt(), task.completedAt()).toMillis();
+                    bucket.timeToComplete.incrementAndGet(LogLinearHistogram.bucketOf(millis));
+                }
+            }
+            case ARCHIVED -> {
+            }
+        }
+    }
+
+    private MinuteBucket bucketAt(LocalDateTime time) {
+        LocalDateTime minute = (time != null ? time : LocalDateTime.now()).withSecond(0).withNano(0);
+        return buckets.computeIfAbsent(minute, MinuteBucket::new);
+    }
+
+    /**
+     * Writes everything counted so far to the rollup tables. Runs on the flush thread; callable
+     * directly so tests do not have to wait for it.
+     */
+    public synchronized void flush() {
+        LocalDateTime idleBefore = LocalDateTime.now().minus(RETAIN_IDLE_BUCKETS);
+        List<Rollup> drained = new ArrayList<>();
+        Iterator<Map.Entry<LocalDateTime, MinuteBucket>> entries = buckets.entrySet().iterator();
+        while (entries.hasNext()) {
+            MinuteBucket bucket = entries.next().getValue();
+            // Unlink old buckets before draining them, so nothing is added after the drain.
+            if (bucket.start.isBefore(idleBefore)) {
+                entries.remove();
+            }
+            Rollup rollup = bucket.drain();
+            if (rollup != null) {
+                drained.add(rollup);
+            }
+        }
+        if (drained.isEmpty()) {
+            return;
+        }
+
+        try {
+            store.add(drained);
+            log.debug("Flushed task stats for {} minutes", drained.size());
+        } catch (RuntimeException e) {
+            drained.forEach(rollup -> buckets.computeIfAbsent(rollup.start(), MinuteBucket::new).restore(rollup));
+            throw e;
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Failed to flush task stats, retrying on the next flush: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        flusher.shutdownNow();
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Failed to flush task stats on shutdown: {}", e.getMessage());
+        }
+    }
+
+    private static final class MinuteBucket {
+
+        private final LocalDateTime start;
+        private final LongAdder created = new LongAdder();
+        private final LongAdder completed = new LongAdder();
+        private final AtomicLongArray timeToComplete = new AtomicLongArray(LogLinearHistogram.BUCKETS);
+
+        private MinuteBucket(LocalDateTime start) {
+            this.start = start;
+        }
+
+        /** @return the counts since the last drain, or {@code null} if there were none */
+        Rollup drain() {
+            long createdCount = created.sumThenReset();
+            long completedCount = completed.sumThenReset();
+            // Scanned even when no completions were counted: a completion's histogram slot is
+            // incremented after its counter, so it can land on either side of a drain.
+            long[] histogram = new long[LogLinearHistogram.BUCKETS];
+            boolean recorded = createdCount != 0 || completedCount != 0;
+            for (int i = 0; i < histogram.length; i++) {
+                if (timeToComplete.get(i) != 0) {
+                    histogram[i] = timeToComplete.getAndSet(i, 0);
+                    recorded = true;
+                }
+            }
+            if (!recorded) {
+                return null;
+            }
+            return new Rollup(start, createdCount, completedCount, histogram);
+        }
+
+        void restore(Rollup rollup) {
+            created.add(rollup.created());
+            completed.add(rollup.completed());
+            long[] histogram = rollup.timeToComplete();
+            for (int i = 0; i < histogram.length; i++) {
+                if (histogram[i] != 0) {
+                    timeToComplete.addAndGet(i, histogram[i]);
+                }
+            }
+        }
+    }
+}
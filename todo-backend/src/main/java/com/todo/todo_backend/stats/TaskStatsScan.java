@@ -0,0 +1,68 @@
+package com.todo.todo_backend.stats;
+
+import com.todo.todo_backend.dto.TaskResponse;
+import com.todo.todo_backend.dto.TaskStatsGranularity;
+import com.todo.todo_backend.dto.TaskStatsResponse;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Task stats counted straight from the tasks rather than from the rollup tables, for stores
+ * small enough to scan on every query. Feed it every task with {@link #add}; the response has
+ * the same shape and bucketing as {@link TaskStatsStore#query}.
+ */
+public final class TaskStatsScan {
+
+    private final TaskStatsGranularity granularity;
+    private final LocalDateTime from;
+    private final LocalDateTime to;
+    private final Map<LocalDateTime, Bucket> buckets = new TreeMap<>();
+
+    /**
+     * @param from start of the first bucket, inclusive
+     * @param to   end of the range, exclusive
+     */
+    public TaskStatsScan(TaskStatsGranularity granularity, LocalDateTime from, LocalDateTime to) {
+        this.granularity = granularity;
+        this.from = from;
+        this.to = to;
+    }
+
+    public void add(TaskResponse task) {
+        if (inRange(task.createdAt())) {
+            bucketAt(task.createdAt()).created++;
+        }
+        if (task.completedAt() != null && inRange(task.completedAt())) {
+            Bucket bucket = bucketAt(task.completedAt());
+            bucket.completed++;
+            long millis = Duration.between(task.createdAt(), task.completedAt()).toMillis();
+            bucket.timeToComplete[LogLinearHistogram.bucketOf(millis)]++;
+        }
+    }
+
+    public TaskStatsResponse toResponse(long backlog) {
+        List<Rollup> rollups = new ArrayList<>(buckets.size());
+        buckets.forEach((start, bucket) ->
+                rollups.add(new Rollup(start, bucket.created, bucket.completed, bucket.timeToComplete)));
+        return TaskStatsStore.toResponse(granularity, from, to, backlog, rollups);
+    }
+
+    private boolean inRange(LocalDateTime time) {
+        return !time.isBefore(from) && time.isBefore(to);
+    }
+
+    private Bucket bucketAt(LocalDateTime time) {
+        return buckets.computeIfAbsent(granularity.bucketStart(time), start -> new Bucket());
+    }
+
+    private static final class Bucket {
+        private long created;
+        private long completed;
+        private final long[] timeToComplete = new long[LogLinearHistogram.BUCKETS];
+    }
+}
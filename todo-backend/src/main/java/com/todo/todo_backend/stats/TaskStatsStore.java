@@ -0,0 +1,160 @@
+package com.todo.todo_backend.stats;
+
+import com.todo.todo_backend.dto.TaskStatsBucket;
+import com.todo.todo_backend.dto.TaskStatsGranularity;
+import com.todo.todo_backend.dto.TaskStatsResponse;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Reads and writes the {@code task_stats_rollup} and {@code task_stats_total} tables. A query
+ * reads one row per minute or hour in the range, so its cost depends on the range asked for
+ * and not on how many tasks there are.
+ */
+@Component
+@Profile("!reactive & !embedded")
+public class TaskStatsStore {
+
+    private static final int TOTAL_ID = 1;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final String insertMissingRollup;
+
+    public TaskStatsStore(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        String database = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        // MERGE is no use on PostgreSQL: two of them inserting the same key still collide there.
+        this.insertMissingRollup = "PostgreSQL".equals(database)
+                ? """
+                        INSERT INTO task_stats_rollup (granularity, bucket_start, created, completed, time_to_complete)
+                        VALUES (?, ?, 0, 0, '')
+                        ON CONFLICT (granularity, bucket_start) DO NOTHING"""
+                : """
+                        MERGE INTO task_stats_rollup r
+                        USING (VALUES (CAST(? AS VARCHAR(8)), CAST(? AS TIMESTAMP(6)))) b (granularity, bucket_start)
+                        ON r.granularity = b.granularity AND r.bucket_start = b.bucket_start
+                        WHEN NOT MATCHED THEN
+                            INSERT (granularity, bucket_start, created, completed, time_to_complete)
+                            VALUES (b.granularity, b.bucket_start, 0, 0, '')""";
+    }
+
+    /**
+     * Adds per-minute counts to the minute rows, the hour rows containing them and the totals,
+     * all in one transaction. A missing row is first inserted empty by a statement that gives
+     * way to a concurrent insert of the same row, so there is always a row to lock. Rows are
+     * locked in key order, so instances flushing the same buckets at the same time wait for
+     * each other instead of deadlocking or failing on a duplicate key.
+     */
+    void add(Collection<Rollup> minutes) {
+        Map<LocalDateTime, Rollup> byMinute = new TreeMap<>();
+        Map<LocalDateTime, Rollup> byHour = new TreeMap<>();
+        long created = 0;
+        long completed = 0;
+        for (Rollup minute : minutes) {
+            byMinute.merge(minute.start(), minute, Rollup::mergedWith);
+            LocalDateTime hour = TaskStatsGranularity.HOUR.bucketStart(minute.start());
+            byHour.merge(hour, new Rollup(hour, minute.created(), minute.completed(), minute.timeToComplete()),
+                    Rollup::mergedWith);
+            created += minute.created();
+            completed += minute.completed();
+        }
+
+        long createdTotal = created;
+        long completedTotal = completed;
+        transactionTemplate.executeWithoutResult(status -> {
+            byMinute.values().forEach(rollup -> merge(TaskStatsGranularity.MINUTE, rollup));
+            byHour.values().forEach(rollup -> merge(TaskStatsGranularity.HOUR, rollup));
+            jdbcTemplate.update("UPDATE task_stats_total SET created = created + ?, completed = completed + ? WHERE id = ?",
+                    createdTotal, completedTotal, TOTAL_ID);
+        });
+    }
+
+    private void merge(TaskStatsGranularity granularity, Rollup rollup) {
+        Timestamp start = Timestamp.valueOf(rollup.start());
+        jdbcTemplate.update(insertMissingRollup, granularity.name(), start);
+        Rollup existing = jdbcTemplate.queryForObject("""
+                        SELECT bucket_start, created, completed, time_to_complete FROM task_stats_rollup
+                        WHERE granularity = ? AND bucket_start = ? FOR UPDATE""",
+                (rs, rowNum) -> mapRollup(rs.getTimestamp(1), rs.getLong(2), rs.getLong(3), rs.getString(4)),
+                granularity.name(), start);
+
+        Rollup merged = existing.mergedWith(rollup);
+        jdbcTemplate.update("""
+                        UPDATE task_stats_rollup SET created = ?, completed = ?, time_to_complete = ?
+                        WHERE granularity = ? AND bucket_start = ?""",
+                merged.created(), merged.completed(), LogLinearHistogram.encode(merged.timeToComplete()),
+                granularity.name(), start);
+    }
+
+    /**
+     * @param from start of the first bucket, inclusive
+     * @param to   end of the range, exclusive
+     */
+    public TaskStatsResponse query(TaskStatsGranularity granularity, LocalDateTime from, LocalDateTime to) {
+        List<Rollup> rollups = jdbcTemplate.query("""
+                        SELECT bucket_start, created, completed, time_to_complete FROM task_stats_rollup
+                        WHERE granularity = ? AND bucket_start >= ? AND bucket_start < ?
+                        ORDER BY bucket_start""",
+                (rs, rowNum) -> mapRollup(rs.getTimestamp(1), rs.getLong(2), rs.getLong(3), rs.getString(4)),
+                granularity.name(), Timestamp.valueOf(from), Timestamp.valueOf(to));
+
+        return toResponse(granularity, from, to, backlog(), rollups);
+    }
+
+    /** Builds the response for {@code rollups}, which are in bucket order. */
+    static TaskStatsResponse toResponse(TaskStatsGranularity granularity, LocalDateTime from, LocalDateTime to,
+                                        long backlog, Collection<Rollup> rollups) {
+        long created = 0;
+        long completed = 0;
+        long[] timeToComplete = new long[LogLinearHistogram.BUCKETS];
+        List<TaskStatsBucket> buckets = new ArrayList<>(rollups.size());
+        for (Rollup rollup : rollups) {
+            created += rollup.created();
+            completed += rollup.completed();
+            LogLinearHistogram.merge(timeToComplete, rollup.timeToComplete());
+            buckets.add(TaskStatsBucket.builder()
+                    .start(rollup.start())
+                    .created(rollup.created())
+                    .completed(rollup.completed())
+                    .medianTimeToCompleteMillis(LogLinearHistogram.quantile(rollup.timeToComplete(), 0.5))
+                    .build());
+        }
+
+        return TaskStatsResponse.builder()
+                .granularity(granularity)
+                .from(from)
+                .to(to)
+                .backlog(backlog)
+                .created(created)
+                .completed(completed)
+                .medianTimeToCompleteMillis(LogLinearHistogram.quantile(timeToComplete, 0.5))
+                .p90TimeToCompleteMillis(LogLinearHistogram.quantile(timeToComplete, 0.9))
+                .buckets(buckets)
+                .build();
+    }
+
+    /** Tasks created but not yet completed, as of the last flush. */
+    long backlog() {
+        Long backlog = jdbcTemplate.queryForObject(
+                "SELECT created - completed FROM task_stats_total WHERE id = ?", Long.class, TOTAL_ID);
+        return backlog == null ? 0 : backlog;
+    }
+
+    private static Rollup mapRollup(Timestamp start, long created, long completed, String timeToComplete) {
+        return new Rollup(start.toLocalDateTime(), created, completed, LogLinearHistogram.decode(timeToComplete));
+    }
+}
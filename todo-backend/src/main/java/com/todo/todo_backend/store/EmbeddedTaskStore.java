@@ -0,0 +1,417 @@
+package com.todo.todo_backend.store;
+
+import com.todo.todo_backend.dto.TaskRequest;
+import com.todo.todo_backend.dto.TaskResponse;
+import com.todo.todo_backend.dto.TaskStatsGranularity;
+import com.todo.todo_backend.dto.TaskStatsResponse;
+import com.todo.todo_backend.pagination.TaskCursor;
+import com.todo.todo_backend.repository.TaskCounter;
+import com.todo.todo_backend.repository.TaskStore;
+import com.todo.todo_backend.stats.TaskStatsScan;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.StampedLock;
+import java.util.stream.Stream;
+
+/**
+ * In-process task storage for the {@code embedded} profile, which runs the task API without a
+ * database. Nothing is ever archived out of it, and stats are counted from the tasks on each
+ * query rather than read from rollups.
+ * <p>
+ * Tasks are held as compact records in a map keyed by primitive id, and indexed by two skip
+ * lists in the {@code (created_at DESC, id DESC)} order of the API: one of open tasks, one of
+ * completed ones. Writers take a {@link StampedLock}; reads by id are optimistic and normally
+ * take no lock at all. A page of only open or only completed tasks reads its skip list without
+ * locking, since a task enters or leaves one list in a single step. A page over both takes the
+ * read lock, so a completion moving a task between them is never seen half-done.
+ * <p>
+ * Ids and creation times are assigned together under the write lock, with creation times never
+ * going backwards, so creation order is id order.
+ * <p>
+ * With {@code todo.embedded-store.directory} set, every write is appended to a log in that
+ * directory before it becomes visible, and the log is folded into a snapshot once it outgrows
+ * {@code todo.embedded-store.compact-after}; see {@link TaskStoreJournal}. Left blank, the store
+ * lives in memory only.
+ */
+@Slf4j
+@Component
+@Profile("embedded")
+public class EmbeddedTaskStore implements TaskStore, TaskCounter, AutoCloseable {
+
+    private final StampedLock lock = new StampedLock();
+    private final LongObjectMap<StoredTask> tasks = new LongObjectMap<>();
+    private final NavigableSet<StoredTask> open = new ConcurrentSkipListSet<>(StoredTask.NEWEST_FIRST);
+    private final NavigableSet<StoredTask> completed = new ConcurrentSkipListSet<>(StoredTask.NEWEST_FIRST);
+    private final TaskStoreJournal journal;
+    private final long compactAfterBytes;
+    private final ScheduledExecutorService compactor;
+    private final AtomicBoolean compactionScheduled = new AtomicBoolean();
+
+    // Guarded by the write lock; the counts are read without it.
+    private long lastId;
+    private long lastCreatedMicros;
+    private volatile long openCount;
+    private volatile long completedCount;
+
+    public EmbeddedTaskStore(@Value("${todo.embedded-store.directory:}") String directory,
+                             @Value("${todo.embedded-store.fsync-interval:1s}") Duration fsyncInterval,
+                             @Value("${todo.embedded-store.compact-after:64MB}") DataSize compactAfter) {
+        this.compactAfterBytes = compactAfter.toBytes();
+        if (directory == null || directory.isBlank()) {
+            this.journal = null;
+            this.compactor = null;
+            log.info("Embedded task store running in memory only");
+            return;
+        }
+
+        this.journal = new TaskStoreJournal(Path.of(directory), fsyncInterval);
+        journal.load(tasks);
+        tasks.forEachValue(this::index);
+        if (journal.logBytes() > 0) {
+            // Start from a fresh snapshot so the next restart does not replay this log again.
+            journal.snapshot(tasks);
+        }
+        this.compactor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-store-compact");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public TaskResponse create(TaskRequest request) {
+        return createAll(List.of(request)).get(0);
+    }
+
+    /**
+     * Stores every request as a new open task, as one write: either all of them are logged and
+     * visible, or none is.
+     */
+    @Override
+    public List<TaskResponse> createAll(List<TaskRequest> requests) {
+        List<StoredTask> created = new ArrayList<>(requests.size());
+        long stamp = lock.writeLock();
+        try {
+            long now = StoredTask.toMicros(LocalDateTime.now());
+            long createdAt = Math.max(now, lastCreatedMicros);
+            long id = lastId;
+            for (TaskRequest request : requests) {
+                created.add(new StoredTask(++id, request.title(), request.description(), createdAt, StoredTask.OPEN));
+            }
+            if (journal != null) {
+                journal.appendPut(created);
+            }
+            lastId = id;
+            lastCreatedMicros = createdAt;
+            created.forEach(task -> {
+                tasks.put(task.id(), task);
+                index(task);
+            });
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        compactIfNeeded();
+        return created.stream().map(StoredTask::toResponse).toList();
+    }
+
+    @Override
+    public Optional<TaskResponse> findById(long id) {
+        return Optional.ofNullable(get(id)).map(StoredTask::toResponse);
+    }
+
+    @Override
+    public List<TaskResponse> findByIdIn(Collection<Long> ids) {
+        List<TaskResponse> found = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            StoredTask task = get(id);
+            if (task != null) {
+                found.add(task.toResponse());
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public List<Long> findIdsByIdIn(Collection<Long> ids) {
+        return ids.stream().filter(id -> get(id) != null).toList();
+    }
+
+    /**
+     * Completes the tasks among {@code ids} that are still open, stamping them with
+     * {@code completedAt}.
+     *
+     * @return the tasks this call completed; missing and already completed ones are left out
+     */
+    @Override
+    public List<TaskResponse> completeAll(Collection<Long> ids, LocalDateTime completedAt) {
+        long micros = StoredTask.toMicros(completedAt);
+        List<StoredTask> changed = new ArrayList<>();
+        long stamp = lock.writeLock();
+        try {
+            for (Long id : new LinkedHashSet<>(ids)) {
+                StoredTask task = tasks.get(id);
+                if (task != null && !task.completed()) {
+                    changed.add(task.completedAt(micros));
+                }
+            }
+            if (changed.isEmpty()) {
+                return List.of();
+            }
+            if (journal != null) {
+                journal.appendComplete(changed);
+            }
+            for (StoredTask task : changed) {
+                StoredTask previous = tasks.get(task.id());
+                tasks.put(task.id(), task);
+                completed.add(task);
+                open.remove(previous);
+            }
+            openCount -= changed.size();
+            completedCount += changed.size();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        compactIfNeeded();
+        return changed.stream().map(StoredTask::toResponse).toList();
+    }
+
+    /**
+     * Returns up to {@code limit} tasks in {@code (created_at DESC, id DESC)} order, starting
+     * after {@code after} when given, and only those with the given completion state unless
+     * {@code completed} is {@code null}.
+     */
+    @Override
+    public List<TaskResponse> findPage(Boolean completed, TaskCursor after, int limit) {
+        if (completed != null) {
+            return page(tailOf(completed ? this.completed : open, after).iterator(), limit);
+        }
+        long stamp = lock.readLock();
+        try {
+            return page(new MergingIterator(tailOf(open, after).iterator(), tailOf(this.completed, after).iterator(),
+                    StoredTask.NEWEST_FIRST), limit);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Returns the tasks oldest id first, only those with the given completion state unless
+     * {@code completed} is {@code null}. The stream is a consistent snapshot: the matching
+     * records are collected under the read lock, which only holds writes back for the length of
+     * that copy, and turned into responses as the stream is consumed.
+     */
+    @Override
+    public Stream<TaskResponse> streamInIdOrder(Boolean completed) {
+        List<StoredTask> snapshot;
+        long stamp = lock.readLock();
+        try {
+            Iterator<StoredTask> oldestFirst;
+            if (completed == null) {
+                oldestFirst = new MergingIterator(open.descendingIterator(), this.completed.descendingIterator(),
+                        StoredTask.NEWEST_FIRST.reversed());
+                snapshot = new ArrayList<>(tasks.size());
+            } else {
+                oldestFirst = (completed ? this.completed : open).descendingIterator();
+                snapshot = new ArrayList<>((int) countByCompleted(completed));
+            }
+            oldestFirst.forEachRemaining(snapshot::add);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+        return snapshot.stream().map(StoredTask::toResponse);
+    }
+
+    @Override
+    public List<TaskResponse> findRecentOpen(int limit) {
+        return findPage(false, null, limit);
+    }
+
+    @Override
+    public Optional<TaskResponse> findArchivedById(long id) {
+        return Optional.empty();
+    }
+
+    /** Counts every task on each call; fine at the sizes an in-process store holds. */
+    @Override
+    public TaskStatsResponse queryStats(TaskStatsGranularity granularity, LocalDateTime from, LocalDateTime to) {
+        TaskStatsScan scan = new TaskStatsScan(granularity, from, to);
+        try (Stream<TaskResponse> all = streamInIdOrder(null)) {
+            all.forEach(scan::add);
+        }
+        return scan.toResponse(countByCompleted(false));
+    }
+
+    @Override
+    public long countByCompleted(Boolean completed) {
+        return completed ? completedCount : openCount;
+    }
+
+    /** Removes every task. Ids keep counting up from where they were. */
+    public void deleteAll() {
+        long stamp = lock.writeLock();
+        try {
+            if (journal != null) {
+                journal.appendClear();
+            }
+            tasks.clear();
+            open.clear();
+            completed.clear();
+            openCount = 0;
+            completedCount = 0;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Folds the log into a new snapshot. Runs on the compaction thread once the log outgrows
+     * its limit; callable directly so tests do not have to wait for it.
+     */
+    public void compact() {
+        if (journal == null) {
+            return;
+        }
+        // The read lock keeps writers out, so the snapshot covers everything in the log.
+        long stamp = lock.readLock();
+        try {
+            long logBytes = journal.logBytes();
+            journal.snapshot(tasks);
+            log.info("Compacted {} log bytes into a snapshot of {} tasks", logBytes, tasks.size());
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (journal == null) {
+            return;
+        }
+        compactor.shutdownNow();
+        long stamp = lock.writeLock();
+        try {
+            journal.close();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private StoredTask get(long id) {
+        long stamp = lock.tryOptimisticRead();
+        StoredTask task = tasks.get(id);
+        if (lock.validate(stamp)) {
+            return task;
+        }
+        stamp = lock.readLock();
+        try {
+            return tasks.get(id);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // Guarded by the write lock, or run before the store is shared.
+    private void index(StoredTask task) {
+        if (task.completed()) {
+            completed.add(task);
+            completedCount++;
+        } else {
+            open.add(task);
+            openCount++;
+        }
+        lastId = Math.max(lastId, task.id());
+        lastCreatedMicros = Math.max(lastCreatedMicros, task.createdAtMicros());
+    }
+
+    private void compactIfNeeded() {
+        if (journal != null && journal.logBytes() >= compactAfterBytes && compactionScheduled.compareAndSet(false, true)) {
+            compactor.execute(() -> {
+                try {
+                    compact();
+                } catch (RuntimeException e) {
+                    log.warn("Task store compaction failed, retrying after the next write: {}", e.getMessage());
+                } finally {
+                    compactionScheduled.set(false);
+                }
+            });
+        }
+    }
+
+    private static NavigableSet<StoredTask> tailOf(NavigableSet<StoredTask> tasks, TaskCursor after) {
+        if (after == null) {
+            return tasks;
+        }
+        // Title and completion play no part in the ordering, so a probe with the cursor's
+        // position finds everything after it.
+        StoredTask position = new StoredTask(after.id(), null, null, StoredTask.toMicros(after.createdAt()), StoredTask.OPEN);
+        return tasks.tailSet(position, false);
+    }
+
+    private static List<TaskResponse> page(Iterator<StoredTask> tasks, int limit) {
+        List<TaskResponse> page = new ArrayList<>(Math.min(limit, 128));
+        while (page.size() < limit && tasks.hasNext()) {
+            page.add(tasks.next().toResponse());
+        }
+        return page;
+    }
+
+    /** Merges two iterators that are each sorted by {@code order}. */
+    private static final class MergingIterator implements Iterator<StoredTask> {
+
+        private final Iterator<StoredTask> left;
+        private final Iterator<StoredTask> right;
+        private final Comparator<StoredTask> order;
+        private StoredTask nextLeft;
+        private StoredTask nextRight;
+
+        private MergingIterator(Iterator<StoredTask> left, Iterator<StoredTask> right,
+                                Comparator<StoredTask> order) {
+            this.left = left;
+            this.right = right;
+            this.order = order;
+            this.nextLeft = left.hasNext() ? left.next() : null;
+            this.nextRight = right.hasNext() ? right.next() : null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextLeft != null || nextRight != null;
+        }
+
+        @Override
+        public StoredTask next() {
+            StoredTask next;
+            if (nextRight == null || (nextLeft != null && order.compare(nextLeft, nextRight) <= 0)) {
+                next = nextLeft;
+                nextLeft = left.hasNext() ? left.next() : null;
+            } else {
+                next = nextRight;
+                nextRight = right.hasNext() ? right.next() : null;
+            }
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            return next;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.todo.todo_backend.store;
+
+import java.util.function.Consumer;
+
+/**
+ * Open-addressing hash map from positive {@code long} keys to values, with linear probing and
+ * no per-entry objects: a key costs eight bytes in one array and its value one reference in
+ * another. Zero marks an empty slot, so zero and negative keys are not allowed, and entries
+ * are never removed individually.
+ * <p>
+ * Not thread-safe. The two arrays are published together as one {@link Table}, so a reader
+ * racing with a writer sees either the old table or the new one, never a mix; it may still
+ * read a stale or missing value, which callers detect with an optimistic read stamp.
+ */
+final class LongObjectMap<V> {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private Table table = new Table(MIN_CAPACITY);
+    private int size;
+
+    V get(long key) {
+        Table current = table;
+        long[] keys = current.keys;
+        int mask = keys.length - 1;
+        for (int slot = index(key, mask), probes = 0; probes < keys.length; slot = (slot + 1) & mask, probes++) {
+            long candidate = keys[slot];
+            if (candidate == key) {
+                @SuppressWarnings("unchecked")
+                V value = (V) current.values[slot];
+                return value;
+            }
+            if (candidate == 0) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    void put(long key, V value) {
+        if (key <= 0) {
+            throw new IllegalArgumentException("Keys must be positive: " + key);
+        }
+        // At most half full, so probe runs stay short.
+        if ((size + 1) * 2 > table.keys.length) {
+            resize(table.keys.length * 2);
+        }
+        if (insert(table, key, value)) {
+            size++;
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        table = new Table(MIN_CAPACITY);
+        size = 0;
+    }
+
+    void forEachValue(Consumer<V> action) {
+        Table current = table;
+        for (int slot = 0; slot < current.keys.length; slot++) {
+            if (current.keys[slot] != 0) {
+                @SuppressWarnings("unchecked")
+                V value = (V) current.values[slot];
+                action.accept(value);
+            }
+        }
+    }
+
+    private void resize(int capacity) {
+        Table old = table;
+        Table resized = new Table(capacity);
+        for (int slot = 0; slot < old.keys.length; slot++) {
+            if (old.keys[slot] != 0) {
+                insert(resized, old.keys[slot], old.values[slot]);
+            }
+        }
+        table = resized;
+    }
+
+    /** @return whether {@code key} was new */
+    private static boolean insert(Table table, long key, Object value) {
+        long[] keys = table.keys;
+        int mask = keys.length - 1;
+        int slot = index(key, mask);
+        while (keys[slot] != 0 && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        boolean added = keys[slot] == 0;
+        // Value first: a reader that finds the key also finds its value.
+        table.values[slot] = value;
+        keys[slot] = key;
+        return added;
+    }
+
+    // Sequential ids would otherwise fill consecutive slots and turn every miss into a long run.
+    private static int index(long key, int mask) {
+        long mixed = key * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32)) & mask;
+    }
+
+    private static final class Table {
+        private final long[] keys;
+        private final Object[] values;
+
+        private Table(int capacity) {
+            this.keys = new long[capacity];
+            this.values = new Object[capacity];
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.todo.todo_backend.store;
+
+import com.todo.todo_backend.dto.TaskResponse;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Comparator;
+
+/**
+ * Compact, immutable form of a task as {@link EmbeddedTaskStore} holds it: timestamps are epoch
+ * microseconds rather than {@link LocalDateTime} objects, and completion is a sentinel time
+ * rather than a separate flag. A completion replaces the record.
+ */
+record StoredTask(
+        long id,
+        String title,
+        String description,
+        long createdAtMicros,
+        long completedAtMicros
+) {
+    static final long OPEN = Long.MIN_VALUE;
+
+    /** The {@code (created_at DESC, id DESC)} ordering of the task API. */
+    static final Comparator<StoredTask> NEWEST_FIRST = Comparator
+            .comparingLong(StoredTask::createdAtMicros)
+            .thenComparingLong(StoredTask::id)
+            .reversed();
+
+    boolean completed() {
+        return completedAtMicros != OPEN;
+    }
+
+    StoredTask completedAt(long micros) {
+        return new StoredTask(id, title, description, createdAtMicros, micros);
+    }
+
+    TaskResponse toResponse() {
+        return TaskResponse.builder()
+                .id(id)
+                .title(title)
+                .description(description)
+                .completed(completed())
+                .createdAt(fromMicros(createdAtMicros))
+                .completedAt(completed() ? fromMicros(completedAtMicros) : null)
+                .build();
+    }
+
+    // Wall-clock fields encoded as if they were UTC, like the ingest log, so no zone rules apply.
+    static long toMicros(LocalDateTime timestamp) {
+        return timestamp.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + timestamp.getNano() / 1_000;
+    }
+
+    static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000),
+                (int) Math.floorMod(micros, 1_000_000) * 1_000, ZoneOffset.UTC);
+    }
+}
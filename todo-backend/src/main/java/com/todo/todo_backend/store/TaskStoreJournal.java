@@ -0,0 +1,345 @@
+package com.todo.todo_backend.store;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Persistence for {@link EmbeddedTaskStore}: a snapshot file holding every task, and an
+ * append-only log of the writes made since it was taken. Both are sequences of records framed
+ * as {@code [length][crc32][payload]}, as in the ingest write-ahead log.
+ * <p>
+ * Loading reads the snapshot and then replays the log over it. Every log record is idempotent
+ * (a task's full state, a completion time, or a clear), so a crash between writing a new
+ * snapshot and emptying the log only replays writes the snapshot already holds. Replay stops at
+ * the first torn or corrupt log record, which is what a crash mid-append leaves, and cuts the
+ * log there. A new snapshot is written to a temporary file and renamed over the old one, so a
+ * crash while writing it leaves the previous snapshot and the full log in place.
+ * <p>
+ * Not thread-safe: the store calls it with its write lock held, or its read lock for snapshots.
+ */
+@Slf4j
+final class TaskStoreJournal implements AutoCloseable {
+
+    private static final String SNAPSHOT = "tasks.snapshot";
+    private static final String LOG = "tasks.log";
+    private static final int HEADER_BYTES = 8;
+    private static final int MAX_RECORD_BYTES = 1 << 20;
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    private static final byte PUT = 0;
+    private static final byte COMPLETE = 1;
+    private static final byte CLEAR = 2;
+
+    private final Path directory;
+    private final long fsyncIntervalMillis;
+    private final CRC32 crc = new CRC32();
+    private ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+    private FileChannel logChannel;
+    private long logBytes;
+    private ScheduledExecutorService flusher;
+
+    TaskStoreJournal(Path directory, Duration fsyncInterval) {
+        this.directory = directory;
+        this.fsyncIntervalMillis = fsyncInterval.toMillis();
+    }
+
+    /**
+     * Loads the snapshot and the log into {@code tasks} and opens the log for appending.
+     */
+    void load(LongObjectMap<StoredTask> tasks) {
+        if (logChannel != null) {
+            throw new IllegalStateException("Task store journal is already open");
+        }
+        try {
+            Files.createDirectories(directory);
+            Path snapshot = directory.resolve(SNAPSHOT);
+            if (Files.exists(snapshot)) {
+                long end = read(snapshot, tasks);
+                if (end != Files.size(snapshot)) {
+                    throw new IllegalStateException("Task store snapshot " + snapshot + " is corrupt at offset " + end);
+                }
+            }
+            int snapshotTasks = tasks.size();
+
+            Path logFile = directory.resolve(LOG);
+            logChannel = FileChannel.open(logFile, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            logBytes = Files.size(logFile) == 0 ? 0 : read(logFile, tasks);
+            if (logBytes < logChannel.size()) {
+                // Cut off the torn tail so later appends are not hidden behind it on replay.
+                logChannel.truncate(logBytes);
+            }
+            logChannel.position(logBytes);
+            log.info("Task store loaded {} tasks from {} ({} from the snapshot, {} log bytes replayed)",
+                    tasks.size(), directory, snapshotTasks, logBytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load the task store from " + directory, e);
+        }
+
+        if (fsyncIntervalMillis > 0) {
+            flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "task-store-fsync");
+                thread.setDaemon(true);
+                return thread;
+            });
+            flusher.scheduleWithFixedDelay(this::forceQuietly, fsyncIntervalMillis, fsyncIntervalMillis,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    void appendPut(Collection<StoredTask> tasks) {
+        for (StoredTask task : tasks) {
+            put(task, logChannel);
+        }
+        commit();
+    }
+
+    void appendComplete(Collection<StoredTask> tasks) {
+        for (StoredTask task : tasks) {
+            frame(COMPLETE, task.id(), task.completedAtMicros(), null, logChannel);
+        }
+        commit();
+    }
+
+    void appendClear() {
+        frame(CLEAR, 0, 0, null, logChannel);
+        commit();
+    }
+
+    long logBytes() {
+        return logBytes;
+    }
+
+    /**
+     * Replaces the snapshot with {@code tasks} and empties the log. The caller must keep writes
+     * out until this returns, so that the snapshot covers everything logged so far.
+     */
+    void snapshot(LongObjectMap<StoredTask> tasks) {
+        Path snapshot = directory.resolve(SNAPSHOT);
+        Path temporary = directory.resolve(SNAPSHOT + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            buffer.clear();
+            tasks.forEachValue(task -> put(task, channel));
+            drain(channel);
+            channel.force(true);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write task store snapshot " + temporary, e);
+        }
+        try {
+            Files.move(temporary, snapshot, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            logChannel.truncate(0);
+            logChannel.position(0);
+            logChannel.force(true);
+            logBytes = 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to install task store snapshot " + snapshot, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (flusher != null) {
+            flusher.shutdownNow();
+        }
+        if (logChannel == null || !logChannel.isOpen()) {
+            return;
+        }
+        try {
+            logChannel.force(false);
+            logChannel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to close task store log", e);
+        }
+    }
+
+    private void put(StoredTask task, FileChannel channel) {
+        frame(PUT, task.id(), task.createdAtMicros(), task, channel);
+    }
+
+    // PUT records carry the whole task; the others only an id and a time.
+    private void frame(byte operation, long id, long micros, StoredTask task, FileChannel channel) {
+        byte[] title = task == null ? null : utf8(task.title());
+        byte[] description = task == null ? null : utf8(task.description());
+        int payload = 1 + Long.BYTES + Long.BYTES;
+        if (task != null) {
+            payload += Long.BYTES + Integer.BYTES + length(title) + Integer.BYTES + length(description);
+        }
+        if (payload > MAX_RECORD_BYTES) {
+            throw new IllegalArgumentException("Task of " + payload + " bytes exceeds the store record limit");
+        }
+        ensureRoom(HEADER_BYTES + payload, channel);
+
+        int start = buffer.position();
+        buffer.putInt(payload).putInt(0);
+        buffer.put(operation).putLong(id).putLong(micros);
+        if (task != null) {
+            buffer.putLong(task.completedAtMicros());
+            putString(title);
+            putString(description);
+        }
+        crc.reset();
+        crc.update(buffer.array(), start + HEADER_BYTES, payload);
+        buffer.putInt(start + Integer.BYTES, (int) crc.getValue());
+    }
+
+    private void ensureRoom(int bytes, FileChannel channel) {
+        if (buffer.remaining() >= bytes) {
+            return;
+        }
+        if (channel != logChannel) {
+            drain(channel);
+        }
+        if (buffer.remaining() < bytes) {
+            ByteBuffer grown = ByteBuffer.allocate(Integer.highestOneBit(buffer.position() + bytes) << 1);
+            grown.put(buffer.flip());
+            buffer = grown;
+        }
+    }
+
+    // Log records for one call are written together, so a failed write can be cut off whole.
+    private void commit() {
+        int size = buffer.position();
+        try {
+            drain(logChannel);
+        } catch (UncheckedIOException e) {
+            try {
+                logChannel.truncate(logBytes);
+                logChannel.position(logBytes);
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        } finally {
+            buffer = buffer.capacity() > BUFFER_BYTES ? ByteBuffer.allocate(BUFFER_BYTES) : buffer.clear();
+        }
+        logBytes += size;
+        if (fsyncIntervalMillis == 0) {
+            force();
+        }
+    }
+
+    private void drain(FileChannel channel) {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write to " + directory, e);
+        } finally {
+            buffer.clear();
+        }
+    }
+
+    private void force() {
+        try {
+            logChannel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to sync task store log", e);
+        }
+    }
+
+    private void forceQuietly() {
+        try {
+            force();
+        } catch (RuntimeException e) {
+            log.error("Periodic task store log sync failed", e);
+        }
+    }
+
+    /** @return the offset just past the last intact record */
+    private static long read(Path file, LongObjectMap<StoredTask> tasks) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            CRC32 checksum = new CRC32();
+            while (data.hasRemaining()) {
+                int start = data.position();
+                if (data.remaining() < HEADER_BYTES) {
+                    log.warn("Ignoring torn record at offset {} of {}", start, file);
+                    return start;
+                }
+                int length = data.getInt();
+                int expected = data.getInt();
+                if (length <= 0 || length > MAX_RECORD_BYTES || length > data.remaining()) {
+                    log.warn("Ignoring torn record at offset {} of {}", start, file);
+                    return start;
+                }
+                ByteBuffer payload = data.slice(data.position(), length);
+                checksum.reset();
+                checksum.update(payload.duplicate());
+                if ((int) checksum.getValue() != expected) {
+                    log.warn("Ignoring corrupt record at offset {} of {}", start, file);
+                    return start;
+                }
+                apply(payload, tasks);
+                data.position(data.position() + length);
+            }
+            return data.position();
+        }
+    }
+
+    private static void apply(ByteBuffer payload, LongObjectMap<StoredTask> tasks) {
+        byte operation = payload.get();
+        long id = payload.getLong();
+        long micros = payload.getLong();
+        switch (operation) {
+            case PUT -> {
+                long completedAtMicros = payload.getLong();
+                String title = getString(payload);
+                String description = getString(payload);
+                tasks.put(id, new StoredTask(id, title, description, micros, completedAtMicros));
+            }
+            case COMPLETE -> {
+                StoredTask task = tasks.get(id);
+                if (task != null) {
+                    tasks.put(id, task.completedAt(micros));
+                }
+            }
+            case CLEAR -> tasks.clear();
+            default -> throw new IllegalStateException("Unknown task store record type " + operation);
+        }
+    }
+
+    private void putString(byte[] value) {
+        if (value == null) {
+            buffer.putInt(-1);
+        } else {
+            buffer.putInt(value.length).put(value);
+        }
+    }
+
+    private static String getString(ByteBuffer source) {
+        int length = source.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] value = new byte[length];
+        source.get(value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int length(byte[] value) {
+        return value == null ? 0 : value.length;
+    }
+}
@@ -0,0 +1,32 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Introduces the pooled id sequence used by {@code Task}. The start value depends on the rows
+ * already in the table, which plain SQL cannot express portably across PostgreSQL and H2.
+ * <p>
+ * Hibernate's pooled optimizer hands out the block {@code (value - increment, value]} for each
+ * sequence value, so the sequence starts one full block above the current maximum id.
+ */
+public class V2__Create_task_id_sequence extends BaseJavaMigration {
+
+    private static final int ALLOCATION_SIZE = 50;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        try (Statement statement = context.getConnection().createStatement()) {
+            long maxId;
+            try (ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM task")) {
+                rs.next();
+                maxId = rs.getLong(1);
+            }
+            statement.execute("CREATE SEQUENCE task_seq START WITH " + (maxId + ALLOCATION_SIZE)
+                    + " INCREMENT BY " + ALLOCATION_SIZE);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Statement;
+
+/**
+ * Adds the full-text search column and its GIN index on PostgreSQL. The column is generated,
+ * so PostgreSQL keeps it current on every insert and update. Other databases are searched
+ * through the embedded Lucene index instead and are left unchanged.
+ * <p>
+ * Adding a stored generated column rewrites the table; on a large table run this migration in
+ * a maintenance window.
+ */
+public class V3__Add_task_search_vector extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        String product = context.getConnection().getMetaData().getDatabaseProductName();
+        if (!"PostgreSQL".equals(product)) {
+            return;
+        }
+        try (Statement statement = context.getConnection().createStatement()) {
+            statement.execute("ALTER TABLE task ADD COLUMN IF NOT EXISTS search_vector tsvector "
+                    + "GENERATED ALWAYS AS ("
+                    + "setweight(to_tsvector('english', coalesce(title, '')), 'A') || "
+                    + "setweight(to_tsvector('english', coalesce(description, '')), 'B')"
+                    + ") STORED");
+            statement.execute("CREATE INDEX IF NOT EXISTS idx_task_search ON task USING GIN (search_vector)");
+        }
+    }
+}
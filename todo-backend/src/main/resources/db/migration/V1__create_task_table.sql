@@ -0,0 +1,21 @@
+-- Baseline schema for the task table. Written to run on both PostgreSQL and H2, and with
+-- IF NOT EXISTS guards so databases previously created by Hibernate's ddl-auto pick up the
+-- indexes on their first migration.
+
+CREATE TABLE IF NOT EXISTS task (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title        VARCHAR(200) NOT NULL,
+    description  TEXT,
+    completed    BOOLEAN      NOT NULL,
+    created_at   TIMESTAMP(6) NOT NULL,
+    completed_at TIMESTAMP(6)
+);
+
+-- Serves findByCompletedFalseOrderByCreatedAtDesc and the completed-filtered keyset pages
+-- as an index range scan in the requested order, without a sort step.
+CREATE INDEX IF NOT EXISTS idx_task_completed_created_at ON task (completed, created_at DESC, id DESC);
+
+-- Serves the unfiltered keyset pages.
+CREATE INDEX IF NOT EXISTS idx_task_created_at_id ON task (created_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_task_completed_at ON task (completed_at);
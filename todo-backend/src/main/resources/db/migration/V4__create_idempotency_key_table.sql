@@ -0,0 +1,16 @@
+-- Responses to requests sent with an Idempotency-Key, kept so that a retry is answered with
+-- the original response. Only written with todo.idempotency.store=jdbc; rows older than the
+-- configured TTL are purged by the application.
+
+CREATE TABLE IF NOT EXISTS idempotency_key (
+    operation       VARCHAR(32)  NOT NULL,
+    idempotency_key VARCHAR(255) NOT NULL,
+    fingerprint     VARCHAR(64)  NOT NULL,
+    status          INTEGER      NOT NULL,
+    location        VARCHAR(255),
+    body            TEXT         NOT NULL,
+    created_at      TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (operation, idempotency_key)
+);
+
+CREATE INDEX IF NOT EXISTS idx_idempotency_key_created_at ON idempotency_key (created_at);
@@ -0,0 +1,23 @@
+-- Rollups behind GET /api/v1/tasks/stats, written by the application from committed task
+-- events. Each row holds the tasks created and completed in one minute or hour, and the
+-- time-to-complete histogram of the tasks completed in it, encoded as "bucket:count" pairs.
+
+CREATE TABLE IF NOT EXISTS task_stats_rollup (
+    granularity      VARCHAR(8)   NOT NULL,
+    bucket_start     TIMESTAMP(6) NOT NULL,
+    created          BIGINT       NOT NULL,
+    completed        BIGINT       NOT NULL,
+    time_to_complete TEXT         NOT NULL,
+    PRIMARY KEY (granularity, bucket_start)
+);
+
+-- Running totals for the open backlog, seeded from the tasks that exist before the rollups do.
+CREATE TABLE IF NOT EXISTS task_stats_total (
+    id        INTEGER PRIMARY KEY,
+    created   BIGINT  NOT NULL,
+    completed BIGINT  NOT NULL
+);
+
+INSERT INTO task_stats_total (id, created, completed)
+SELECT 1, COUNT(*), COUNT(CASE WHEN completed THEN 1 END) FROM task
+WHERE NOT EXISTS (SELECT 1 FROM task_stats_total WHERE id = 1);
@@ -0,0 +1,12 @@
+-- Tasks completed long enough ago are moved here from task in small batches, so the hot table
+-- and its indexes only hold the open backlog and recent completions. Ids are kept, so an
+-- archived task is looked up by the same id it had before.
+
+CREATE TABLE IF NOT EXISTS archived_task (
+    id           BIGINT       PRIMARY KEY,
+    title        VARCHAR(200) NOT NULL,
+    description  TEXT,
+    created_at   TIMESTAMP(6) NOT NULL,
+    completed_at TIMESTAMP(6) NOT NULL,
+    archived_at  TIMESTAMP(6) NOT NULL
+);
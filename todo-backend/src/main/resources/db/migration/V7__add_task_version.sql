@@ -0,0 +1,5 @@
+-- Optimistic locking for Task: Hibernate adds "AND version = ?" to every entity update and
+-- bumps the value, so of two writers racing on one row only the first succeeds. Rows written
+-- outside Hibernate (bulk completion, async ingest, the reactive stack) bump it themselves.
+
+ALTER TABLE task ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,20 @@
+-- Idempotency keys are scoped per client, so two clients that happen to pick the same key no
+-- longer see each other's responses. Stored responses only live for the TTL and rows written
+-- before this change carry no client to scope them by, so the table is recreated rather than
+-- migrated: a retry of a request answered before the upgrade runs again.
+
+DROP TABLE IF EXISTS idempotency_key;
+
+CREATE TABLE idempotency_key (
+    client          VARCHAR(320) NOT NULL,
+    operation       VARCHAR(32)  NOT NULL,
+    idempotency_key VARCHAR(255) NOT NULL,
+    fingerprint     VARCHAR(64)  NOT NULL,
+    status          INTEGER      NOT NULL,
+    location        VARCHAR(255),
+    body            TEXT         NOT NULL,
+    created_at      TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (client, operation, idempotency_key)
+);
+
+CREATE INDEX IF NOT EXISTS idx_idempotency_key_created_at ON idempotency_key (created_at);
@@ -0,0 +1,4 @@
+-- The class of each stored response body, so a replay can be deserialized and rendered again
+-- in whatever representation the retry accepts instead of always as JSON.
+
+ALTER TABLE idempotency_key ADD COLUMN IF NOT EXISTS body_type VARCHAR(255);
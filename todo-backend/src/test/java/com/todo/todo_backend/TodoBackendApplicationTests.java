@@ -3,7 +3,9 @@ package com.todo.todo_backend;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:contextdb"
+})
 class TodoBackendApplicationTests {
 
 	@Test
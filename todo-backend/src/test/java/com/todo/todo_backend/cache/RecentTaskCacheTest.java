@@ -0,0 +1,62 @@
+package com.todo.todo_backend.cache;
+
+import com.todo.todo_backend.dto.TaskResponse;
+import com.todo.todo_backend.event.TaskEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RecentTaskCacheTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 5, 1, 9, 0);
+
+    @Test
+    void onTaskEvent_ShouldNotAppendACreationOlderThanAPartialWindow() {
+        RecentTaskCache cache = new RecentTaskCache(2, 4);
+        List<Integer> loads = new ArrayList<>();
+        cache.getRecentTasks(size -> {
+            loads.add(size);
+            return List.of(task(1, 10), task(2, 9), task(3, 8), task(4, 7));
+        });
+
+        // Leaves three of four slots filled, with older open tasks possibly uncached.
+        cache.onTaskEvent(TaskEvent.completed(task(1, 10)));
+        // Committed out of order: older than every cached task, but not known to precede older uncached ones.
+        cache.onTaskEvent(TaskEvent.created(task(6, 0)));
+        cache.onTaskEvent(TaskEvent.completed(task(2, 9)));
+        cache.onTaskEvent(TaskEvent.completed(task(3, 8)));
+
+        // The reload finds an open task the window never held, which sorts ahead of task 6.
+        List<TaskResponse> recent = cache.getRecentTasks(size -> {
+            loads.add(size);
+            return List.of(task(4, 7), task(5, 1));
+        });
+
+        assertEquals(List.of(4L, 5L), recent.stream().map(TaskResponse::id).toList());
+        assertEquals(2, loads.size());
+    }
+
+    @Test
+    void onTaskEvent_ShouldInsertAnOlderCreationIntoAnExhaustiveWindow() {
+        RecentTaskCache cache = new RecentTaskCache(2, 4);
+        cache.getRecentTasks(size -> List.of(task(1, 10)));
+
+        cache.onTaskEvent(TaskEvent.created(task(2, 0)));
+
+        List<TaskResponse> recent = cache.getRecentTasks(size -> fail("window should stay loaded"));
+        assertEquals(List.of(1L, 2L), recent.stream().map(TaskResponse::id).toList());
+    }
+
+    private static TaskResponse task(long id, int minutesAfter) {
+        return TaskResponse.builder()
+                .id(id)
+                .title("Task " + id)
+                .completed(false)
+                .createdAt(NOW.plusMinutes(minutesAfter))
+                .build();
+    }
+}
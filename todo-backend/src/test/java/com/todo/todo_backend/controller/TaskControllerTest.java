@@ -1,11 +1,26 @@
 package com.todo.todo_backend.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todo.todo_backend.cache.TaskChangeVersion;
+import com.todo.todo_backend.dto.BatchTaskRequest;
+import com.todo.todo_backend.dto.BatchTaskResponse;
+import com.todo.todo_backend.dto.BulkCompleteRequest;
+import com.todo.todo_backend.dto.BulkCompleteResponse;
+import com.todo.todo_backend.dto.TaskPageResponse;
 import com.todo.todo_backend.dto.TaskRequest;
 import com.todo.todo_backend.dto.TaskResponse;
+import com.todo.todo_backend.event.TaskEvent;
 import com.todo.todo_backend.exception.GlobalExceptionHandler;
+import com.todo.todo_backend.exception.InvalidCursorException;
+import com.todo.todo_backend.exception.InvalidSearchQueryException;
 import com.todo.todo_backend.exception.TaskNotFoundException;
+import com.todo.todo_backend.idempotency.IdempotencyStore;
+import com.todo.todo_backend.metrics.TaskMetrics;
+import com.todo.todo_backend.repository.TaskRepository;
 import com.todo.todo_backend.service.TaskService;
+import com.todo.todo_backend.sse.TaskEventBroadcaster;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -21,14 +36,22 @@ import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(TaskController.class)
-@ContextConfiguration(classes = {TaskController.class, GlobalExceptionHandler.class, TaskControllerTest.TestConfig.class})
+@ContextConfiguration(classes = {TaskController.class, GlobalExceptionHandler.class, IdempotencyStore.class,
+        TaskControllerTest.TestConfig.class})
 public class TaskControllerTest {
 
     @Configuration
@@ -37,6 +60,26 @@ public class TaskControllerTest {
         public TaskService taskService() {
             return Mockito.mock(TaskService.class);
         }
+
+        @Bean
+        public TaskChangeVersion taskChangeVersion() {
+            return new TaskChangeVersion();
+        }
+
+        @Bean
+        public TaskEventBroadcaster taskEventBroadcaster() {
+            return Mockito.mock(TaskEventBroadcaster.class);
+        }
+
+        @Bean
+        public MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        public TaskMetrics taskMetrics(MeterRegistry meterRegistry) {
+            return new TaskMetrics(meterRegistry, Mockito.mock(TaskRepository.class));
+        }
     }
 
     @Autowired
@@ -48,6 +91,12 @@ public class TaskControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private TaskChangeVersion taskChangeVersion;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     private TaskResponse taskResponse;
     private TaskRequest taskRequest;
 
@@ -90,6 +139,8 @@ public class TaskControllerTest {
                 .description("Test Description")
                 .build();
 
+        double failures = failureCount("validation");
+
         mockMvc.perform(post("/api/v1/tasks")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(invalidRequest)))
@@ -97,6 +148,8 @@ public class TaskControllerTest {
                 .andExpect(jsonPath("$.status").value(400))
                 .andExpect(jsonPath("$.message").value("Validation failed"))
                 .andExpect(jsonPath("$.fieldErrors").exists());
+
+        assertEquals(failures + 1, failureCount("validation"));
     }
 
     @Test
@@ -123,6 +176,43 @@ public class TaskControllerTest {
                 .andExpect(jsonPath("$[1].title").value("Task 2"));
     }
 
+    @Test
+    void createTask_WithIdempotencyKey_ShouldReplayFirstResponseWithoutCreatingAgain() throws Exception {
+        when(taskService.createTask(any(TaskRequest.class))).thenReturn(taskResponse);
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/api/v1/tasks")
+                            .header("Idempotency-Key", "create-once")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(taskRequest)))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.id").value(1))
+                    .andExpect(jsonPath("$.title").value("Test Task"));
+        }
+
+        verify(taskService, times(1)).createTask(any(TaskRequest.class));
+    }
+
+    @Test
+    void createTask_WithIdempotencyKeyReusedForDifferentRequest_ShouldReturnUnprocessableEntity() throws Exception {
+        when(taskService.createTask(any(TaskRequest.class))).thenReturn(taskResponse);
+
+        mockMvc.perform(post("/api/v1/tasks")
+                        .header("Idempotency-Key", "reused")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(taskRequest)))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(post("/api/v1/tasks")
+                        .header("Idempotency-Key", "reused")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(TaskRequest.builder().title("Other").build())))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.status").value(422));
+
+        verify(taskService, times(1)).createTask(any(TaskRequest.class));
+    }
+
     @Test
     void markAsCompleted_ShouldReturnUpdatedTask() throws Exception {
         TaskResponse completedTask = TaskResponse.builder()
@@ -147,6 +237,7 @@ public class TaskControllerTest {
     void markAsCompleted_WithInvalidId_ShouldReturnNotFound() throws Exception {
         when(taskService.markAsCompleted(eq(999L)))
                 .thenThrow(new TaskNotFoundException("Task not found with id: 999"));
+        double failures = failureCount("not_found");
 
         mockMvc.perform(put("/api/v1/tasks/999/complete"))
                 .andExpect(status().isNotFound())
@@ -155,6 +246,8 @@ public class TaskControllerTest {
                 .andExpect(jsonPath("$.message").value("Task not found with id: 999"))
                 .andExpect(jsonPath("$.timestamp").exists())
                 .andExpect(jsonPath("$.path").exists());
+
+        assertEquals(failures + 1, failureCount("not_found"));
     }
 
     @Test
@@ -170,4 +263,183 @@ public class TaskControllerTest {
                 .andExpect(jsonPath("$.error").value("Internal Server Error"))
                 .andExpect(jsonPath("$.message").value("An unexpected error occurred"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getTasks_ShouldReturnPageWithNextCursor() throws Exception {
+        TaskPageResponse page = TaskPageResponse.builder()
+                .tasks(List.of(taskResponse))
+                .nextCursor("abc")
+                .hasMore(true)
+                .build();
+
+        when(taskService.getTasks(isNull(), eq(false), eq(1))).thenReturn(page);
+
+        mockMvc.perform(get("/api/v1/tasks/page")
+                        .param("completed", "false")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tasks.length()").value(1))
+                .andExpect(jsonPath("$.tasks[0].id").value(1))
+                .andExpect(jsonPath("$.nextCursor").value("abc"))
+                .andExpect(jsonPath("$.hasMore").value(true));
+    }
+
+    @Test
+    void getTasks_WithInvalidCursor_ShouldReturnBadRequest() throws Exception {
+        when(taskService.getTasks(eq("bogus"), isNull(), eq(20)))
+                .thenThrow(new InvalidCursorException("Invalid cursor: bogus"));
+
+        mockMvc.perform(get("/api/v1/tasks/page").param("cursor", "bogus"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(jsonPath("$.message").value("Invalid cursor: bogus"));
+    }
+
+    @Test
+    void getTaskStatus_ShouldReportPersistedTask() throws Exception {
+        when(taskService.getTask(1L)).thenReturn(taskResponse);
+
+        mockMvc.perform(get("/api/v1/tasks/1/status"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1))
+                .andExpect(jsonPath("$.status").value("PERSISTED"));
+    }
+
+    @Test
+    void getTaskStatus_WithUnknownId_ShouldReturnNotFound() throws Exception {
+        when(taskService.getTask(999L)).thenThrow(new TaskNotFoundException("Task not found with id: 999"));
+
+        mockMvc.perform(get("/api/v1/tasks/999/status"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void searchTasks_ShouldReturnRankedPage() throws Exception {
+        TaskPageResponse page = TaskPageResponse.builder()
+                .tasks(List.of(taskResponse))
+                .nextCursor("next")
+                .hasMore(true)
+                .build();
+
+        when(taskService.searchTasks(eq("test task"), isNull(), isNull(), eq(1))).thenReturn(page);
+
+        mockMvc.perform(get("/api/v1/tasks/search")
+                        .param("q", "test task")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$.tasks[0].id").value(1))
+                .andExpect(jsonPath("$.nextCursor").value("next"))
+                .andExpect(jsonPath("$.hasMore").value(true));
+    }
+
+    @Test
+    void searchTasks_WithBlankQuery_ShouldReturnBadRequest() throws Exception {
+        when(taskService.searchTasks(eq(""), isNull(), isNull(), eq(20)))
+                .thenThrow(new InvalidSearchQueryException("Search query must not be blank"));
+
+        mockMvc.perform(get("/api/v1/tasks/search"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Search query must not be blank"));
+    }
+
+    @Test
+    void createTasks_ShouldReturnCreatedTasksInOrder() throws Exception {
+        BatchTaskRequest batch = BatchTaskRequest.builder()
+                .tasks(List.of(taskRequest, TaskRequest.builder().title("Task 2").build()))
+                .build();
+        TaskResponse second = TaskResponse.builder()
+                .id(2L)
+                .title("Task 2")
+                .completed(false)
+                .createdAt(LocalDateTime.now())
+                .build();
+
+        when(taskService.createTasks(anyList()))
+                .thenReturn(BatchTaskResponse.builder().created(2).tasks(List.of(taskResponse, second)).build());
+
+        mockMvc.perform(post("/api/v1/tasks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(batch)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.tasks[0].id").value(1))
+                .andExpect(jsonPath("$.tasks[1].id").value(2));
+    }
+
+    @Test
+    void createTasks_WithInvalidItem_ShouldReturnBadRequestForThatItem() throws Exception {
+        BatchTaskRequest batch = BatchTaskRequest.builder()
+                .tasks(List.of(taskRequest, TaskRequest.builder().title("").build()))
+                .build();
+
+        mockMvc.perform(post("/api/v1/tasks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(batch)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Validation failed"))
+                .andExpect(jsonPath("$.fieldErrors['tasks[1].title']").value("Title is required"));
+
+        verify(taskService, never()).createTasks(anyList());
+    }
+
+    @Test
+    void markAllAsCompleted_ShouldReportOutcomePerId() throws Exception {
+        when(taskService.markAllAsCompleted(eq(List.of(1L, 2L, 3L))))
+                .thenReturn(BulkCompleteResponse.builder()
+                        .completed(List.of(1L))
+                        .alreadyCompleted(List.of(2L))
+                        .notFound(List.of(3L))
+                        .build());
+
+        mockMvc.perform(put("/api/v1/tasks/complete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BulkCompleteRequest(List.of(1L, 2L, 3L)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.completed[0]").value(1))
+                .andExpect(jsonPath("$.alreadyCompleted[0]").value(2))
+                .andExpect(jsonPath("$.notFound[0]").value(3));
+    }
+
+    @Test
+    void getRecentTasks_WithMatchingETag_ShouldReturnNotModifiedWithoutCallingService() throws Exception {
+        when(taskService.getRecentTasks()).thenReturn(List.of(taskResponse));
+
+        String etag = mockMvc.perform(get("/api/v1/tasks"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+
+        mockMvc.perform(get("/api/v1/tasks").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+
+        verify(taskService, times(1)).getRecentTasks();
+    }
+
+    @Test
+    void getTask_AfterWrite_ShouldReturnFreshBodyForStaleETag() throws Exception {
+        when(taskService.getTask(eq(1L))).thenReturn(taskResponse);
+
+        String etag = mockMvc.perform(get("/api/v1/tasks/1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1))
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+
+        taskChangeVersion.onTaskEvent(TaskEvent.completed(taskResponse));
+
+        mockMvc.perform(get("/api/v1/tasks/1").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(etag)))
+                .andExpect(jsonPath("$.id").value(1));
+    }
+
+    private double failureCount(String reason) {
+        return meterRegistry.get("todo.tasks.failures").tag("reason", reason).counter().count();
+    }
+}
@@ -0,0 +1,87 @@
+package com.todo.todo_backend.datasource;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+public class ReplicaPoolTest {
+
+    @Test
+    void select_ShouldRoundRobinOverHealthyReplicas() throws Exception {
+        ReplicaPool.Replica first = replica("first", true, 0);
+        ReplicaPool.Replica second = replica("second", true, 0);
+        ReplicaPool.Replica down = replica("down", false, 0);
+
+        try (ReplicaPool pool = new ReplicaPool(List.of(first, down, second),
+                ReadReplicaProperties.Selection.ROUND_ROBIN, Duration.ofHours(1))) {
+            List<ReplicaPool.Replica> picked = List.of(pool.select(), pool.select(), pool.select(), pool.select());
+
+            assertFalse(picked.contains(down));
+            assertEquals(2, picked.stream().filter(replica -> replica == first).count());
+            assertEquals(2, picked.stream().filter(replica -> replica == second).count());
+        }
+    }
+
+    @Test
+    void select_ShouldPreferLowestLatency() throws Exception {
+        ReplicaPool.Replica slow = replica("slow", true, 30);
+        ReplicaPool.Replica fast = replica("fast", true, 0);
+
+        try (ReplicaPool pool = new ReplicaPool(List.of(slow, fast),
+                ReadReplicaProperties.Selection.LEAST_LATENCY, Duration.ofHours(1))) {
+            assertSame(fast, pool.select());
+            assertSame(fast, pool.select());
+        }
+    }
+
+    @Test
+    void getConnection_ShouldSkipFailingReplicaAndReturnNullWhenNoneIsLeft() throws Exception {
+        AtomicLong calls = new AtomicLong();
+        DataSource flaky = mock(DataSource.class);
+        Connection valid = validConnection();
+        // Passes the startup health check, then refuses connections.
+        when(flaky.getConnection()).thenAnswer(invocation -> {
+            if (calls.incrementAndGet() > 1) {
+                throw new SQLException("connection refused");
+            }
+            return valid;
+        });
+        ReplicaPool.Replica replica = new ReplicaPool.Replica("flaky", flaky);
+
+        try (ReplicaPool pool = new ReplicaPool(List.of(replica),
+                ReadReplicaProperties.Selection.ROUND_ROBIN, Duration.ofHours(1))) {
+            assertSame(replica, pool.select());
+            assertNull(pool.getConnection());
+            assertNull(pool.select(), "a replica that refused a connection leaves the rotation");
+        }
+    }
+
+    private ReplicaPool.Replica replica(String name, boolean healthy, long delayMillis) throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        if (healthy) {
+            Connection connection = validConnection();
+            when(dataSource.getConnection()).thenAnswer(invocation -> {
+                Thread.sleep(delayMillis);
+                return connection;
+            });
+        } else {
+            when(dataSource.getConnection()).thenThrow(new SQLException("down"));
+        }
+        return new ReplicaPool.Replica(name, dataSource);
+    }
+
+    private Connection validConnection() throws SQLException {
+        Connection connection = mock(Connection.class);
+        when(connection.isValid(anyInt())).thenReturn(true);
+        return connection;
+    }
+}
@@ -0,0 +1,138 @@
+package com.todo.todo_backend.ingest;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SegmentedTaskWriteAheadLogTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 3, 1, 12, 30, 15, 123_456_000);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replay_ShouldReturnOnlyUnacknowledgedEntriesAfterCrash() {
+        SegmentedTaskWriteAheadLog log = started(1024 * 1024);
+        long created = log.append(TaskWriteAheadLog.Entry.create(7L, "Title ünïcode", null, CREATED_AT));
+        log.append(TaskWriteAheadLog.Entry.create(8L, "Second", "Description", CREATED_AT));
+        long completed = log.append(TaskWriteAheadLog.Entry.complete(7L, CREATED_AT.plusMinutes(1)));
+        log.awaitDurable(completed);
+        log.acknowledge(created);
+        // No close: the process dies here.
+
+        List<TaskWriteAheadLog.Entry> replayed = replay(open(1024 * 1024));
+
+        // The acknowledged creation shares a live segment with the others but is not replayed.
+        assertEquals(List.of(
+                TaskWriteAheadLog.Entry.create(8L, "Second", "Description", CREATED_AT),
+                TaskWriteAheadLog.Entry.complete(7L, CREATED_AT.plusMinutes(1))), replayed);
+        assertTrue(replay(open(1024 * 1024)).isEmpty());
+    }
+
+    @Test
+    void replay_ShouldStopAtTornRecord() throws IOException {
+        SegmentedTaskWriteAheadLog log = started(1024 * 1024);
+        log.awaitDurable(log.append(TaskWriteAheadLog.Entry.create(1L, "Kept", null, CREATED_AT)));
+        Files.write(segments().get(0), new byte[]{0, 0, 0, 40, 1, 2}, StandardOpenOption.APPEND);
+
+        List<TaskWriteAheadLog.Entry> replayed = replay(open(1024 * 1024));
+
+        assertEquals(1, replayed.size());
+        assertEquals("Kept", replayed.get(0).title());
+    }
+
+    @Test
+    void replay_ShouldKeepEntriesWhenApplyFails() {
+        SegmentedTaskWriteAheadLog log = started(1024 * 1024);
+        log.awaitDurable(log.append(TaskWriteAheadLog.Entry.create(1L, "Retried", null, CREATED_AT)));
+
+        SegmentedTaskWriteAheadLog failing = open(1024 * 1024);
+        assertThrows(IllegalStateException.class, () -> failing.replay(entries -> {
+            throw new IllegalStateException("database down");
+        }));
+
+        assertEquals(1, replay(open(1024 * 1024)).size());
+    }
+
+    @Test
+    void acknowledge_ShouldDeleteSealedSegments() throws IOException {
+        SegmentedTaskWriteAheadLog log = started(64);
+        List<Long> lsns = new ArrayList<>();
+        for (long id = 1; id <= 6; id++) {
+            lsns.add(log.append(TaskWriteAheadLog.Entry.create(id, "Task " + id, null, CREATED_AT)));
+        }
+        assertTrue(segments().size() > 1);
+
+        lsns.forEach(log::acknowledge);
+        assertEquals(1, segments().size(), "only the active segment remains");
+
+        log.close();
+        assertTrue(segments().isEmpty());
+    }
+
+    @Test
+    void acknowledge_ShouldRollFullyAcknowledgedActiveSegment() throws IOException {
+        SegmentedTaskWriteAheadLog log = started(1024 * 1024);
+        long first = log.append(TaskWriteAheadLog.Entry.create(1L, "First", null, CREATED_AT));
+        long second = log.append(TaskWriteAheadLog.Entry.create(2L, "Second", null, CREATED_AT));
+        log.awaitDurable(second);
+        Path written = segments().get(0);
+
+        log.acknowledge(second);
+        assertEquals(List.of(written), segments(), "kept while the first write is outstanding");
+        log.acknowledge(first);
+        assertFalse(Files.exists(written));
+        assertEquals(0, Files.size(segments().get(0)));
+        // No close: the process dies here.
+
+        SegmentedTaskWriteAheadLog reopened = open(1024 * 1024);
+        assertTrue(replay(reopened).isEmpty());
+        assertTrue(reopened.append(TaskWriteAheadLog.Entry.create(3L, "Third", null, CREATED_AT)) > second,
+                "sequence numbers never fall back under the checkpoint");
+    }
+
+    @Test
+    void awaitDurable_ShouldNotWaitWithFsyncInterval() {
+        SegmentedTaskWriteAheadLog log = new SegmentedTaskWriteAheadLog(directory, 1024, Duration.ofMillis(10));
+        log.replay(entries -> fail("nothing to replay"));
+        long lsn = log.append(TaskWriteAheadLog.Entry.complete(1L, CREATED_AT));
+        log.awaitDurable(lsn);
+        log.close();
+
+        assertEquals(1, replay(open(1024)).size());
+    }
+
+    private SegmentedTaskWriteAheadLog started(long segmentBytes) {
+        SegmentedTaskWriteAheadLog log = open(segmentBytes);
+        log.replay(entries -> fail("nothing to replay"));
+        return log;
+    }
+
+    private SegmentedTaskWriteAheadLog open(long segmentBytes) {
+        return new SegmentedTaskWriteAheadLog(directory, segmentBytes, Duration.ZERO);
+    }
+
+    private List<TaskWriteAheadLog.Entry> replay(SegmentedTaskWriteAheadLog log) {
+        List<TaskWriteAheadLog.Entry> replayed = new ArrayList<>();
+        log.replay(replayed::addAll);
+        return replayed;
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".wal")).sorted().toList();
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package com.todo.todo_backend.ingest;
+
+import com.todo.todo_backend.dto.TaskPersistenceStatus;
+import com.todo.todo_backend.dto.TaskReceipt;
+import com.todo.todo_backend.dto.TaskRequest;
+import com.todo.todo_backend.event.TaskEvent;
+import com.todo.todo_backend.event.TaskEventType;
+import com.todo.todo_backend.exception.TaskIngestRejectedException;
+import com.todo.todo_backend.model.ArchivedTask;
+import com.todo.todo_backend.repository.ArchivedTaskRepository;
+import com.todo.todo_backend.repository.TaskRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.Cache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class TaskIngestQueueTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private ApplicationEventPublisher eventPublisher;
+    private TaskIdReserver idReserver;
+    private CountDownLatch writerBlocked;
+    private CountDownLatch releaseWriter;
+    private List<Integer> batchSizes;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        idReserver = mock(TaskIdReserver.class);
+        AtomicLong ids = new AtomicLong();
+        when(idReserver.reserve()).thenAnswer(invocation -> ids.incrementAndGet());
+
+        writerBlocked = new CountDownLatch(1);
+        releaseWriter = new CountDownLatch(1);
+        batchSizes = new ArrayList<>();
+        when(jdbcTemplate.batchUpdate(anyString(), any(Collection.class), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenAnswer(invocation -> {
+                    Collection<?> batch = invocation.getArgument(1);
+                    batchSizes.add(batch.size());
+                    writerBlocked.countDown();
+                    releaseWriter.await(5, TimeUnit.SECONDS);
+                    int[] counts = new int[batch.size()];
+                    Arrays.fill(counts, 1);
+                    return new int[][]{counts};
+                });
+    }
+
+    @Test
+    void submit_ShouldRejectWhenQueueIsFullAndDrainEverythingAcceptedOnStop() throws Exception {
+        TaskIngestQueue ingest = new TaskIngestQueue(jdbcTemplate,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                eventPublisher, mock(TaskRepository.class), mock(ArchivedTaskRepository.class), mock(Cache.class), idReserver, TaskWriteAheadLog.NONE, new SimpleMeterRegistry(), 3, 10);
+        ingest.start();
+
+        TaskReceipt first = ingest.submit(request("first"));
+        assertTrue(writerBlocked.await(5, TimeUnit.SECONDS));
+        assertEquals(TaskPersistenceStatus.PENDING, first.status());
+
+        // The writer holds the first task; three more fill the queue.
+        for (int i = 0; i < 3; i++) {
+            ingest.submit(request("queued " + i));
+        }
+        assertThrows(TaskIngestRejectedException.class, () -> ingest.submit(request("overflow")));
+        assertEquals(TaskPersistenceStatus.PENDING, ingest.status(first.id()).orElseThrow());
+
+        releaseWriter.countDown();
+        ingest.stop();
+
+        assertEquals(List.of(1, 3), batchSizes);
+        verify(eventPublisher, times(4)).publishEvent(any(TaskEvent.class));
+        assertTrue(ingest.status(first.id()).isEmpty());
+        assertThrows(TaskIngestRejectedException.class, () -> ingest.submit(request("late")));
+    }
+
+    @Test
+    void submitCompletion_ShouldQueueBehindPendingCreation() throws Exception {
+        TaskIngestQueue ingest = new TaskIngestQueue(jdbcTemplate,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                eventPublisher, mock(TaskRepository.class), mock(ArchivedTaskRepository.class), mock(Cache.class), idReserver, TaskWriteAheadLog.NONE, new SimpleMeterRegistry(), 10, 10);
+        ingest.start();
+
+        TaskReceipt blocker = ingest.submit(request("blocker"));
+        assertTrue(writerBlocked.await(5, TimeUnit.SECONDS));
+        TaskReceipt created = ingest.submit(request("queued"));
+
+        TaskReceipt completion = ingest.submitCompletion(created.id()).orElseThrow();
+        assertEquals(created.id(), completion.id());
+        assertEquals(TaskPersistenceStatus.PENDING, completion.status());
+        assertTrue(ingest.submitCompletion(999L).isEmpty());
+
+        releaseWriter.countDown();
+        ingest.stop();
+
+        // The blocker's insert, then the queued insert and the completion's update in one batch.
+        assertEquals(List.of(1, 1, 1), batchSizes);
+        ArgumentCaptor<TaskEvent> events = ArgumentCaptor.forClass(TaskEvent.class);
+        verify(eventPublisher, times(3)).publishEvent(events.capture());
+        TaskEvent last = events.getAllValues().get(2);
+        assertEquals(TaskEventType.COMPLETED, last.type());
+        assertEquals(created.id(), last.task().id());
+        assertTrue(last.task().completed());
+        assertTrue(ingest.status(blocker.id()).isEmpty());
+        assertTrue(ingest.status(created.id()).isEmpty());
+    }
+
+    @Test
+    void write_ShouldMarkTasksFailedWhenInsertFails() throws Exception {
+        reset(jdbcTemplate);
+        when(jdbcTemplate.batchUpdate(anyString(), any(Collection.class), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new IllegalStateException("insert failed"));
+        TaskIngestQueue ingest = new TaskIngestQueue(jdbcTemplate,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                eventPublisher, mock(TaskRepository.class), mock(ArchivedTaskRepository.class), mock(Cache.class), idReserver, TaskWriteAheadLog.NONE, new SimpleMeterRegistry(), 10, 10);
+        ingest.start();
+
+        TaskReceipt receipt = ingest.submit(request("doomed"));
+        ingest.stop();
+
+        assertEquals(TaskPersistenceStatus.FAILED, ingest.status(receipt.id()).orElseThrow());
+        verify(eventPublisher, never()).publishEvent(any(TaskEvent.class));
+    }
+
+    @Test
+    void write_ShouldRetryTransientFailuresWithoutFailingOrAcknowledging() throws Exception {
+        reset(jdbcTemplate);
+        when(jdbcTemplate.batchUpdate(anyString(), any(Collection.class), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new CannotGetJdbcConnectionException("database down"))
+                .thenThrow(new TransientDataAccessResourceException("still down"))
+                .thenReturn(new int[][]{{1}});
+        TaskWriteAheadLog writeAheadLog = mock(TaskWriteAheadLog.class);
+        when(writeAheadLog.append(any(TaskWriteAheadLog.Entry.class))).thenReturn(7L);
+        TaskIngestQueue ingest = new TaskIngestQueue(jdbcTemplate,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                eventPublisher, mock(TaskRepository.class), mock(ArchivedTaskRepository.class), mock(Cache.class), idReserver, writeAheadLog, new SimpleMeterRegistry(), 10, 10);
+        ingest.start();
+
+        TaskReceipt receipt = ingest.submit(request("delayed"));
+        ingest.stop();
+
+        verify(jdbcTemplate, times(3)).batchUpdate(anyString(), any(Collection.class), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+        assertTrue(ingest.status(receipt.id()).isEmpty());
+        verify(eventPublisher).publishEvent(any(TaskEvent.class));
+        // Acknowledged once, after the commit that finally went through.
+        verify(writeAheadLog, times(1)).acknowledge(7L);
+    }
+
+    @Test
+    void write_ShouldNotFailCommittedTasksWhenAListenerThrows() throws Exception {
+        reset(jdbcTemplate);
+        when(jdbcTemplate.batchUpdate(anyString(), any(Collection.class), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenReturn(new int[][]{{1}});
+        doThrow(new UncheckedIOException(new IOException("index unavailable")))
+                .when(eventPublisher).publishEvent(any(TaskEvent.class));
+        TaskWriteAheadLog writeAheadLog = mock(TaskWriteAheadLog.class);
+        when(writeAheadLog.append(any(TaskWriteAheadLog.Entry.class))).thenReturn(7L);
+        TaskIngestQueue ingest = new TaskIngestQueue(jdbcTemplate,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                eventPublisher, mock(TaskRepository.class), mock(ArchivedTaskRepository.class), mock(Cache.class), idReserver, writeAheadLog, new SimpleMeterRegistry(), 10, 10);
+        ingest.start();
+
+        TaskReceipt receipt = ingest.submit(request("indexed later"));
+        ingest.stop();
+
+        // Written once; the listener's failure neither retries nor fails the committed task.
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), any(Collection.class), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+        assertTrue(ingest.status(receipt.id()).isEmpty());
+        verify(writeAheadLog).acknowledge(7L);
+    }
+
+    @Test
+    void write_ShouldTreatADuplicateReservedIdAsAlreadyCommitted() throws Exception {
+        reset(jdbcTemplate);
+        // The first commit goes through but is reported as failing, so its retry finds the row taken.
+        when(jdbcTemplate.batchUpdate(anyString(), any(Collection.class), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new TransientDataAccessResourceException("connection reset after commit"))
+                .thenThrow(new DuplicateKeyException("duplicate task id"));
+        TaskRepository taskRepository = mock(TaskRepository.class);
+        when(taskRepository.existsById(1L)).thenReturn(true);
+        TaskWriteAheadLog writeAheadLog = mock(TaskWriteAheadLog.class);
+        when(writeAheadLog.append(any(TaskWriteAheadLog.Entry.class))).thenReturn(7L);
+        TaskIngestQueue ingest = new TaskIngestQueue(jdbcTemplate,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                eventPublisher, taskRepository, mock(ArchivedTaskRepository.class), mock(Cache.class), idReserver, writeAheadLog, new SimpleMeterRegistry(), 10, 10);
+        ingest.start();
+
+        TaskReceipt receipt = ingest.submit(request("committed twice"));
+        ingest.stop();
+
+        assertTrue(ingest.status(receipt.id()).isEmpty());
+        ArgumentCaptor<TaskEvent> events = ArgumentCaptor.forClass(TaskEvent.class);
+        verify(eventPublisher).publishEvent(events.capture());
+        assertEquals(TaskEventType.CREATED, events.getValue().type());
+        verify(writeAheadLog).acknowledge(7L);
+    }
+
+    @Test
+    void start_ShouldNotReinsertArchivedTasksFromTheLog() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 5, 1, 9, 0);
+        TaskWriteAheadLog writeAheadLog = mock(TaskWriteAheadLog.class);
+        doAnswer(invocation -> {
+            Consumer<List<TaskWriteAheadLog.Entry>> applier = invocation.getArgument(0);
+            applier.accept(List.of(
+                    TaskWriteAheadLog.Entry.create(42L, "Archived since", null, createdAt),
+                    TaskWriteAheadLog.Entry.complete(42L, createdAt.plusHours(1))));
+            return null;
+        }).when(writeAheadLog).replay(any());
+        ArchivedTaskRepository archivedTaskRepository = mock(ArchivedTaskRepository.class);
+        when(archivedTaskRepository.findAllById(any())).thenReturn(List.of(ArchivedTask.builder().id(42L).build()));
+        TaskIngestQueue ingest = new TaskIngestQueue(jdbcTemplate,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                eventPublisher, mock(TaskRepository.class), archivedTaskRepository, mock(Cache.class), idReserver, writeAheadLog, new SimpleMeterRegistry(), 10, 10);
+
+        ingest.start();
+        ingest.stop();
+
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), any(Collection.class), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+        verify(eventPublisher, never()).publishEvent(any(TaskEvent.class));
+    }
+
+    private TaskRequest request(String title) {
+        return TaskRequest.builder().title(title).build();
+    }
+}
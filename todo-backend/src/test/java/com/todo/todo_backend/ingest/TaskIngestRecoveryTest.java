@@ -0,0 +1,70 @@
+package com.todo.todo_backend.ingest;
+
+import com.todo.todo_backend.model.Task;
+import com.todo.todo_backend.repository.TaskRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Starts the application over a write-ahead log left behind by a crashed run and checks that
+ * its writes reach the database before the queue opens.
+ */
+@SpringBootTest
+class TaskIngestRecoveryTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 5, 1, 9, 0);
+
+    private static Path walDirectory;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) throws IOException {
+        walDirectory = Files.createTempDirectory("task-wal");
+        SegmentedTaskWriteAheadLog crashed = new SegmentedTaskWriteAheadLog(walDirectory, 1024 * 1024, Duration.ZERO);
+        crashed.replay(entries -> fail("nothing to replay"));
+        crashed.append(TaskWriteAheadLog.Entry.create(5001L, "Recovered", "From the log", CREATED_AT));
+        crashed.append(TaskWriteAheadLog.Entry.create(5002L, "Recovered and completed", null, CREATED_AT));
+        long last = crashed.append(TaskWriteAheadLog.Entry.complete(5002L, CREATED_AT.plusHours(1)));
+        crashed.awaitDurable(last);
+
+        registry.add("spring.datasource.url", () -> "jdbc:h2:mem:recoverydb");
+        registry.add("todo.ingest.mode", () -> "async");
+        registry.add("todo.ingest.wal.directory", walDirectory::toString);
+    }
+
+    @Test
+    void testLoggedWritesAreReplayedAndCompacted() throws IOException {
+        List<Task> tasks = taskRepository.findByIdIn(List.of(5001L, 5002L));
+        assertEquals(2, tasks.size());
+
+        Task open = tasks.stream().filter(task -> task.getId() == 5001L).findFirst().orElseThrow();
+        assertEquals("Recovered", open.getTitle());
+        assertEquals("From the log", open.getDescription());
+        assertEquals(CREATED_AT, open.getCreatedAt());
+        assertFalse(open.getCompleted());
+
+        Task completed = tasks.stream().filter(task -> task.getId() == 5002L).findFirst().orElseThrow();
+        assertTrue(completed.getCompleted());
+        assertEquals(CREATED_AT.plusHours(1), completed.getCompletedAt());
+
+        try (Stream<Path> files = Files.list(walDirectory)) {
+            assertEquals(1, files.filter(file -> file.toString().endsWith(".wal")).count(),
+                    "only the fresh, empty segment remains");
+        }
+    }
+}
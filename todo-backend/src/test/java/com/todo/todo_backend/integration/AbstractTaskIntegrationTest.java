@@ -0,0 +1,211 @@
+package com.todo.todo_backend.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todo.todo_backend.dto.BatchTaskRequest;
+import com.todo.todo_backend.dto.BulkCompleteRequest;
+import com.todo.todo_backend.dto.TaskRequest;
+import com.todo.todo_backend.dto.TaskResponse;
+import com.todo.todo_backend.repository.TaskCounter;
+import com.todo.todo_backend.repository.TaskStore;
+import com.todo.todo_backend.service.TaskService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * The task API scenarios every {@link TaskStore} must pass. Subclasses pick the store through
+ * the active profile and start each test with it empty; tasks are seeded through the service
+ * and checked through the store, so the scenarios read the same against either.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+abstract class AbstractTaskIntegrationTest {
+
+    @Autowired
+    protected MockMvc mockMvc;
+
+    @Autowired
+    protected TaskService taskService;
+
+    @Autowired
+    protected TaskStore taskStore;
+
+    @Autowired
+    protected TaskCounter taskCounter;
+
+    @Autowired
+    protected ObjectMapper objectMapper;
+
+    @Test
+    void testCompleteTaskFlow() throws Exception {
+        TaskRequest request = TaskRequest.builder()
+                .title("Integration Test Task")
+                .description("Integration Test Description")
+                .build();
+
+        String responseContent = mockMvc.perform(post("/api/v1/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.title").value("Integration Test Task"))
+                .andExpect(jsonPath("$.completed").value(false))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        Long taskId = objectMapper.readTree(responseContent).get("id").asLong();
+
+        // Verify task exists in the store
+        assertTrue(taskStore.findById(taskId).isPresent());
+
+        // Get recent tasks
+        mockMvc.perform(get("/api/v1/tasks"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(taskId))
+                .andExpect(jsonPath("$[0].title").value("Integration Test Task"));
+
+        // Mark task as completed
+        String completedContent = mockMvc.perform(put("/api/v1/tasks/" + taskId + "/complete"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.completed").value(true))
+                .andExpect(jsonPath("$.completedAt").exists())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        // Verify completed task is not in recent tasks
+        mockMvc.perform(get("/api/v1/tasks"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isArray())
+                .andExpect(jsonPath("$").isEmpty());
+
+        // Completing again keeps the first completion.
+        mockMvc.perform(put("/api/v1/tasks/" + taskId + "/complete"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.completedAt")
+                        .value(objectMapper.readTree(completedContent).get("completedAt").asText()));
+
+        // Verify in the store
+        TaskResponse completedTask = taskStore.findById(taskId).orElseThrow();
+        assertTrue(completedTask.completed());
+        assertNotNull(completedTask.completedAt());
+    }
+
+    @Test
+    void testMissingTasksAreNotFound() throws Exception {
+        mockMvc.perform(put("/api/v1/tasks/999999/complete"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Task not found with id: 999999"));
+
+        mockMvc.perform(get("/api/v1/tasks/archive/999999"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Archived task not found with id: 999999"));
+    }
+
+    @Test
+    void testGetRecentTasksLimit() throws Exception {
+        // Create 7 tasks
+        for (int i = 1; i <= 7; i++) {
+            taskService.createTask(TaskRequest.builder().title("Task " + i).description("Description " + i).build());
+        }
+
+        // Should return only 5 most recent tasks
+        mockMvc.perform(get("/api/v1/tasks"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(5))
+                .andExpect(jsonPath("$[0].title").value("Task 7"));
+    }
+
+    @Test
+    void testKeysetPaginationWalksAllTasks() throws Exception {
+        List<Long> created = new ArrayList<>();
+        for (int i = 1; i <= 7; i++) {
+            created.add(taskService.createTask(TaskRequest.builder().title("Task " + i).build()).id());
+        }
+        taskService.markAllAsCompleted(List.of(created.get(1), created.get(3), created.get(5)));
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            var page = get("/api/v1/tasks/page").param("size", "3");
+            if (cursor != null) {
+                page.param("cursor", cursor);
+            }
+            String content = mockMvc.perform(page)
+                    .andExpect(status().isOk())
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString();
+
+            var body = objectMapper.readTree(content);
+            body.get("tasks").forEach(task -> seen.add(task.get("id").asLong()));
+            cursor = body.get("hasMore").asBoolean() ? body.get("nextCursor").asText() : null;
+        } while (cursor != null);
+
+        // Created within the same microsecond or not, newer ids come first.
+        Collections.reverse(created);
+        assertEquals(created, seen);
+
+        mockMvc.perform(get("/api/v1/tasks/page").param("completed", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tasks.length()").value(3))
+                .andExpect(jsonPath("$.hasMore").value(false));
+    }
+
+    @Test
+    void testBatchCreatePersistsAllTasksInOrder() throws Exception {
+        List<TaskRequest> requests = IntStream.range(0, 1200)
+                .mapToObj(i -> TaskRequest.builder().title("Batch Task " + i).build())
+                .toList();
+
+        String content = mockMvc.perform(post("/api/v1/tasks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BatchTaskRequest(requests))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.created").value(1200))
+                .andExpect(jsonPath("$.tasks[0].title").value("Batch Task 0"))
+                .andExpect(jsonPath("$.tasks[1199].title").value("Batch Task 1199"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        var tasks = objectMapper.readTree(content).get("tasks");
+        assertTrue(tasks.get(0).get("id").asLong() < tasks.get(1199).get("id").asLong());
+        assertEquals(1200, taskCounter.countByCompleted(false));
+    }
+
+    @Test
+    void testBulkCompleteClassifiesEachId() throws Exception {
+        TaskResponse open = taskService.createTask(TaskRequest.builder().title("Open").build());
+        TaskResponse done = taskService.createTask(TaskRequest.builder().title("Done").build());
+        taskService.markAsCompleted(done.id());
+        long missing = done.id() + 1000;
+
+        mockMvc.perform(put("/api/v1/tasks/complete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new BulkCompleteRequest(List.of(open.id(), done.id(), missing)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.completed[0]").value(open.id()))
+                .andExpect(jsonPath("$.alreadyCompleted[0]").value(done.id()))
+                .andExpect(jsonPath("$.notFound[0]").value(missing));
+
+        TaskResponse reloaded = taskStore.findById(open.id()).orElseThrow();
+        assertTrue(reloaded.completed());
+        assertNotNull(reloaded.completedAt());
+        assertEquals(2, taskCounter.countByCompleted(true));
+        assertEquals(0, taskCounter.countByCompleted(false));
+    }
+}
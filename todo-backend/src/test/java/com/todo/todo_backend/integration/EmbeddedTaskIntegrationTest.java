@@ -0,0 +1,55 @@
+package com.todo.todo_backend.integration;
+
+import com.todo.todo_backend.dto.TaskRequest;
+import com.todo.todo_backend.dto.TaskResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * The {@link AbstractTaskIntegrationTest} scenarios against the {@code embedded} profile, with
+ * no database at all, plus the reads that go through other stores on the database profile.
+ * Each test gets a fresh, memory-only store.
+ */
+@ActiveProfiles("embedded")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@TestPropertySource(properties = {
+        "todo.embedded-store.directory="
+})
+class EmbeddedTaskIntegrationTest extends AbstractTaskIntegrationTest {
+
+    @Test
+    void testSearchExportAndStatsReadTheStore() throws Exception {
+        TaskResponse invoice = taskService.createTask(TaskRequest.builder().title("Pay the invoice").build());
+        taskService.createTask(TaskRequest.builder().title("Water the plants").build());
+        taskService.markAsCompleted(invoice.id());
+
+        mockMvc.perform(get("/api/v1/tasks/search").param("q", "invoice"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tasks.length()").value(1))
+                .andExpect(jsonPath("$.tasks[0].id").value(invoice.id()));
+
+        String export = mockMvc.perform(get("/api/v1/tasks/export").param("format", "csv"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        List<String> lines = export.lines().toList();
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(1).contains("Pay the invoice"));
+        assertTrue(lines.get(2).contains("Water the plants"));
+
+        mockMvc.perform(get("/api/v1/tasks/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.completed").value(1))
+                .andExpect(jsonPath("$.backlog").value(1));
+    }
+}
@@ -0,0 +1,98 @@
+package com.todo.todo_backend.integration;
+
+import com.todo.todo_backend.dto.TaskRequest;
+import com.todo.todo_backend.dto.TaskResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("reactive")
+@TestPropertySource(properties = {
+        "spring.r2dbc.url=r2dbc:h2:mem:///reactivedb?options=DB_CLOSE_DELAY=-1",
+        "spring.r2dbc.username=sa",
+        "spring.r2dbc.password=",
+        "spring.flyway.url=jdbc:h2:mem:reactivedb;DB_CLOSE_DELAY=-1",
+        "spring.flyway.user=sa",
+        "spring.flyway.password="
+})
+class ReactiveTaskIntegrationTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Test
+    void testCompleteTaskFlow() {
+        TaskRequest request = TaskRequest.builder()
+                .title("Reactive Task")
+                .description("Reactive Description")
+                .build();
+
+        TaskResponse created = webTestClient.post().uri("/api/v1/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(TaskResponse.class)
+                .returnResult()
+                .getResponseBody();
+
+        assertNotNull(created);
+        assertNotNull(created.id());
+        assertFalse(created.completed());
+
+        webTestClient.get().uri("/api/v1/tasks")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].id").isEqualTo(created.id())
+                .jsonPath("$[0].title").isEqualTo("Reactive Task");
+
+        TaskResponse completed = webTestClient.put().uri("/api/v1/tasks/{id}/complete", created.id())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(TaskResponse.class)
+                .returnResult()
+                .getResponseBody();
+        assertTrue(completed.completed());
+        assertNotNull(completed.completedAt());
+
+        // Completing again keeps the first completion.
+        webTestClient.put().uri("/api/v1/tasks/{id}/complete", created.id())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(TaskResponse.class)
+                .isEqualTo(completed);
+
+        webTestClient.get().uri("/api/v1/tasks")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$").isEmpty();
+    }
+
+    @Test
+    void testValidationAndNotFoundMatchServletContract() {
+        webTestClient.post().uri("/api/v1/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(TaskRequest.builder().title("").build())
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Validation failed")
+                .jsonPath("$.fieldErrors.title").isEqualTo("Title is required");
+
+        webTestClient.put().uri("/api/v1/tasks/999999/complete")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(404)
+                .jsonPath("$.message").isEqualTo("Task not found with id: 999999");
+    }
+}
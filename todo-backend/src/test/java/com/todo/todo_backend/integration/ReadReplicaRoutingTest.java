@@ -0,0 +1,69 @@
+package com.todo.todo_backend.integration;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Runs against two H2 databases standing in for a primary and a replica that has not caught
+ * up: each holds a task the other lacks, so a response shows which one served it.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ReadReplicaRoutingTest {
+
+    private static final String REPLICA_URL = "jdbc:h2:mem:replicadb;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        DriverManagerDataSource replica = new DriverManagerDataSource(REPLICA_URL, "sa", "");
+        Flyway.configure().dataSource(replica).load().migrate();
+        new JdbcTemplate(replica).update("INSERT INTO task (id, title, completed, created_at) "
+                + "VALUES (900001, 'Only on the replica', false, CURRENT_TIMESTAMP)");
+
+        registry.add("spring.datasource.url", () -> "jdbc:h2:mem:primarydb");
+        registry.add("todo.datasource.read.replicas[0].url", () -> REPLICA_URL);
+        registry.add("todo.datasource.read.replicas[0].username", () -> "sa");
+        registry.add("todo.datasource.read.replicas[0].password", () -> "");
+        registry.add("todo.datasource.read.read-your-writes-window", () -> "10m");
+    }
+
+    @Test
+    void testReadsGoToReplicaUntilTheClientWrites() throws Exception {
+        mockMvc.perform(get("/api/v1/tasks/page"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tasks[*].title", hasItem("Only on the replica")));
+
+        // Single-task reads fill the second-level cache, so they are served by the primary, and
+        // the replica's rows never reach the cache.
+        mockMvc.perform(get("/api/v1/tasks/900001"))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(post("/api/v1/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Written to the primary\"}"))
+                .andExpect(status().isCreated());
+
+        // Inside the read-your-writes window the same listing is served by the primary.
+        mockMvc.perform(get("/api/v1/tasks/page"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tasks[*].title", hasItem("Written to the primary")))
+                .andExpect(jsonPath("$.tasks[*].title", not(hasItem("Only on the replica"))));
+    }
+}
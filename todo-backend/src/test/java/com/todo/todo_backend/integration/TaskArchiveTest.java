@@ -0,0 +1,94 @@
+package com.todo.todo_backend.integration;
+
+import com.todo.todo_backend.archive.TaskArchiver;
+import com.todo.todo_backend.dto.TaskRequest;
+import com.todo.todo_backend.dto.TaskResponse;
+import com.todo.todo_backend.service.TaskService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Not transactional: archiving commits batch by batch, and caches only drop archived tasks once
+ * a batch commits. The scheduled run is pushed out of the way and {@link TaskArchiver#archive()}
+ * called directly instead.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:archivedb",
+        "todo.archive.retention=30d",
+        "todo.archive.interval=1h",
+        "todo.archive.batch-size=2",
+        "todo.archive.batch-pause=0ms"
+})
+class TaskArchiveTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskArchiver taskArchiver;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testTasksCompletedBeforeTheRetentionMoveToTheArchive() throws Exception {
+        List<Long> old = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            old.add(taskService.createTask(TaskRequest.builder().title("Archivable " + i).build()).id());
+        }
+        long recent = taskService.createTask(TaskRequest.builder().title("Archivable recent").build()).id();
+        long open = taskService.createTask(TaskRequest.builder().title("Archivable open").build()).id();
+        old.forEach(taskService::markAsCompleted);
+        taskService.markAsCompleted(recent);
+        jdbcTemplate.update("UPDATE task SET completed_at = ? WHERE title LIKE 'Archivable _'",
+                Timestamp.valueOf(LocalDateTime.now().minusDays(40)));
+
+        // Loaded into the second-level cache and the search index before it is archived.
+        mockMvc.perform(get("/api/v1/tasks/" + old.get(0))).andExpect(status().isOk());
+
+        // Three batches of two, the last one short.
+        assertEquals(5, taskArchiver.archive());
+        assertEquals(0, taskArchiver.archive());
+
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM task WHERE title LIKE 'Archivable _'", Integer.class));
+        assertEquals(5, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM archived_task", Integer.class));
+
+        mockMvc.perform(get("/api/v1/tasks/" + old.get(0)))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/v1/tasks/archive/" + old.get(0)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Archivable 0"))
+                .andExpect(jsonPath("$.completed").value(true))
+                .andExpect(jsonPath("$.completedAt").isNotEmpty());
+        mockMvc.perform(get("/api/v1/tasks/search").param("q", "archivable"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tasks.length()").value(2));
+
+        TaskResponse kept = taskService.getTask(recent);
+        assertTrue(kept.completed());
+        assertFalse(taskService.getTask(open).completed());
+        mockMvc.perform(get("/api/v1/tasks/archive/" + open))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Archived task not found with id: " + open));
+    }
+}
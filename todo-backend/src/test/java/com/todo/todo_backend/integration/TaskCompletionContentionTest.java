@@ -0,0 +1,118 @@
+package com.todo.todo_backend.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todo.todo_backend.dto.TaskRequest;
+import com.todo.todo_backend.service.TaskService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+/**
+ * Not transactional: every completion races in its own transaction, each committing on its own.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:contentiondb",
+        "todo.concurrency-limit.enabled=false"
+})
+class TaskCompletionContentionTest {
+
+    private static final int TASKS = 20;
+    private static final int WORKERS = 8;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    // The JCache regions are shared by every test context in the JVM, and each in-memory
+    // database numbers its tasks from 1, so another context's cached task 1 could stand in for
+    // this one's and skip the write altogether.
+    @BeforeEach
+    void clearSecondLevelCache() {
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void testConcurrentCompletionsHaveExactlyOneWinnerPerTask() throws Exception {
+        double completedBefore = completedGauge();
+        ExecutorService workers = Executors.newFixedThreadPool(WORKERS);
+        try {
+            for (int i = 0; i < TASKS; i++) {
+                long id = taskService.createTask(TaskRequest.builder().title("Contended " + i).build()).id();
+                CyclicBarrier start = new CyclicBarrier(WORKERS);
+                List<Future<MockHttpServletResponse>> responses = new ArrayList<>(WORKERS);
+                for (int w = 0; w < WORKERS; w++) {
+                    responses.add(workers.submit(() -> {
+                        start.await();
+                        return mockMvc.perform(put("/api/v1/tasks/" + id + "/complete"))
+                                .andReturn()
+                                .getResponse();
+                    }));
+                }
+
+                // Losers get the task as the winner completed it; none may overwrite the
+                // completion time.
+                Set<LocalDateTime> completionTimes = new HashSet<>();
+                for (Future<MockHttpServletResponse> response : responses) {
+                    assertEquals(200, response.get().getStatus());
+                    completionTimes.add(LocalDateTime.parse(objectMapper.readTree(
+                            response.get().getContentAsString()).get("completedAt").asText()));
+                }
+
+                Map<String, Object> row = jdbcTemplate.queryForMap(
+                        "SELECT completed_at, version FROM task WHERE id = ?", id);
+                assertEquals(1L, ((Number) row.get("VERSION")).longValue());
+                assertEquals(1, completionTimes.size(), completionTimes::toString);
+                assertEquals(((Timestamp) row.get("COMPLETED_AT")).toLocalDateTime(),
+                        completionTimes.iterator().next());
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+
+        // One COMPLETED event per task, however many workers raced for it.
+        assertEquals(completedBefore + TASKS, completedGauge());
+    }
+
+    private double completedGauge() {
+        return meterRegistry.get("todo.tasks").tag("state", "completed").gauge().value();
+    }
+}
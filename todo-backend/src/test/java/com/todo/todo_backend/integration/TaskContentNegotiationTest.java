@@ -0,0 +1,165 @@
+package com.todo.todo_backend.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todo.todo_backend.config.CborConfig;
+import com.todo.todo_backend.dto.TaskRequest;
+import com.todo.todo_backend.dto.TaskResponse;
+import com.todo.todo_backend.idempotency.IdempotencyStore;
+import com.todo.todo_backend.service.TaskService;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:negotiationdb",
+        "spring.jpa.show-sql=false"
+})
+class TaskContentNegotiationTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @LocalServerPort
+    private int port;
+
+    private final ObjectMapper cborMapper = CborConfig.cborMapper();
+
+    // Second-level cache regions are shared with other test contexts, whose databases reuse
+    // the same ids.
+    @BeforeEach
+    void clearSecondLevelCache() {
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void testCborIsServedWhenAcceptedWithEpochMillisTimestamps() throws Exception {
+        TaskResponse created = taskService.createTask(TaskRequest.builder().title("Binary").build());
+
+        byte[] body = webTestClient.get().uri("/api/v1/tasks/{id}", created.id())
+                .accept(MediaType.APPLICATION_CBOR)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_CBOR)
+                .expectHeader().values(HttpHeaders.VARY, vary -> assertTrue(vary.stream().anyMatch("accept"::equalsIgnoreCase)))
+                .expectBody(byte[].class)
+                .returnResult()
+                .getResponseBody();
+
+        JsonNode task = cborMapper.readTree(body);
+        assertEquals(created.id(), task.get("id").asLong());
+        assertEquals("Binary", task.get("title").asText());
+        assertTrue(task.get("createdAt").isIntegralNumber());
+        assertEquals(created.createdAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli(),
+                task.get("createdAt").asLong());
+
+        TaskResponse decoded = cborMapper.readValue(body, TaskResponse.class);
+        assertEquals(created.createdAt().withNano(created.createdAt().getNano() / 1_000_000 * 1_000_000),
+                decoded.createdAt());
+    }
+
+    @Test
+    void testJsonRemainsTheDefaultRepresentation() throws Exception {
+        TaskResponse created = taskService.createTask(TaskRequest.builder().title("Text").build());
+
+        byte[] body = webTestClient.get().uri("/api/v1/tasks/{id}", created.id())
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody(byte[].class)
+                .returnResult()
+                .getResponseBody();
+
+        assertTrue(objectMapper.readTree(body).get("createdAt").isTextual());
+    }
+
+    @Test
+    void testIdempotentReplayIsRenderedInTheAcceptedRepresentation() throws Exception {
+        TaskResponse created = webTestClient.post().uri("/api/v1/tasks")
+                .header(IdempotencyStore.HEADER, "negotiated-replay")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(TaskRequest.builder().title("Retried").build())
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody(TaskResponse.class)
+                .returnResult()
+                .getResponseBody();
+
+        byte[] body = webTestClient.post().uri("/api/v1/tasks")
+                .header(IdempotencyStore.HEADER, "negotiated-replay")
+                .accept(MediaType.APPLICATION_CBOR)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(TaskRequest.builder().title("Retried").build())
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().valueEquals(IdempotencyStore.REPLAYED_HEADER, "true")
+                .expectHeader().contentType(MediaType.APPLICATION_CBOR)
+                .expectBody(byte[].class)
+                .returnResult()
+                .getResponseBody();
+
+        JsonNode task = cborMapper.readTree(body);
+        assertEquals(created.id(), task.get("id").asLong());
+        assertTrue(task.get("createdAt").isIntegralNumber());
+    }
+
+    @Test
+    void testResponsesAboveTheThresholdAreGzipped() throws Exception {
+        List<TaskRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            requests.add(TaskRequest.builder().title("Compressed " + i).description("A description to pad the page").build());
+        }
+        taskService.createTasks(requests);
+        String baseUrl = "http://localhost:" + port + "/api/v1/tasks";
+
+        // WebTestClient decompresses transparently, so this goes through the JDK client instead.
+        HttpClient client = HttpClient.newHttpClient();
+        HttpResponse<byte[]> page = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/page?size=50"))
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .build(), HttpResponse.BodyHandlers.ofByteArray());
+
+        assertEquals(200, page.statusCode());
+        assertEquals("gzip", page.headers().firstValue(HttpHeaders.CONTENT_ENCODING).orElse(null));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(page.body()))) {
+            assertEquals(50, objectMapper.readTree(in).get("tasks").size());
+        }
+
+        TaskResponse small = taskService.createTask(TaskRequest.builder().title("Small").build());
+        HttpResponse<byte[]> single = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/" + small.id()))
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .build(), HttpResponse.BodyHandlers.ofByteArray());
+
+        assertEquals(200, single.statusCode());
+        assertTrue(single.headers().firstValue(HttpHeaders.CONTENT_ENCODING).isEmpty());
+    }
+}
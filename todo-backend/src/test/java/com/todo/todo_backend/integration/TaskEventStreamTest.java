@@ -0,0 +1,167 @@
+package com.todo.todo_backend.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todo.todo_backend.dto.TaskRequest;
+import com.todo.todo_backend.dto.TaskResponse;
+import com.todo.todo_backend.event.TaskEvent;
+import com.todo.todo_backend.sse.TaskEventBroadcaster;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Not transactional: task events are only streamed once the creating transaction commits.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:streamdb"
+})
+class TaskEventStreamTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TaskEventBroadcaster taskEventBroadcaster;
+
+    @Test
+    void testCommittedWritesAreStreamedAndResumable() throws Exception {
+        MvcResult stream = mockMvc.perform(get("/api/v1/tasks/stream").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String created = mockMvc.perform(post("/api/v1/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(TaskRequest.builder().title("Streamed Task").build())))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        long taskId = objectMapper.readTree(created).get("id").asLong();
+
+        mockMvc.perform(put("/api/v1/tasks/" + taskId + "/complete"))
+                .andExpect(status().isOk());
+
+        String events = awaitContent(stream.getResponse(), body -> body.contains("event:completed"));
+        assertTrue(events.contains("event:created"), events);
+        assertTrue(events.contains("\"title\":\"Streamed Task\""), events);
+
+        String createdEventId = events.lines()
+                .filter(line -> line.startsWith("id:"))
+                .findFirst()
+                .orElseThrow()
+                .substring(3);
+
+        MvcResult resumed = mockMvc.perform(get("/api/v1/tasks/stream")
+                        .header("Last-Event-ID", createdEventId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String replayed = awaitContent(resumed.getResponse(), body -> body.contains("event:completed"));
+        assertFalse(replayed.contains("event:created"), replayed);
+    }
+
+    @Test
+    void testUnknownLastEventIdTriggersReset() throws Exception {
+        MvcResult stream = mockMvc.perform(get("/api/v1/tasks/stream")
+                        .header("Last-Event-ID", Long.MAX_VALUE))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String events = awaitContent(stream.getResponse(), body -> body.contains("event:reset"));
+        assertTrue(events.contains("event:reset"), events);
+    }
+
+    @Test
+    void testLowerLastEventIdFromAnotherEpochTriggersReset() throws Exception {
+        // Advance this process's sequence past the id an earlier run, or another instance, issued.
+        TaskResponse task = TaskResponse.builder().id(1L).title("Elsewhere").completed(false).build();
+        for (int i = 0; i < 3; i++) {
+            taskEventBroadcaster.onTaskEvent(TaskEvent.created(task));
+        }
+
+        MvcResult stream = mockMvc.perform(get("/api/v1/tasks/stream")
+                        .header("Last-Event-ID", "otherepoch-1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String events = awaitContent(stream.getResponse(), body -> body.contains("event:reset"));
+        assertTrue(events.contains("event:reset"), events);
+        assertFalse(events.contains("event:created"), events);
+    }
+
+    @Test
+    void testConcurrentEventsArriveInIdOrder() throws Exception {
+        MvcResult stream = mockMvc.perform(get("/api/v1/tasks/stream").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        TaskResponse task = TaskResponse.builder().id(1L).title("Racing").completed(false).build();
+        int threads = 8;
+        int eventsPerThread = 25;
+        ExecutorService publishers = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> done = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                done.add(publishers.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < eventsPerThread; j++) {
+                        taskEventBroadcaster.onTaskEvent(TaskEvent.created(task));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : done) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            publishers.shutdownNow();
+        }
+
+        String events = awaitContent(stream.getResponse(),
+                body -> body.lines().filter(line -> line.startsWith("id:")).count() >= threads * eventsPerThread);
+        List<Long> ids = events.lines()
+                .filter(line -> line.startsWith("id:"))
+                .map(line -> Long.parseLong(line.substring(line.lastIndexOf('-') + 1)))
+                .toList();
+        assertEquals(threads * eventsPerThread, ids.size(), events);
+        for (int i = 1; i < ids.size(); i++) {
+            assertEquals(ids.get(i - 1) + 1, ids.get(i), "events out of id order: " + ids);
+        }
+    }
+
+    private String awaitContent(MockHttpServletResponse response, Predicate<String> condition) throws Exception {
+        long deadline = System.currentTimeMillis() + 5_000;
+        String body = response.getContentAsString();
+        while (!condition.test(body) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            body = response.getContentAsString();
+        }
+        return body;
+    }
+}
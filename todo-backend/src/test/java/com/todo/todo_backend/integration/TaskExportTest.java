@@ -0,0 +1,119 @@
+package com.todo.todo_backend.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todo.todo_backend.dto.TaskRequest;
+import com.todo.todo_backend.dto.TaskResponse;
+import com.todo.todo_backend.service.TaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:exportdb",
+        "spring.jpa.show-sql=false"
+})
+class TaskExportTest {
+
+    // More than one persistence-context clear interval.
+    private static final int TASKS = 1_500;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private static boolean seeded;
+    private static long completedId;
+
+    @BeforeEach
+    void seed() {
+        if (seeded) {
+            return;
+        }
+        List<TaskRequest> requests = new ArrayList<>(TASKS);
+        requests.add(TaskRequest.builder().title("Quoted, \"title\"").description("line one\nline two").build());
+        for (int i = 1; i < TASKS; i++) {
+            requests.add(TaskRequest.builder().title("Export " + i).build());
+        }
+        List<TaskResponse> created = taskService.createTasks(requests).tasks();
+        completedId = created.get(TASKS - 1).id();
+        taskService.markAsCompleted(completedId);
+        seeded = true;
+    }
+
+    @Test
+    void testNdjsonExportWritesOneObjectPerLineInIdOrder() throws Exception {
+        String body = mockMvc.perform(get("/api/v1/tasks/export"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/x-ndjson;charset=UTF-8"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"tasks.ndjson\""))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertTrue(body.endsWith("\n"));
+        String[] lines = body.split("\n");
+        assertEquals(TASKS, lines.length);
+
+        long previousId = 0;
+        for (String line : lines) {
+            JsonNode task = objectMapper.readTree(line);
+            assertTrue(task.get("id").asLong() > previousId);
+            previousId = task.get("id").asLong();
+        }
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals("Quoted, \"title\"", first.get("title").asText());
+        assertEquals("line one\nline two", first.get("description").asText());
+        assertTrue(first.get("createdAt").isTextual());
+    }
+
+    @Test
+    void testCsvExportQuotesFieldsAndHonoursCompletedFilter() throws Exception {
+        String body = mockMvc.perform(get("/api/v1/tasks/export").param("format", "csv"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"tasks.csv\""))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertTrue(body.startsWith("id,title,description,completed,createdAt,completedAt\n"), body.substring(0, 200));
+        assertTrue(body.contains(",\"Quoted, \"\"title\"\"\",\"line one\nline two\",false,"));
+
+        String completed = mockMvc.perform(get("/api/v1/tasks/export")
+                        .param("format", "csv")
+                        .param("completed", "true"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        String[] rows = completed.split("\n");
+        assertEquals(2, rows.length);
+        assertTrue(rows[1].startsWith(completedId + ",Export " + (TASKS - 1) + ",,true,"), rows[1]);
+    }
+
+    @Test
+    void testUnknownFormatIsRejected() throws Exception {
+        mockMvc.perform(get("/api/v1/tasks/export").param("format", "xml"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Unsupported export format: xml"));
+    }
+}
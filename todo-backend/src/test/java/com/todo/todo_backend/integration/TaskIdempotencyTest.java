@@ -0,0 +1,137 @@
+package com.todo.todo_backend.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todo.todo_backend.dto.TaskResponse;
+import com.todo.todo_backend.idempotency.IdempotencyStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Not transactional: duplicates are sent from several threads, each committing on its own.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:idempotencydb",
+        "todo.idempotency.store=jdbc"
+})
+class TaskIdempotencyTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void testConcurrentDuplicatesCreateOneTask() throws Exception {
+        int duplicates = 8;
+        ExecutorService clients = Executors.newFixedThreadPool(duplicates);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<MockHttpServletResponse>> responses = new ArrayList<>();
+        try {
+            for (int i = 0; i < duplicates; i++) {
+                responses.add(clients.submit(() -> {
+                    start.await();
+                    return mockMvc.perform(post("/api/v1/tasks")
+                                    .header(IdempotencyStore.HEADER, "concurrent-create")
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content("{\"title\":\"Exactly once\"}"))
+                            .andReturn()
+                            .getResponse();
+                }));
+            }
+            start.countDown();
+
+            List<Long> ids = new ArrayList<>();
+            for (Future<MockHttpServletResponse> response : responses) {
+                assertEquals(201, response.get().getStatus());
+                ids.add(objectMapper.readTree(response.get().getContentAsString()).get("id").asLong());
+            }
+            assertEquals(1, ids.stream().distinct().count());
+        } finally {
+            clients.shutdownNow();
+        }
+
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM task WHERE title = 'Exactly once'", Integer.class));
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM idempotency_key WHERE idempotency_key = 'concurrent-create'", Integer.class));
+    }
+
+    @Test
+    void testResponseStoredByAnotherInstanceIsReplayed() throws Exception {
+        jdbcTemplate.update("""
+                        INSERT INTO idempotency_key
+                            (client, operation, idempotency_key, fingerprint, status, location, body, body_type,
+                             created_at)
+                        VALUES ('ip:127.0.0.1', 'complete', 'other-instance', ?, 200, NULL, ?, ?, ?)""",
+                IdempotencyStore.fingerprint("424242"),
+                "{\"id\":424242,\"title\":\"Done elsewhere\",\"completed\":true}",
+                TaskResponse.class.getName(),
+                Timestamp.valueOf(LocalDateTime.now()));
+
+        // The task does not exist here, so only a replay can answer 200.
+        mockMvc.perform(put("/api/v1/tasks/424242/complete")
+                        .header(IdempotencyStore.HEADER, "other-instance"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(IdempotencyStore.REPLAYED_HEADER, "true"))
+                .andExpect(jsonPath("$.title").value("Done elsewhere"));
+
+        mockMvc.perform(put("/api/v1/tasks/1/complete")
+                        .header(IdempotencyStore.HEADER, "other-instance"))
+                .andExpect(status().isUnprocessableEntity());
+
+        // Keys are scoped per client: another client's identical key runs its own request.
+        mockMvc.perform(put("/api/v1/tasks/424242/complete")
+                        .header("X-API-Key", "another-client")
+                        .header(IdempotencyStore.HEADER, "other-instance"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testExpiredUnpurgedResponseIsReplaced() throws Exception {
+        jdbcTemplate.update("""
+                        INSERT INTO idempotency_key
+                            (client, operation, idempotency_key, fingerprint, status, location, body, created_at)
+                        VALUES ('ip:127.0.0.1', 'create', 'expired-create', ?, 201, NULL, '{}', ?)""",
+                IdempotencyStore.fingerprint("Long ago", null),
+                Timestamp.valueOf(LocalDateTime.now().minusDays(2)));
+
+        mockMvc.perform(post("/api/v1/tasks")
+                        .header(IdempotencyStore.HEADER, "expired-create")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Reused key\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist(IdempotencyStore.REPLAYED_HEADER));
+
+        assertEquals(IdempotencyStore.fingerprint("Reused key", null), jdbcTemplate.queryForObject(
+                "SELECT fingerprint FROM idempotency_key WHERE idempotency_key = 'expired-create'", String.class));
+        assertTrue(jdbcTemplate.queryForObject(
+                        "SELECT created_at FROM idempotency_key WHERE idempotency_key = 'expired-create'", Timestamp.class)
+                .toLocalDateTime().isAfter(LocalDateTime.now().minusHours(1)));
+    }
+}
@@ -0,0 +1,87 @@
+package com.todo.todo_backend.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todo.todo_backend.dto.TaskRequest;
+import com.todo.todo_backend.repository.TaskRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Not transactional: queued tasks are written by the ingest thread in their own transactions.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:ingestdb",
+        "todo.ingest.mode=async",
+        "todo.ingest.wal.directory=target/test-ingest-wal",
+        "todo.ingest.wal.fsync-interval=50ms",
+        // One client submits more creates than the default burst allows.
+        "todo.rate-limit.enabled=false"
+})
+class TaskIngestTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void testAcceptedTasksArePersistedUnderTheirReservedIds() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            String body = mockMvc.perform(post("/api/v1/tasks")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(TaskRequest.builder().title("Queued " + i).build())))
+                    .andExpect(status().isAccepted())
+                    .andExpect(header().exists("Location"))
+                    .andExpect(jsonPath("$.status").value("PENDING"))
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString();
+            ids.add(objectMapper.readTree(body).get("id").asLong());
+        }
+        assertEquals(60, ids.stream().distinct().count());
+
+        long last = ids.get(ids.size() - 1);
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!statusOf(last).equals("PERSISTED") && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals("PERSISTED", statusOf(last));
+        assertEquals(60, taskRepository.findByIdIn(ids).size());
+
+        // Synchronous paths keep drawing ids from the same sequence without colliding.
+        mockMvc.perform(post("/api/v1/tasks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"tasks\":[{\"title\":\"Sync\"}]}"))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/v1/tasks/999999/status"))
+                .andExpect(status().isNotFound());
+    }
+
+    private String statusOf(long id) throws Exception {
+        String body = mockMvc.perform(get("/api/v1/tasks/" + id + "/status"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return objectMapper.readTree(body).path("status").asText();
+    }
+}
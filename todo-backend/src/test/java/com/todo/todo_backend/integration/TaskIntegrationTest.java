@@ -1,107 +1,23 @@
 package com.todo.todo_backend.integration;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.todo.todo_backend.dto.TaskRequest;
-import com.todo.todo_backend.model.Task;
 import com.todo.todo_backend.repository.TaskRepository;
 import org.junit.jupiter.api.BeforeEach;
-import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
-import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.http.MediaType;
 import org.springframework.test.context.TestPropertySource;
-import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
-import static org.junit.jupiter.api.Assertions.*;
-import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
-
-@SpringBootTest
-@AutoConfigureMockMvc
+/** The {@link AbstractTaskIntegrationTest} scenarios against the database store. */
 @Transactional
 @TestPropertySource(properties = {
-        "spring.datasource.url=jdbc:h2:mem:testdb",
-        "spring.jpa.hibernate.ddl-auto=create-drop"
+        "spring.datasource.url=jdbc:h2:mem:testdb"
 })
-class TaskIntegrationTest {
-
-    @Autowired
-    private MockMvc mockMvc;
+class TaskIntegrationTest extends AbstractTaskIntegrationTest {
 
     @Autowired
     private TaskRepository taskRepository;
 
-    @Autowired
-    private ObjectMapper objectMapper;
-
     @BeforeEach
     void setUp() {
         taskRepository.deleteAll();
     }
-
-    @Test
-    void testCompleteTaskFlow() throws Exception {
-        TaskRequest request = TaskRequest.builder()
-                .title("Integration Test Task")
-                .description("Integration Test Description")
-                .build();
-
-        String responseContent = mockMvc.perform(post("/api/v1/tasks")
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(request)))
-                .andExpect(status().isCreated())
-                .andExpect(jsonPath("$.title").value("Integration Test Task"))
-                .andExpect(jsonPath("$.completed").value(false))
-                .andReturn()
-                .getResponse()
-                .getContentAsString();
-
-        Long taskId = objectMapper.readTree(responseContent).get("id").asLong();
-
-        // Verify task exists in database
-        assertTrue(taskRepository.existsById(taskId));
-
-        // Get recent tasks
-        mockMvc.perform(get("/api/v1/tasks"))
-                .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].id").value(taskId))
-                .andExpect(jsonPath("$[0].title").value("Integration Test Task"));
-
-        // Mark task as completed
-        mockMvc.perform(put("/api/v1/tasks/" + taskId + "/complete"))
-                .andExpect(status().isOk())
-                .andExpect(jsonPath("$.completed").value(true))
-                .andExpect(jsonPath("$.completedAt").exists());
-
-        // Verify completed task is not in recent tasks
-        mockMvc.perform(get("/api/v1/tasks"))
-                .andExpect(status().isOk())
-                .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$").isEmpty());
-
-        // Verify in database
-        Task completedTask = taskRepository.findById(taskId).orElseThrow();
-        assertTrue(completedTask.getCompleted());
-        assertNotNull(completedTask.getCompletedAt());
-    }
-
-    @Test
-    void testGetRecentTasksLimit() throws Exception {
-        // Create 7 tasks
-        for (int i = 1; i <= 7; i++) {
-            Task task = Task.builder()
-                    .title("Task " + i)
-                    .description("Description " + i)
-                    .completed(false)
-                    .build();
-            taskRepository.save(task);
-        }
-
-        // Should return only 5 most recent tasks
-        mockMvc.perform(get("/api/v1/tasks"))
-                .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(5));
-    }
 }
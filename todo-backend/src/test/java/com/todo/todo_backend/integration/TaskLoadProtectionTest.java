@@ -0,0 +1,66 @@
+package com.todo.todo_backend.integration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:loadprotectiondb",
+        "todo.rate-limit.rules[0].name=create",
+        "todo.rate-limit.rules[0].method=POST",
+        "todo.rate-limit.rules[0].path=/api/v1/tasks/**",
+        "todo.rate-limit.rules[0].requests-per-second=0.1",
+        "todo.rate-limit.rules[0].burst=2"
+})
+class TaskLoadProtectionTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void testClientOverItsQuotaIsRejectedWithRetryAfter() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            createTask("quota-client").andExpect(status().isCreated());
+        }
+
+        createTask("quota-client")
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "10"))
+                .andExpect(jsonPath("$.status").value(429))
+                .andExpect(jsonPath("$.error").value("Too Many Requests"))
+                .andExpect(jsonPath("$.path").value("/api/v1/tasks"));
+
+        // The key is not authenticated, so a fresh one does not escape the address's quota.
+        createTask("fresh-key").andExpect(status().isTooManyRequests());
+
+        // Other clients, and requests no rule covers, are unaffected.
+        createTask("other-client", "10.0.0.2").andExpect(status().isCreated());
+        mockMvc.perform(get("/api/v1/tasks").header("X-API-Key", "quota-client"))
+                .andExpect(status().isOk());
+    }
+
+    private ResultActions createTask(String apiKey) throws Exception {
+        return createTask(apiKey, "127.0.0.1");
+    }
+
+    private ResultActions createTask(String apiKey, String remoteAddress) throws Exception {
+        return mockMvc.perform(post("/api/v1/tasks")
+                .with(request -> {
+                    request.setRemoteAddr(remoteAddress);
+                    return request;
+                })
+                .header("X-API-Key", apiKey)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Limited\"}"));
+    }
+}
@@ -0,0 +1,74 @@
+package com.todo.todo_backend.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todo.todo_backend.dto.TaskRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Not transactional: the task gauges only move once a write commits.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:metricsdb"
+})
+class TaskMetricsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void testPrometheusEndpointExposesTaskMetrics() throws Exception {
+        long first = createTask("Metrics Task 1");
+        createTask("Metrics Task 2");
+
+        mockMvc.perform(put("/api/v1/tasks/" + first + "/complete"))
+                .andExpect(status().isOk());
+        // Completing again must not move the gauges a second time.
+        mockMvc.perform(put("/api/v1/tasks/" + first + "/complete"))
+                .andExpect(status().isOk());
+        mockMvc.perform(put("/api/v1/tasks/999999/complete"))
+                .andExpect(status().isNotFound());
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertTrue(scrape.contains("todo_tasks{application=\"todo-backend\",state=\"open\"} 1.0"), scrape);
+        assertTrue(scrape.contains("todo_tasks{application=\"todo-backend\",state=\"completed\"} 1.0"), scrape);
+        assertTrue(scrape.contains("todo_tasks_failures_total{application=\"todo-backend\",reason=\"not_found\"} 1.0"), scrape);
+        assertTrue(scrape.contains("todo_tasks_service_seconds_bucket{"), scrape);
+        assertTrue(scrape.contains("method=\"markAsCompleted\""), scrape);
+        assertTrue(scrape.contains("spring_data_repository_invocations_seconds_bucket{"), scrape);
+        assertTrue(scrape.contains("http_server_requests_seconds_bucket{"), scrape);
+        assertTrue(scrape.contains("hikaricp_connections_pending"), scrape);
+    }
+
+    private long createTask(String title) throws Exception {
+        String response = mockMvc.perform(post("/api/v1/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(TaskRequest.builder().title(title).build())))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return objectMapper.readTree(response).get("id").asLong();
+    }
+}
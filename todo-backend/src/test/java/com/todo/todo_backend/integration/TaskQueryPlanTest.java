@@ -0,0 +1,52 @@
+package com.todo.todo_backend.integration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:plandb"
+})
+class TaskQueryPlanTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void recentIncompleteTasksQuery_ShouldUseCompositeIndex() {
+        // H2 does not report sort elimination behind an equality prefix; PostgreSQL walks the
+        // same index backwards and skips the sort.
+        String plan = explain("SELECT * FROM task WHERE completed = FALSE ORDER BY created_at DESC LIMIT 5");
+
+        assertTrue(plan.contains("idx_task_completed_created_at: completed = false"), plan);
+    }
+
+    @Test
+    void keysetPageQuery_ShouldUseCreatedAtIndexWithoutSorting() {
+        String plan = explain("SELECT * FROM task "
+                + "WHERE created_at < TIMESTAMP '2030-01-01 00:00:00' "
+                + "OR (created_at = TIMESTAMP '2030-01-01 00:00:00' AND id < 10) "
+                + "ORDER BY created_at DESC, id DESC LIMIT 21");
+
+        assertTrue(plan.contains("idx_task_created_at_id"), plan);
+        assertTrue(plan.contains("index sorted"), plan);
+    }
+
+    @Test
+    void completedAtLookup_ShouldUseCompletedAtIndex() {
+        String plan = explain("SELECT * FROM task WHERE completed_at < TIMESTAMP '2030-01-01 00:00:00'");
+
+        assertTrue(plan.contains("idx_task_completed_at"), plan);
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class).toLowerCase(Locale.ROOT);
+    }
+}
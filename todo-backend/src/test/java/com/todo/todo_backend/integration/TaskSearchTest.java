@@ -0,0 +1,119 @@
+package com.todo.todo_backend.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todo.todo_backend.dto.TaskRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Runs against H2, so searches go through the embedded Lucene index. Not transactional: the
+ * index is updated once the creating transaction commits.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:searchdb"
+})
+class TaskSearchTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void testSearchRanksTitleMatchesFirstAndPagesWithoutGapsOrDuplicates() throws Exception {
+        long inDescription = createTask("Weekly chores", "Prepare the quarterly report draft");
+        long inTitle = createTask("Quarterly report", "Numbers for finance");
+        for (int i = 0; i < 5; i++) {
+            createTask("Report " + i, null);
+        }
+        createTask("Unrelated", "Nothing to see here");
+
+        JsonNode first = search("quarterly reports", null, null, 10);
+        assertEquals(List.of(inTitle, inDescription), ids(first));
+        assertFalse(first.get("hasMore").asBoolean());
+
+        Set<Long> seen = new HashSet<>();
+        List<Long> all = new ArrayList<>();
+        String cursor = null;
+        do {
+            JsonNode page = search("report", cursor, null, 3);
+            for (Long id : ids(page)) {
+                assertTrue(seen.add(id), "duplicate " + id);
+                all.add(id);
+            }
+            cursor = page.get("hasMore").asBoolean() ? page.get("nextCursor").asText() : null;
+        } while (cursor != null);
+        assertEquals(7, all.size());
+    }
+
+    @Test
+    void testSearchReflectsCompletionAndFilters() throws Exception {
+        long task = createTask("Renew passport", "Book an appointment");
+
+        mockMvc.perform(put("/api/v1/tasks/" + task + "/complete"))
+                .andExpect(status().isOk());
+
+        assertEquals(List.of(task), ids(search("passport", null, true, 10)));
+        assertEquals(List.of(), ids(search("passport", null, false, 10)));
+    }
+
+    @Test
+    void testBlankQueryIsRejected() throws Exception {
+        mockMvc.perform(get("/api/v1/tasks/search").param("q", " "))
+                .andExpect(status().isBadRequest());
+    }
+
+    private JsonNode search(String q, String cursor, Boolean completed, int size) throws Exception {
+        var request = get("/api/v1/tasks/search").param("q", q).param("size", Integer.toString(size));
+        if (cursor != null) {
+            request.param("cursor", cursor);
+        }
+        if (completed != null) {
+            request.param("completed", completed.toString());
+        }
+        String body = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private List<Long> ids(JsonNode page) {
+        List<Long> ids = new ArrayList<>();
+        page.get("tasks").forEach(task -> ids.add(task.get("id").asLong()));
+        return ids;
+    }
+
+    private long createTask(String title, String description) throws Exception {
+        String response = mockMvc.perform(post("/api/v1/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(TaskRequest.builder()
+                                .title(title)
+                                .description(description)
+                                .build())))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return objectMapper.readTree(response).get("id").asLong();
+    }
+}
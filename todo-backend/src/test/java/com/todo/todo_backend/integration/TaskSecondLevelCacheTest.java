@@ -0,0 +1,130 @@
+package com.todo.todo_backend.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todo.todo_backend.dto.TaskRequest;
+import com.todo.todo_backend.repository.TaskRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Not transactional: entities only reach the second-level cache when their transaction commits.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:cachedb",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class TaskSecondLevelCacheTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void testRepeatedReadsAndCompletionSkipTheDatabaseAndStayFresh() throws Exception {
+        long id = createTask("Cached task");
+
+        statistics.clear();
+        mockMvc.perform(get("/api/v1/tasks/" + id)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1/tasks/" + id)).andExpect(status().isOk());
+        assertEquals(0, statistics.getPrepareStatementCount(), "reads are served from the entity cache");
+        assertEquals(2, statistics.getSecondLevelCacheHitCount());
+
+        statistics.clear();
+        mockMvc.perform(put("/api/v1/tasks/" + id + "/complete"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.completed").value(true));
+        assertEquals(2, statistics.getPrepareStatementCount(), "H2 locks the row, then one statement completes and returns it");
+
+        mockMvc.perform(get("/api/v1/tasks/" + id))
+                .andExpect(jsonPath("$.completed").value(true));
+    }
+
+    @Test
+    void testBulkCompletionInvalidatesCachedTasks() throws Exception {
+        long id = createTask("Bulk cached task");
+        mockMvc.perform(get("/api/v1/tasks/" + id))
+                .andExpect(jsonPath("$.completed").value(false));
+
+        statistics.clear();
+        mockMvc.perform(put("/api/v1/tasks/complete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[" + id + "]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.completed[0]").value(id));
+        assertEquals(2, statistics.getPrepareStatementCount(), "H2 locks the row, then one statement completes and returns it");
+
+        mockMvc.perform(get("/api/v1/tasks/" + id))
+                .andExpect(jsonPath("$.completed").value(true));
+    }
+
+    @Test
+    void testRecentTaskQueryIsCachedUntilTheTableChanges() throws Exception {
+        createTask("Query cached task");
+
+        statistics.clear();
+        int first = recentOpenTasks();
+        recentOpenTasks();
+        assertEquals(1, statistics.getQueryCacheHitCount());
+
+        createTask("Invalidates the query cache");
+        assertEquals(first + 1, recentOpenTasks());
+
+        assertNotNull(meterRegistry.find("cache.gets").tags("cache", "task", "result", "hit").functionCounter());
+        assertNotNull(meterRegistry.find("cache.evictions").tags("cache", "default-query-results-region").functionCounter());
+    }
+
+    private int recentOpenTasks() {
+        return transactionTemplate.execute(status ->
+                taskRepository.findByCompletedFalseOrderByCreatedAtDesc(PageRequest.of(0, 100)).size());
+    }
+
+    private long createTask(String title) throws Exception {
+        String body = mockMvc.perform(post("/api/v1/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(TaskRequest.builder().title(title).build())))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return objectMapper.readTree(body).get("id").asLong();
+    }
+}
@@ -0,0 +1,141 @@
+package com.todo.todo_backend.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todo.todo_backend.dto.TaskRequest;
+import com.todo.todo_backend.stats.TaskStatsRecorder;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Not transactional: stats are counted from committed task events. The background flush is
+ * pushed out of the way and {@link TaskStatsRecorder#flush()} called directly instead.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:statsdb",
+        "todo.stats.flush-interval=1h"
+})
+class TaskStatsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TaskStatsRecorder taskStatsRecorder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testStatsReflectFlushedCreatesAndCompletions() throws Exception {
+        long first = createTask("Stats Task 1");
+        long second = createTask("Stats Task 2");
+        createTask("Stats Task 3");
+        mockMvc.perform(put("/api/v1/tasks/" + first + "/complete")).andExpect(status().isOk());
+        mockMvc.perform(put("/api/v1/tasks/" + second + "/complete")).andExpect(status().isOk());
+        // Completing again is not a second completion.
+        mockMvc.perform(put("/api/v1/tasks/" + second + "/complete")).andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/tasks/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(0));
+
+        taskStatsRecorder.flush();
+
+        mockMvc.perform(get("/api/v1/tasks/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.granularity").value("MINUTE"))
+                .andExpect(jsonPath("$.created").value(3))
+                .andExpect(jsonPath("$.completed").value(2))
+                .andExpect(jsonPath("$.backlog").value(1))
+                .andExpect(jsonPath("$.medianTimeToCompleteMillis").isNumber())
+                .andExpect(jsonPath("$.buckets[0].created").isNumber());
+
+        mockMvc.perform(get("/api/v1/tasks/stats").param("granularity", "hour"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(3))
+                .andExpect(jsonPath("$.completed").value(2));
+
+        // A later flush adds to the rows the first one wrote.
+        createTask("Stats Task 4");
+        taskStatsRecorder.flush();
+
+        mockMvc.perform(get("/api/v1/tasks/stats").param("granularity", "hour"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(4))
+                .andExpect(jsonPath("$.backlog").value(2));
+    }
+
+    @Test
+    void testHourlyStatsMergeHistogramsAcrossBuckets() throws Exception {
+        // 10 completions at about a second (bucket 112 covers 1024-1087 ms) and 10 at about a
+        // minute (bucket 205 covers 59392-61439 ms).
+        insertHourRollup(LocalDateTime.of(2020, 1, 1, 10, 0), 4, 10, "112:10");
+        insertHourRollup(LocalDateTime.of(2020, 1, 1, 11, 0), 0, 10, "205:10");
+
+        mockMvc.perform(get("/api/v1/tasks/stats")
+                        .param("granularity", "hour")
+                        .param("from", "2020-01-01T10:30:00")
+                        .param("to", "2020-01-01T12:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.from").value("2020-01-01T10:00:00"))
+                .andExpect(jsonPath("$.created").value(4))
+                .andExpect(jsonPath("$.completed").value(20))
+                .andExpect(jsonPath("$.medianTimeToCompleteMillis").value(1056))
+                .andExpect(jsonPath("$.p90TimeToCompleteMillis").value(60416))
+                .andExpect(jsonPath("$.buckets.length()").value(2))
+                .andExpect(jsonPath("$.buckets[1].start").value("2020-01-01T11:00:00"))
+                .andExpect(jsonPath("$.buckets[1].created").value(0))
+                .andExpect(jsonPath("$.buckets[1].medianTimeToCompleteMillis").value(60416));
+    }
+
+    @Test
+    void testInvalidStatsQueriesAreRejected() throws Exception {
+        mockMvc.perform(get("/api/v1/tasks/stats").param("granularity", "week"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Unsupported stats granularity: week"));
+        mockMvc.perform(get("/api/v1/tasks/stats")
+                        .param("from", "2020-01-02T00:00:00")
+                        .param("to", "2020-01-01T00:00:00"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/tasks/stats")
+                        .param("from", "2020-01-01T00:00:00")
+                        .param("to", "2020-01-03T00:00:00"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Stats range spans more than 1440 minute buckets"));
+    }
+
+    private void insertHourRollup(LocalDateTime start, long created, long completed, String timeToComplete) {
+        jdbcTemplate.update("""
+                        INSERT INTO task_stats_rollup (granularity, bucket_start, created, completed, time_to_complete)
+                        VALUES ('HOUR', ?, ?, ?, ?)""",
+                Timestamp.valueOf(start), created, completed, timeToComplete);
+    }
+
+    private long createTask(String title) throws Exception {
+        String body = mockMvc.perform(post("/api/v1/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(TaskRequest.builder().title(title).build())))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return objectMapper.readTree(body).get("id").asLong();
+    }
+}
@@ -0,0 +1,138 @@
+package com.todo.todo_backend.load;
+
+import com.todo.todo_backend.TodoBackendApplication;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares platform-thread, virtual-thread and reactive request execution under a burst of
+ * concurrent clients doing a mix of creates and recent-task reads against the shared
+ * {@code /api/v1/tasks} contract. Not part of the regular build; run with
+ * {@code mvn test -Dtest=TaskLoadTest -Dloadtest=true}. The virtual-thread run is skipped on
+ * JVMs older than 21.
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class TaskLoadTest {
+
+    private static final int CLIENTS = Integer.getInteger("loadtest.clients", 400);
+    private static final int REQUESTS_PER_CLIENT = Integer.getInteger("loadtest.requests", 50);
+
+    @Test
+    void compareThreadingModes() throws Exception {
+        Result platform = run("platform");
+        System.out.println(platform);
+        assertEquals(0, platform.errors(), "platform-thread run had failed requests");
+
+        if (Runtime.version().feature() >= 21) {
+            Result virtual = run("virtual-threads");
+            System.out.println(virtual);
+            assertEquals(0, virtual.errors(), "virtual-thread run had failed requests");
+            System.out.printf("throughput gain: %.2fx, p99 ratio: %.2fx%n",
+                    virtual.throughput() / platform.throughput(),
+                    (double) platform.p99Micros() / virtual.p99Micros());
+        }
+
+        Result reactive = run("reactive");
+        System.out.println(reactive);
+        assertEquals(0, reactive.errors(), "reactive run had failed requests");
+    }
+
+    private Result run(String profile) throws Exception {
+        String database = "load-" + profile;
+        String[] args = "reactive".equals(profile)
+                ? new String[]{
+                        "--spring.r2dbc.url=r2dbc:h2:mem:///" + database + "?options=DB_CLOSE_DELAY=-1",
+                        "--spring.r2dbc.username=sa",
+                        "--spring.r2dbc.password=",
+                        "--spring.flyway.url=jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1",
+                        "--spring.flyway.user=sa",
+                        "--spring.flyway.password="}
+                : new String[]{
+                        "--spring.datasource.url=jdbc:h2:mem:" + database,
+                        "--spring.jpa.show-sql=false"};
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TodoBackendApplication.class)
+                .profiles(profile)
+                // Every client shares one address, and shedding would hide the difference under test.
+                .properties("server.port=0", "logging.level.com.todo=WARN",
+                        "todo.rate-limit.enabled=false", "todo.concurrency-limit.enabled=false")
+                .run(args)) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String base = "http://localhost:" + port + "/api/v1/tasks";
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+
+            List<Long> latencies = Collections.synchronizedList(new ArrayList<>(CLIENTS * REQUESTS_PER_CLIENT));
+            AtomicInteger errors = new AtomicInteger();
+            ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+
+            long start = System.nanoTime();
+            List<Future<?>> futures = new ArrayList<>(CLIENTS);
+            for (int c = 0; c < CLIENTS; c++) {
+                int clientId = c;
+                futures.add(clients.submit(() -> {
+                    for (int i = 0; i < REQUESTS_PER_CLIENT; i++) {
+                        HttpRequest request = i % 2 == 0
+                                ? HttpRequest.newBuilder(URI.create(base))
+                                        .header("Content-Type", "application/json")
+                                        .POST(HttpRequest.BodyPublishers.ofString(
+                                                "{\"title\":\"load " + clientId + "-" + i + "\"}"))
+                                        .build()
+                                : HttpRequest.newBuilder(URI.create(base)).GET().build();
+                        long sent = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() >= 400) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        latencies.add((System.nanoTime() - sent) / 1_000);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            long elapsedNanos = System.nanoTime() - start;
+            clients.shutdown();
+            clients.awaitTermination(10, TimeUnit.SECONDS);
+
+            List<Long> sorted = new ArrayList<>(latencies);
+            Collections.sort(sorted);
+            long p99 = sorted.get((int) Math.ceil(sorted.size() * 0.99) - 1);
+            double throughput = sorted.size() / (elapsedNanos / 1e9);
+            return new Result(profile, sorted.size(), errors.get(), throughput, p99);
+        }
+    }
+
+    private record Result(String mode, int requests, int errors, double throughput, long p99Micros) {
+        @Override
+        public String toString() {
+            return String.format("%-16s requests=%d errors=%d throughput=%.0f req/s p99=%.1f ms",
+                    mode, requests, errors, throughput, p99Micros / 1000.0);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.todo.todo_backend.logging;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class RateLimitedLoggerTest {
+
+    @Test
+    void info_ShouldDropLinesOverTheBudgetAndReportThemLater() {
+        Logger delegate = mock(Logger.class);
+        when(delegate.isInfoEnabled()).thenReturn(true);
+        AtomicLong clock = new AtomicLong();
+        RateLimitedLogger logger = new RateLimitedLogger(delegate, 3, clock::get);
+
+        for (int i = 0; i < 10; i++) {
+            logger.info("Task created successfully with id: {}", (long) i);
+        }
+        verify(delegate, times(3)).info(eq("Task created successfully with id: {}"), any(Object.class));
+
+        clock.addAndGet(1_000_000_000L);
+        logger.info("Task created successfully with id: {}", 10L);
+
+        verify(delegate).info(anyString(), eq(7L), eq(3L));
+        verify(delegate, times(4)).info(eq("Task created successfully with id: {}"), any(Object.class));
+    }
+
+    @Test
+    void info_ShouldNotCountLinesWhenInfoIsDisabled() {
+        Logger delegate = mock(Logger.class);
+        when(delegate.isInfoEnabled()).thenReturn(false);
+        RateLimitedLogger logger = RateLimitedLogger.perSecond(delegate, 1);
+
+        logger.info("Retrieved {} recent tasks", 5);
+
+        verify(delegate, never()).info(anyString(), any(Object.class));
+    }
+}
@@ -0,0 +1,88 @@
+package com.todo.todo_backend.ratelimit;
+
+import com.todo.todo_backend.service.TaskService;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = Duration.ofMillis(2).toNanos();
+    private static final long SLOW = Duration.ofMillis(20).toNanos();
+
+    @Test
+    void tryAcquire_ShouldRefuseCallsOverTheLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, 2.0);
+
+        int first = limiter.tryAcquire();
+        int second = limiter.tryAcquire();
+        assertEquals(1, first);
+        assertEquals(2, second);
+        assertEquals(-1, limiter.tryAcquire());
+
+        limiter.release(FAST, second);
+        assertTrue(limiter.tryAcquire() > 0);
+    }
+
+    @Test
+    void onSample_ShouldGrowWhileLatencyHoldsAndShrinkWhenItRises() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 4, 100, 2.0);
+
+        for (int i = 0; i < 200; i++) {
+            limiter.onSample(FAST, limiter.getLimit());
+        }
+        assertEquals(100, limiter.getLimit());
+
+        for (int i = 0; i < 100; i++) {
+            limiter.onSample(SLOW, limiter.getLimit());
+        }
+        assertTrue(limiter.getLimit() < 20, "limit stayed at " + limiter.getLimit());
+        assertTrue(limiter.getLimit() >= 4);
+    }
+
+    @Test
+    void onSample_ShouldNotGrowALimitThatIsNotUsed() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 4, 100, 2.0);
+
+        for (int i = 0; i < 200; i++) {
+            limiter.onSample(FAST, 1);
+        }
+
+        assertEquals(10, limiter.getLimit());
+    }
+
+    @Test
+    void onSample_ShouldHoldTheLimitUnderASteadyMixOfFastAndSlowCalls() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 4, 100, 2.0);
+
+        // Quick reads and ten-times-slower writes in a steady ratio: the long average settles on
+        // the mix, so neither kind reads as queueing.
+        for (int i = 0; i < 2000; i++) {
+            limiter.onSample(i % 3 == 0 ? SLOW : FAST, limiter.getLimit());
+        }
+
+        assertEquals(100, limiter.getLimit());
+    }
+
+    @Test
+    void limit_ShouldNotSampleRecentTaskReads() {
+        AdaptiveConcurrencyLimiter limiter = mock(AdaptiveConcurrencyLimiter.class);
+        when(limiter.tryAcquire()).thenReturn(1);
+        AspectJProxyFactory factory = new AspectJProxyFactory(mock(TaskService.class));
+        factory.addAspect(new ConcurrencyLimitAspect(limiter));
+        TaskService taskService = factory.getProxy();
+
+        taskService.getRecentTasks();
+        verifyNoInteractions(limiter);
+
+        taskService.getTask(1L);
+        verify(limiter).tryAcquire();
+        verify(limiter).release(anyLong(), eq(1));
+    }
+}
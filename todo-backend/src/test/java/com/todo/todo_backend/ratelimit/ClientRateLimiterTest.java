@@ -0,0 +1,82 @@
+package com.todo.todo_backend.ratelimit;
+
+import com.todo.todo_backend.exception.RateLimitExceededException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ClientRateLimiterTest {
+
+    private static final RateLimitProperties.Rule CREATE =
+            new RateLimitProperties.Rule("create", "POST", "/api/v1/tasks/**", 2, 3);
+
+    @Test
+    void acquire_ShouldAllowTheBurstThenRefillAtTheConfiguredRate() {
+        AtomicLong clock = new AtomicLong();
+        ClientRateLimiter limiter = new ClientRateLimiter(List.of(CREATE), clock::get);
+
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire("POST", "/api/v1/tasks", "ip:10.0.0.1");
+        }
+        RateLimitExceededException ex = assertThrows(RateLimitExceededException.class,
+                () -> limiter.acquire("POST", "/api/v1/tasks", "ip:10.0.0.1"));
+        assertEquals(Duration.ofMillis(500), ex.getRetryAfter());
+        assertTrue(ex.getMessage().contains("create"));
+
+        clock.addAndGet(Duration.ofMillis(500).toNanos());
+        limiter.acquire("POST", "/api/v1/tasks", "ip:10.0.0.1");
+        assertThrows(RateLimitExceededException.class,
+                () -> limiter.acquire("POST", "/api/v1/tasks", "ip:10.0.0.1"));
+    }
+
+    @Test
+    void acquire_ShouldKeepSeparateBucketsPerClientAndIgnoreUnmatchedRequests() {
+        ClientRateLimiter limiter = new ClientRateLimiter(List.of(CREATE), () -> 0L);
+
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire("POST", "/api/v1/tasks/batch", "key:first");
+        }
+        assertThrows(RateLimitExceededException.class,
+                () -> limiter.acquire("POST", "/api/v1/tasks/batch", "key:first"));
+
+        limiter.acquire("POST", "/api/v1/tasks/batch", "key:second");
+        for (int i = 0; i < 10; i++) {
+            limiter.acquire("GET", "/api/v1/tasks", "key:first");
+        }
+    }
+
+    @Test
+    void acquire_ShouldShareOneBucketAmongClientsPastTheCap() {
+        ClientRateLimiter limiter = new ClientRateLimiter(List.of(CREATE), () -> 0L, 2);
+        limiter.acquire("POST", "/api/v1/tasks", "key:first");
+        limiter.acquire("POST", "/api/v1/tasks", "key:second");
+
+        // Three fresh keys exhaust the overflow bucket's burst between them.
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire("POST", "/api/v1/tasks", "key:flood-" + i);
+        }
+        assertThrows(RateLimitExceededException.class,
+                () -> limiter.acquire("POST", "/api/v1/tasks", "key:flood-3"));
+        assertEquals(2, limiter.trackedClients());
+        limiter.acquire("POST", "/api/v1/tasks", "key:first");
+    }
+
+    @Test
+    void sweep_ShouldDropOnlyRefilledBuckets() {
+        AtomicLong clock = new AtomicLong();
+        ClientRateLimiter limiter = new ClientRateLimiter(List.of(CREATE), clock::get);
+
+        limiter.acquire("POST", "/api/v1/tasks", "ip:10.0.0.1");
+        clock.addAndGet(Duration.ofMillis(400).toNanos());
+        limiter.acquire("POST", "/api/v1/tasks", "ip:10.0.0.2");
+
+        clock.addAndGet(Duration.ofMillis(200).toNanos());
+        limiter.sweep();
+
+        assertEquals(1, limiter.trackedClients());
+    }
+}
@@ -0,0 +1,59 @@
+package com.todo.todo_backend.repository;
+
+import com.todo.todo_backend.dto.TaskRequest;
+import com.todo.todo_backend.dto.TaskResponse;
+import com.todo.todo_backend.mapper.TaskMapper;
+import com.todo.todo_backend.model.Task;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JpaTaskStoreTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private TaskMapper taskMapper = new TaskMapper();
+
+    @InjectMocks
+    private JpaTaskStore taskStore;
+
+    @Test
+    void createAll_ShouldSaveInChunksAndPreserveOrder() {
+        List<TaskRequest> requests = IntStream.range(0, 1200)
+                .mapToObj(i -> TaskRequest.builder().title("Task " + i).build())
+                .toList();
+        long[] nextId = {1};
+        when(taskRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Task> chunk = invocation.getArgument(0);
+            chunk.forEach(t -> t.setId(nextId[0]++));
+            return chunk;
+        });
+
+        List<TaskResponse> created = taskStore.createAll(requests);
+
+        assertEquals(1200, created.size());
+        assertEquals("Task 0", created.get(0).title());
+        assertEquals("Task 1199", created.get(1199).title());
+        assertEquals(1200L, created.get(1199).id());
+        verify(taskRepository, times(3)).saveAll(anyList());
+        verify(entityManager, times(3)).flush();
+        verify(entityManager, times(3)).clear();
+    }
+}
@@ -1,42 +1,63 @@
 package com.todo.todo_backend.service;
 
+import com.todo.todo_backend.cache.RecentTaskCache;
+import com.todo.todo_backend.dto.BatchTaskResponse;
+import com.todo.todo_backend.dto.BulkCompleteResponse;
+import com.todo.todo_backend.dto.TaskPageResponse;
 import com.todo.todo_backend.dto.TaskRequest;
 import com.todo.todo_backend.dto.TaskResponse;
-import com.todo.todo_backend.model.Task;
-import com.todo.todo_backend.repository.TaskRepository;
+import com.todo.todo_backend.event.TaskEvent;
+import com.todo.todo_backend.exception.InvalidSearchQueryException;
+import com.todo.todo_backend.pagination.SearchCursor;
+import com.todo.todo_backend.repository.TaskStore;
+import com.todo.todo_backend.search.TaskSearchHit;
+import com.todo.todo_backend.search.TaskSearchIndex;
 import com.todo.todo_backend.serviceImpl.TaskServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDateTime;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 public class TaskServiceTest {
     @Mock
-    private TaskRepository taskRepository;
+    private TaskStore taskStore;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TaskSearchIndex taskSearchIndex;
+
+    @Spy
+    private RecentTaskCache recentTaskCache = new RecentTaskCache(5, 5);
 
     @InjectMocks
     private TaskServiceImpl taskService;
 
-    private Task task;
+    private TaskResponse task;
     private TaskRequest taskRequest;
 
     @BeforeEach
     void setUp() {
-        task = Task.builder()
+        task = TaskResponse.builder()
                 .id(1L)
                 .title("Test Task")
                 .description("Test Description")
@@ -52,7 +73,7 @@ public class TaskServiceTest {
 
     @Test
     void createTask_ShouldSaveAndReturnTask() {
-        when(taskRepository.save(any(Task.class))).thenReturn(task);
+        when(taskStore.create(taskRequest)).thenReturn(task);
 
         TaskResponse response = taskService.createTask(taskRequest);
 
@@ -60,14 +81,15 @@ public class TaskServiceTest {
         assertEquals("Test Task", response.title());
         assertEquals("Test Description", response.description());
         assertFalse(response.completed());
-        verify(taskRepository, times(1)).save(any(Task.class));
+        verify(taskStore, times(1)).create(taskRequest);
+        verify(eventPublisher).publishEvent(TaskEvent.created(response));
     }
 
     @Test
     void getRecentTasks_ShouldReturnMaxFiveTasks() {
-        List<Task> tasks = Arrays.asList(
+        List<TaskResponse> tasks = List.of(
                 task,
-                Task.builder()
+                TaskResponse.builder()
                         .id(2L)
                         .title("Task 2")
                         .description("Description 2")
@@ -76,8 +98,7 @@ public class TaskServiceTest {
                         .build()
         );
 
-        when(taskRepository.findByCompletedFalseOrderByCreatedAtDesc(any(Pageable.class)))
-                .thenReturn(tasks);
+        when(taskStore.findRecentOpen(5)).thenReturn(tasks);
 
         List<TaskResponse> responses = taskService.getRecentTasks();
 
@@ -85,34 +106,157 @@ public class TaskServiceTest {
         assertEquals(2, responses.size());
         assertEquals("Test Task", responses.get(0).title());
         assertEquals("Task 2", responses.get(1).title());
-        verify(taskRepository, times(1))
-                .findByCompletedFalseOrderByCreatedAtDesc(PageRequest.of(0, 5));
+        verify(taskStore, times(1)).findRecentOpen(5);
     }
 
     @Test
     void markAsCompleted_ShouldUpdateTaskStatus() {
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
-        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> {
-            Task savedTask = invocation.getArgument(0);
-            savedTask.setId(1L);
-            return savedTask;
-        });
+        when(taskStore.completeAll(eq(List.of(1L)), any(LocalDateTime.class)))
+                .thenAnswer(invocation -> List.of(completed(task, invocation.getArgument(1))));
 
         TaskResponse response = taskService.markAsCompleted(1L);
 
         assertNotNull(response);
         assertTrue(response.completed());
         assertNotNull(response.completedAt());
-        verify(taskRepository, times(1)).findById(1L);
-        verify(taskRepository, times(1)).save(any(Task.class));
+        verify(taskStore, never()).findById(anyLong());
+        verify(eventPublisher).publishEvent(TaskEvent.completed(response));
+    }
+
+    @Test
+    void markAsCompleted_WhenAlreadyCompleted_ShouldKeepFirstCompletionWithoutWriting() {
+        LocalDateTime firstCompletion = LocalDateTime.now().minusHours(1);
+        when(taskStore.completeAll(eq(List.of(1L)), any(LocalDateTime.class))).thenReturn(List.of());
+        when(taskStore.findById(1L)).thenReturn(Optional.of(completed(task, firstCompletion)));
+
+        TaskResponse response = taskService.markAsCompleted(1L);
+
+        assertTrue(response.completed());
+        assertEquals(firstCompletion, response.completedAt());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void markAsCompleted_WhenAnotherWriterWins_ShouldReturnTheWinnersCompletion() {
+        // The update matched nothing because a concurrent request completed the task first.
+        LocalDateTime winnersCompletion = LocalDateTime.now();
+        when(taskStore.completeAll(eq(List.of(1L)), any(LocalDateTime.class))).thenReturn(List.of());
+        when(taskStore.findById(1L)).thenReturn(Optional.of(completed(task, winnersCompletion)));
+
+        TaskResponse response = taskService.markAsCompleted(1L);
+
+        assertTrue(response.completed());
+        assertEquals(winnersCompletion, response.completedAt());
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
     void markAsCompleted_WithInvalidId_ShouldThrowException() {
-        when(taskRepository.findById(999L)).thenReturn(Optional.empty());
+        when(taskStore.completeAll(eq(List.of(999L)), any(LocalDateTime.class))).thenReturn(List.of());
+        when(taskStore.findById(999L)).thenReturn(Optional.empty());
 
         assertThrows(RuntimeException.class, () -> taskService.markAsCompleted(999L));
-        verify(taskRepository, times(1)).findById(999L);
-        verify(taskRepository, never()).save(any(Task.class));
+        verify(taskStore, times(1)).findById(999L);
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void markAllAsCompleted_ShouldClassifyEachIdAndOnlyLookUpTheUnmatched() {
+        TaskResponse done = TaskResponse.builder().id(2L).title("Done").completed(true)
+                .createdAt(LocalDateTime.now()).completedAt(LocalDateTime.now()).build();
+        when(taskStore.completeAll(eq(Set.of(1L, 2L, 3L)), any(LocalDateTime.class)))
+                .thenAnswer(invocation -> List.of(completed(task, invocation.getArgument(1))));
+        when(taskStore.findIdsByIdIn(List.of(2L, 3L))).thenReturn(List.of(done.id()));
+
+        BulkCompleteResponse response = taskService.markAllAsCompleted(List.of(1L, 2L, 3L, 1L));
+
+        assertEquals(List.of(1L), response.completed());
+        assertEquals(List.of(2L), response.alreadyCompleted());
+        assertEquals(List.of(3L), response.notFound());
+        verify(eventPublisher, times(1)).publishEvent(any(TaskEvent.class));
+    }
+
+    @Test
+    void getRecentTasks_ShouldServeRepeatedCallsFromCache() {
+        when(taskStore.findRecentOpen(5)).thenReturn(List.of(task));
+
+        List<TaskResponse> first = taskService.getRecentTasks();
+        List<TaskResponse> second = taskService.getRecentTasks();
+
+        assertEquals(1, second.size());
+        assertSame(first, second);
+        verify(taskStore, times(1)).findRecentOpen(5);
+    }
+
+    @Test
+    void getRecentTasks_ShouldReflectCommittedWritesWithoutQuerying() {
+        when(taskStore.findRecentOpen(5)).thenReturn(List.of(task));
+        taskService.getRecentTasks();
+
+        TaskResponse newer = TaskResponse.builder()
+                .id(2L)
+                .title("Newer Task")
+                .completed(false)
+                .createdAt(task.createdAt().plusSeconds(1))
+                .build();
+        recentTaskCache.onTaskEvent(TaskEvent.created(newer));
+
+        List<TaskResponse> afterCreate = taskService.getRecentTasks();
+        assertEquals(List.of(2L, 1L), afterCreate.stream().map(TaskResponse::id).toList());
+
+        recentTaskCache.onTaskEvent(TaskEvent.completed(newer));
+
+        List<TaskResponse> afterComplete = taskService.getRecentTasks();
+        assertEquals(List.of(1L), afterComplete.stream().map(TaskResponse::id).toList());
+        verify(taskStore, times(1)).findRecentOpen(5);
+    }
+
+    @Test
+    void createTasks_ShouldPublishOneEventPerTaskInOrder() {
+        List<TaskRequest> requests = List.of(taskRequest, TaskRequest.builder().title("Task 2").build());
+        TaskResponse second = TaskResponse.builder().id(2L).title("Task 2").completed(false)
+                .createdAt(LocalDateTime.now()).build();
+        when(taskStore.createAll(requests)).thenReturn(List.of(task, second));
+
+        BatchTaskResponse response = taskService.createTasks(requests);
+
+        assertEquals(2, response.created());
+        assertEquals(List.of(1L, 2L), response.tasks().stream().map(TaskResponse::id).toList());
+        InOrder events = inOrder(eventPublisher);
+        events.verify(eventPublisher).publishEvent(TaskEvent.created(task));
+        events.verify(eventPublisher).publishEvent(TaskEvent.created(second));
+    }
+
+    @Test
+    void searchTasks_ShouldKeepIndexRankingAndReturnCursor() {
+        TaskResponse third = TaskResponse.builder().id(3L).title("Third").completed(false).createdAt(LocalDateTime.now()).build();
+        when(taskSearchIndex.search(eq("report"), isNull(), isNull(), eq(3))).thenReturn(List.of(
+                new TaskSearchHit(3L, 2.5f),
+                new TaskSearchHit(1L, 1.5f),
+                new TaskSearchHit(2L, 0.5f)));
+        when(taskStore.findByIdIn(List.of(3L, 1L))).thenReturn(List.of(task, third));
+
+        TaskPageResponse page = taskService.searchTasks(" report ", null, null, 2);
+
+        assertEquals(List.of(3L, 1L), page.tasks().stream().map(TaskResponse::id).toList());
+        assertTrue(page.hasMore());
+        assertEquals(new SearchCursor(1.5f, 1L), SearchCursor.decode(page.nextCursor()));
+    }
+
+    @Test
+    void searchTasks_WithBlankQuery_ShouldThrowException() {
+        assertThrows(InvalidSearchQueryException.class, () -> taskService.searchTasks("  ", null, null, 20));
+        verifyNoInteractions(taskSearchIndex);
+    }
+
+    private static TaskResponse completed(TaskResponse task, LocalDateTime completedAt) {
+        return TaskResponse.builder()
+                .id(task.id())
+                .title(task.title())
+                .description(task.description())
+                .completed(true)
+                .createdAt(task.createdAt())
+                .completedAt(completedAt)
+                .build();
     }
 }
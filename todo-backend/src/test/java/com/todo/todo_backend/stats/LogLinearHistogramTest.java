@@ -0,0 +1,50 @@
+package com.todo.todo_backend.stats;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LogLinearHistogramTest {
+
+    @Test
+    void bucketOf_ShouldKeepEveryValueWithinOneSixteenthOfItsBucketMidpoint() {
+        for (long value : new long[]{0, 1, 15, 16, 17, 31, 32, 1_000, 65_537, 3_600_000, 86_400_000L * 365,
+                Long.MAX_VALUE}) {
+            int bucket = LogLinearHistogram.bucketOf(value);
+            assertTrue(bucket < LogLinearHistogram.BUCKETS, "bucket for " + value);
+            long estimate = LogLinearHistogram.valueAt(bucket);
+            assertTrue(Math.abs((double) estimate - value) <= value / 16.0, value + " reported as " + estimate);
+        }
+        assertEquals(LogLinearHistogram.BUCKETS - 1, LogLinearHistogram.bucketOf(Long.MAX_VALUE));
+    }
+
+    @Test
+    void quantile_ShouldMatchTheQuantileOfTheMergedHistograms() {
+        long[] first = new long[LogLinearHistogram.BUCKETS];
+        long[] second = new long[LogLinearHistogram.BUCKETS];
+        for (long millis = 1; millis <= 100; millis++) {
+            first[LogLinearHistogram.bucketOf(millis * 1_000)]++;
+            second[LogLinearHistogram.bucketOf(millis * 10_000)]++;
+        }
+
+        long[] merged = LogLinearHistogram.decode(LogLinearHistogram.encode(first));
+        LogLinearHistogram.merge(merged, LogLinearHistogram.decode(LogLinearHistogram.encode(second)));
+
+        assertEquals(200, LogLinearHistogram.count(merged));
+        // 91 values of the first set and 9 of the second are at most 91 seconds.
+        assertEquals(91_000, LogLinearHistogram.quantile(merged, 0.5), 91_000 / 16.0);
+        assertEquals(800_000, LogLinearHistogram.quantile(merged, 0.9), 800_000 / 16.0);
+        assertNull(LogLinearHistogram.quantile(new long[LogLinearHistogram.BUCKETS], 0.5));
+    }
+
+    @Test
+    void encode_ShouldListOnlyNonEmptyBuckets() {
+        long[] counts = new long[LogLinearHistogram.BUCKETS];
+        counts[3] = 2;
+        counts[200] = 7;
+
+        assertEquals("3:2,200:7", LogLinearHistogram.encode(counts));
+        assertArrayEquals(counts, LogLinearHistogram.decode("3:2,200:7"));
+        assertEquals("", LogLinearHistogram.encode(new long[LogLinearHistogram.BUCKETS]));
+    }
+}
@@ -0,0 +1,152 @@
+package com.todo.todo_backend.store;
+
+import com.todo.todo_backend.dto.TaskRequest;
+import com.todo.todo_backend.dto.TaskResponse;
+import com.todo.todo_backend.pagination.TaskCursor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EmbeddedTaskStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private final List<EmbeddedTaskStore> opened = new ArrayList<>();
+
+    @AfterEach
+    void closeStores() {
+        opened.forEach(EmbeddedTaskStore::close);
+    }
+
+    @Test
+    void findPage_ShouldWalkNewestFirstAcrossBothStates() {
+        EmbeddedTaskStore store = inMemory();
+        List<TaskResponse> created = store.createAll(IntStream.rangeClosed(1, 7)
+                .mapToObj(i -> request("Task " + i))
+                .toList());
+        store.completeAll(List.of(created.get(1).id(), created.get(3).id()), now());
+
+        List<Long> seen = new ArrayList<>();
+        TaskCursor after = null;
+        List<TaskResponse> page;
+        do {
+            page = store.findPage(null, after, 3);
+            page.forEach(task -> seen.add(task.id()));
+            if (!page.isEmpty()) {
+                TaskResponse last = page.get(page.size() - 1);
+                after = new TaskCursor(last.createdAt(), last.id());
+            }
+        } while (page.size() == 3);
+
+        assertEquals(List.of(7L, 6L, 5L, 4L, 3L, 2L, 1L), seen);
+        assertEquals(List.of(7L, 6L, 5L, 3L, 1L), ids(store.findPage(false, null, 10)));
+        assertEquals(List.of(4L, 2L), ids(store.findPage(true, null, 10)));
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L), ids(store.streamInIdOrder(null).toList()));
+        assertEquals(5, store.countByCompleted(false));
+        assertEquals(2, store.countByCompleted(true));
+    }
+
+    @Test
+    void completeAll_ShouldOnlyReturnTasksItCompleted() {
+        EmbeddedTaskStore store = inMemory();
+        TaskResponse task = store.create(request("Once"));
+        LocalDateTime first = now();
+
+        assertEquals(List.of(task.id()), ids(store.completeAll(List.of(task.id(), task.id(), 99L), first)));
+        assertTrue(store.completeAll(List.of(task.id()), first.plusMinutes(1)).isEmpty());
+
+        TaskResponse reloaded = store.findById(task.id()).orElseThrow();
+        assertTrue(reloaded.completed());
+        assertEquals(first, reloaded.completedAt());
+        assertEquals(List.of(task.id()), ids(store.findByIdIn(List.of(task.id(), 99L))));
+    }
+
+    @Test
+    void open_ShouldReloadEveryWriteAfterRestart() {
+        EmbeddedTaskStore store = persistent();
+        TaskResponse kept = store.create(TaskRequest.builder().title("Title ünïcode").description("Kept").build());
+        TaskResponse done = store.create(request("Done"));
+        LocalDateTime completedAt = now();
+        store.completeAll(List.of(done.id()), completedAt);
+        store.close();
+
+        EmbeddedTaskStore reopened = persistent();
+
+        assertEquals(kept, reopened.findById(kept.id()).orElseThrow());
+        assertEquals(completedAt, reopened.findById(done.id()).orElseThrow().completedAt());
+        assertEquals(1, reopened.countByCompleted(false));
+        // Ids carry on from where they were.
+        assertEquals(done.id() + 1, reopened.create(request("Next")).id());
+    }
+
+    @Test
+    void open_ShouldStopAtTornLogRecord() throws IOException {
+        EmbeddedTaskStore store = persistent();
+        store.create(request("Kept"));
+        store.close();
+        Files.write(directory.resolve("tasks.log"), new byte[]{0, 0, 0, 40, 1, 2}, StandardOpenOption.APPEND);
+
+        EmbeddedTaskStore reopened = persistent();
+
+        assertEquals(List.of("Kept"), reopened.streamInIdOrder(null).map(TaskResponse::title).toList());
+    }
+
+    @Test
+    void compact_ShouldFoldLogIntoSnapshot() throws IOException {
+        EmbeddedTaskStore store = persistent();
+        List<TaskResponse> created = store.createAll(List.of(request("First"), request("Second")));
+        store.completeAll(List.of(created.get(0).id()), now());
+        assertTrue(Files.size(directory.resolve("tasks.log")) > 0);
+
+        store.compact();
+        assertEquals(0, Files.size(directory.resolve("tasks.log")));
+        store.deleteAll();
+        store.create(request("After clear"));
+        store.close();
+
+        EmbeddedTaskStore reopened = persistent();
+
+        assertEquals(List.of("After clear"), reopened.streamInIdOrder(null).map(TaskResponse::title).toList());
+        assertEquals(0, reopened.countByCompleted(true));
+    }
+
+    private EmbeddedTaskStore inMemory() {
+        return track(new EmbeddedTaskStore("", Duration.ZERO, DataSize.ofMegabytes(64)));
+    }
+
+    private EmbeddedTaskStore persistent() {
+        return track(new EmbeddedTaskStore(directory.toString(), Duration.ZERO, DataSize.ofMegabytes(64)));
+    }
+
+    private EmbeddedTaskStore track(EmbeddedTaskStore store) {
+        opened.add(store);
+        return store;
+    }
+
+    private static TaskRequest request(String title) {
+        return TaskRequest.builder().title(title).build();
+    }
+
+    private static LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    private static List<Long> ids(List<TaskResponse> tasks) {
+        return tasks.stream().map(TaskResponse::id).toList();
+    }
+}
@@ -0,0 +1,79 @@
+package com.todo.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todo.todo_backend.TodoBackendApplication;
+import com.todo.todo_backend.dto.TaskResponse;
+import com.todo.todo_backend.model.Task;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Shared inputs for the benchmarks, built the same way the application builds them.
+ */
+final class BenchmarkFixtures {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2025, 1, 15, 9, 30, 12, 123_456_000);
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Same configuration Spring Boot applies to the application's ObjectMapper.
+     */
+    static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    static Task task(long id) {
+        return Task.builder()
+                .id(id)
+                .title("Benchmark task " + id)
+                .description("Description of benchmark task " + id + " with a little more text in it")
+                .completed(false)
+                .createdAt(CREATED_AT.plusSeconds(id))
+                .build();
+    }
+
+    static List<TaskResponse> responses(int size) {
+        List<TaskResponse> responses = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            Task task = task(id);
+            responses.add(TaskResponse.builder()
+                    .id(task.getId())
+                    .title(task.getTitle())
+                    .description(task.getDescription())
+                    .completed(task.getCompleted())
+                    .createdAt(task.getCreatedAt())
+                    .build());
+        }
+        return responses;
+    }
+
+    /**
+     * Starts the application against a private in-memory H2 database with request logging and
+     * SQL echo turned off, so the benchmarks measure the code rather than the console. Per-client
+     * rate limits are off too, since every benchmark request comes from the same client.
+     * {@code properties} are extra {@code --name=value} arguments.
+     */
+    static ConfigurableApplicationContext startApplication(String database, WebApplicationType type,
+                                                           String... properties) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.format_sql=false",
+                "--server.port=0",
+                "--logging.level.root=WARN",
+                "--spring.main.banner-mode=off",
+                "--todo.rate-limit.enabled=false"));
+        args.addAll(List.of(properties));
+        return new SpringApplicationBuilder(TodoBackendApplication.class)
+                .web(type)
+                .run(args.toArray(String[]::new));
+    }
+}
@@ -0,0 +1,134 @@
+package com.todo.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs the benchmarks with the GC profiler and writes JMH's JSON results, optionally comparing
+ * them with a stored baseline.
+ * <pre>
+ * java -jar target/benchmarks.jar [include-regex] [--quick]
+ *                                 [--compare baselines/baseline.json] [--save baselines/baseline.json]
+ * </pre>
+ * With {@code --compare} the process exits with status 1 when a benchmark's average time grows
+ * by more than {@code --time-tolerance} (default 0.10) or its normalized allocation rate
+ * ({@code gc.alloc.rate.norm}, bytes per operation) grows by more than
+ * {@code --alloc-tolerance} (default 0.05). Baselines are only comparable with runs on the
+ * same hardware and JVM.
+ */
+public final class BenchmarkRunner {
+
+    private static final String ALLOC_METRIC = "gc.alloc.rate.norm";
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String include = ".*";
+        Path result = Path.of("target", "jmh-result.json");
+        Path compare = null;
+        Path save = null;
+        boolean quick = false;
+        double timeTolerance = 0.10;
+        double allocTolerance = 0.05;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--compare" -> compare = Path.of(args[++i]);
+                case "--save" -> save = Path.of(args[++i]);
+                case "--result" -> result = Path.of(args[++i]);
+                case "--quick" -> quick = true;
+                case "--time-tolerance" -> timeTolerance = Double.parseDouble(args[++i]);
+                case "--alloc-tolerance" -> allocTolerance = Double.parseDouble(args[++i]);
+                default -> include = args[i];
+            }
+        }
+
+        if (result.getParent() != null) {
+            Files.createDirectories(result.getParent());
+        }
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .include(include)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(result.toString())
+                .forks(1)
+                .warmupIterations(quick ? 2 : 5)
+                .warmupTime(TimeValue.seconds(quick ? 1 : 2))
+                .measurementIterations(quick ? 3 : 5)
+                .measurementTime(TimeValue.seconds(quick ? 1 : 2));
+        new Runner(options.build()).run();
+
+        if (save != null) {
+            if (save.getParent() != null) {
+                Files.createDirectories(save.getParent());
+            }
+            Files.copy(result, save, StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("Baseline written to " + save);
+        }
+        if (compare != null) {
+            List<String> regressions = compare(read(compare), read(result), timeTolerance, allocTolerance);
+            if (!regressions.isEmpty()) {
+                System.err.println("Performance regressions against " + compare + ":");
+                regressions.forEach(regression -> System.err.println("  " + regression));
+                System.exit(1);
+            }
+            System.out.println("No regressions against " + compare);
+        }
+    }
+
+    static List<String> compare(Map<String, Measurement> baseline, Map<String, Measurement> current,
+                                double timeTolerance, double allocTolerance) {
+        List<String> regressions = new ArrayList<>();
+        current.forEach((name, measurement) -> {
+            Measurement previous = baseline.get(name);
+            if (previous == null) {
+                return;
+            }
+            if (measurement.score() > previous.score() * (1 + timeTolerance)) {
+                regressions.add(String.format("%s: %.3f -> %.3f %s",
+                        name, previous.score(), measurement.score(), measurement.unit()));
+            }
+            if (previous.allocated() >= 0 && measurement.allocated() > previous.allocated() * (1 + allocTolerance)) {
+                regressions.add(String.format("%s: %.0f -> %.0f B/op allocated",
+                        name, previous.allocated(), measurement.allocated()));
+            }
+        });
+        return regressions;
+    }
+
+    private static Map<String, Measurement> read(Path file) throws IOException {
+        Map<String, Measurement> measurements = new HashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file.toFile())) {
+            StringBuilder name = new StringBuilder(run.path("benchmark").asText());
+            run.path("params").fields().forEachRemaining(param ->
+                    name.append(':').append(param.getKey()).append('=').append(param.getValue().asText()));
+
+            JsonNode primary = run.path("primaryMetric");
+            JsonNode alloc = run.path("secondaryMetrics").path(ALLOC_METRIC);
+            measurements.put(name.toString(), new Measurement(
+                    primary.path("score").asDouble(),
+                    primary.path("scoreUnit").asText(),
+                    alloc.isMissingNode() ? -1 : alloc.path("score").asDouble()));
+        }
+        return measurements;
+    }
+
+    record Measurement(double score, String unit, double allocated) {
+    }
+}
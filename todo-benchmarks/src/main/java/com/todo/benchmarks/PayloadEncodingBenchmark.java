@@ -0,0 +1,67 @@
+package com.todo.benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.todo.todo_backend.config.CborConfig;
+import com.todo.todo_backend.dto.TaskResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Task lists encoded as the default JSON and as {@code application/cbor} (epoch-millisecond
+ * timestamps), each raw and gzipped as Tomcat would send them. Setup prints the payload size of
+ * every combination, since bytes on the wire are what the compact encoding is for.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PayloadEncodingBenchmark {
+
+    @Param({"json", "cbor"})
+    public String encoding;
+
+    @Param({"5", "100"})
+    public int size;
+
+    private ObjectWriter writer;
+    private List<TaskResponse> tasks;
+
+    @Setup
+    public void setUp() throws IOException {
+        TypeReference<List<TaskResponse>> taskList = new TypeReference<>() { };
+        writer = switch (encoding) {
+            case "json" -> BenchmarkFixtures.objectMapper().writerFor(taskList);
+            case "cbor" -> CborConfig.cborMapper().writerFor(taskList);
+            default -> throw new IllegalArgumentException("Unknown encoding: " + encoding);
+        };
+        tasks = BenchmarkFixtures.responses(size);
+        System.out.printf("%n[%s, %d tasks] %d bytes, %d gzipped%n",
+                encoding, size, encode().length, encodeGzipped().length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return writer.writeValueAsBytes(tasks);
+    }
+
+    @Benchmark
+    public byte[] encodeGzipped() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            writer.writeValue(gzip, tasks);
+        }
+        return bytes.toByteArray();
+    }
+}
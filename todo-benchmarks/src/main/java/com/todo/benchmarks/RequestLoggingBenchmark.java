@@ -0,0 +1,95 @@
+package com.todo.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todo.todo_backend.TodoBackendApplication;
+import com.todo.todo_backend.dto.TaskRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Request latency with the development logging setup (synchronous console, SQL echo, an info
+ * line per request) against the {@code prod} profile (asynchronous JSON, no SQL echo,
+ * rate-limited request lines). Unlike the other benchmarks this one keeps the application's
+ * own logging configuration; stdout is redirected to {@code target/request-logging-<profile>.log}
+ * so the console output is written somewhere real without flooding the JMH report.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RequestLoggingBenchmark {
+
+    @Param({"default", "prod"})
+    public String profile;
+
+    private PrintStream originalOut;
+    private PrintStream logOut;
+    private ConfigurableApplicationContext context;
+    private MockMvc mockMvc;
+    private byte[] createBody;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Path log = Path.of("target", "request-logging-" + profile + ".log");
+        Files.createDirectories(log.getParent());
+        originalOut = System.out;
+        logOut = new PrintStream(new BufferedOutputStream(new FileOutputStream(log.toFile()), 8192), true);
+        System.setOut(logOut);
+
+        context = new SpringApplicationBuilder(TodoBackendApplication.class)
+                .profiles(profile)
+                .run("--spring.datasource.url=jdbc:h2:mem:logging-" + profile + ";DB_CLOSE_DELAY=-1",
+                        "--server.port=0",
+                        "--spring.main.banner-mode=off");
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+        createBody = new ObjectMapper().writeValueAsBytes(TaskRequest.builder()
+                .title("Benchmark task")
+                .description("Created by RequestLoggingBenchmark")
+                .build());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        System.setOut(originalOut);
+        logOut.close();
+    }
+
+    @Benchmark
+    public MvcResult createTask() throws Exception {
+        return mockMvc.perform(post("/api/v1/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(createBody))
+                .andReturn();
+    }
+
+    @Benchmark
+    public MvcResult getRecentTasks() throws Exception {
+        return mockMvc.perform(get("/api/v1/tasks")).andReturn();
+    }
+}
@@ -0,0 +1,98 @@
+package com.todo.benchmarks;
+
+import com.todo.todo_backend.dto.TaskRequest;
+import com.todo.todo_backend.dto.TaskResponse;
+import com.todo.todo_backend.service.TaskService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A mixed workload of nine task reads to one completion through {@link TaskService}, with
+ * Hibernate's second-level and query caches on and off. Besides the timing, each iteration
+ * prints how many JDBC statements an operation cost, which is the number the cache exists to
+ * bring down.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SecondLevelCacheBenchmark {
+
+    private static final int SEEDED_TASKS = 1_000;
+    private static final int READS_PER_COMPLETION = 9;
+
+    @Param({"true", "false"})
+    public boolean secondLevelCache;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private Statistics statistics;
+    private long[] ids;
+    private SplittableRandom random;
+    private long operations;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkFixtures.startApplication("cache-benchmark-" + secondLevelCache, WebApplicationType.NONE,
+                "--spring.jpa.properties.hibernate.cache.use_second_level_cache=" + secondLevelCache,
+                "--spring.jpa.properties.hibernate.cache.use_query_cache=" + secondLevelCache,
+                "--spring.jpa.properties.hibernate.generate_statistics=true");
+        taskService = context.getBean(TaskService.class);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+
+        TaskRequest request = TaskRequest.builder()
+                .title("Benchmark task")
+                .description("Created by SecondLevelCacheBenchmark")
+                .build();
+        ids = new long[SEEDED_TASKS];
+        for (int i = 0; i < SEEDED_TASKS; i++) {
+            ids[i] = taskService.createTask(request).id();
+        }
+        random = new SplittableRandom(42);
+    }
+
+    @Setup(Level.Iteration)
+    public void resetStatistics() {
+        statistics.clear();
+        operations = 0;
+    }
+
+    @TearDown(Level.Iteration)
+    public void reportStatements() {
+        System.out.printf("%n[secondLevelCache=%s] %.2f JDBC statements per operation, L2 hit ratio %.2f%n",
+                secondLevelCache,
+                (double) statistics.getPrepareStatementCount() / Math.max(operations, 1),
+                (double) statistics.getSecondLevelCacheHitCount()
+                        / Math.max(statistics.getSecondLevelCacheHitCount() + statistics.getSecondLevelCacheMissCount(), 1));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TaskResponse mixedReadComplete() {
+        long id = ids[random.nextInt(ids.length)];
+        operations++;
+        // Completing an already completed task still loads it, so the mix stays stable over time.
+        return random.nextInt(READS_PER_COMPLETION + 1) == 0
+                ? taskService.markAsCompleted(id)
+                : taskService.getTask(id);
+    }
+}
@@ -0,0 +1,63 @@
+package com.todo.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.todo.todo_backend.dto.ErrorResponse;
+import com.todo.todo_backend.dto.TaskResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the response bodies, using the application's ObjectMapper setup.
+ * {@code size} 5 is the recent-tasks listing, 100 a full keyset page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SerializationBenchmark {
+
+    @Param({"5", "100"})
+    public int size;
+
+    private ObjectWriter taskListWriter;
+    private ObjectWriter errorWriter;
+    private List<TaskResponse> tasks;
+    private ErrorResponse error;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = BenchmarkFixtures.objectMapper();
+        taskListWriter = objectMapper.writerFor(new TypeReference<List<TaskResponse>>() { });
+        errorWriter = objectMapper.writerFor(ErrorResponse.class);
+        tasks = BenchmarkFixtures.responses(size);
+        error = ErrorResponse.builder()
+                .timestamp(LocalDateTime.of(2025, 1, 15, 9, 30))
+                .status(404)
+                .error("Not Found")
+                .message("Task not found with id: 999")
+                .path("/api/v1/tasks/999/complete")
+                .build();
+    }
+
+    @Benchmark
+    public byte[] taskList() throws JsonProcessingException {
+        return taskListWriter.writeValueAsBytes(tasks);
+    }
+
+    @Benchmark
+    public byte[] errorResponse() throws JsonProcessingException {
+        return errorWriter.writeValueAsBytes(error);
+    }
+}
@@ -0,0 +1,107 @@
+package com.todo.benchmarks;
+
+import com.todo.todo_backend.dto.TaskRequest;
+import com.todo.todo_backend.service.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code contenders} threads completing the same freshly created task at once through
+ * {@link TaskService} on H2. One operation is a whole race; the iteration summary prints how
+ * many races ended with every contender returning the same completion time, which must be all
+ * of them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskCompletionContentionBenchmark {
+
+    @Param({"1", "4", "8"})
+    public int contenders;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private ExecutorService workers;
+    private TaskRequest request;
+    private long taskId;
+    private long races;
+    private long agreed;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkFixtures.startApplication("contention-benchmark-" + contenders, WebApplicationType.NONE,
+                "--todo.concurrency-limit.enabled=false");
+        taskService = context.getBean(TaskService.class);
+        workers = Executors.newFixedThreadPool(contenders);
+        request = TaskRequest.builder()
+                .title("Benchmark task")
+                .description("Created by TaskCompletionContentionBenchmark")
+                .build();
+    }
+
+    @Setup(Level.Iteration)
+    public void resetCounts() {
+        races = 0;
+        agreed = 0;
+    }
+
+    // A race takes milliseconds, so the per-invocation setup cost is not measured noise.
+    @Setup(Level.Invocation)
+    public void createTask() {
+        taskId = taskService.createTask(request).id();
+    }
+
+    @Benchmark
+    public int completeContended() throws Exception {
+        CyclicBarrier start = new CyclicBarrier(contenders);
+        List<Future<LocalDateTime>> results = new ArrayList<>(contenders);
+        for (int i = 0; i < contenders; i++) {
+            results.add(workers.submit(() -> {
+                start.await();
+                return taskService.markAsCompleted(taskId).completedAt();
+            }));
+        }
+
+        // Losers return the task as the winner completed it, so a race has one completion time.
+        Set<LocalDateTime> completionTimes = new HashSet<>();
+        for (Future<LocalDateTime> result : results) {
+            completionTimes.add(result.get());
+        }
+        races++;
+        agreed += completionTimes.size() == 1 ? 1 : 0;
+        return completionTimes.size();
+    }
+
+    @TearDown(Level.Iteration)
+    public void reportRaces() {
+        System.out.printf("%n[contenders=%d] %d races, %d with a single completion time%n",
+                contenders, races, agreed);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        workers.shutdownNow();
+        context.close();
+    }
+}
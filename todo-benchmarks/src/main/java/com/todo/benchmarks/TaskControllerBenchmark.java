@@ -0,0 +1,106 @@
+package com.todo.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todo.todo_backend.dto.TaskRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * Full MockMvc round trips through the dispatcher servlet, message converters, validation and
+ * exception handling for each {@code TaskController} endpoint.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskControllerBenchmark {
+
+    private static final int SEEDED_TASKS = 1_000;
+
+    private ConfigurableApplicationContext context;
+    private MockMvc mockMvc;
+    private byte[] createBody;
+    private byte[] invalidBody;
+    private long[] ids;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        context = BenchmarkFixtures.startApplication("controller-benchmark", WebApplicationType.SERVLET);
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+
+        ObjectMapper objectMapper = BenchmarkFixtures.objectMapper();
+        createBody = objectMapper.writeValueAsBytes(TaskRequest.builder()
+                .title("Benchmark task")
+                .description("Created by TaskControllerBenchmark")
+                .build());
+        invalidBody = objectMapper.writeValueAsBytes(TaskRequest.builder().title("").build());
+
+        ids = new long[SEEDED_TASKS];
+        for (int i = 0; i < SEEDED_TASKS; i++) {
+            String body = createTask().getResponse().getContentAsString();
+            ids[i] = objectMapper.readTree(body).get("id").asLong();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public MvcResult createTask() throws Exception {
+        return mockMvc.perform(post("/api/v1/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(createBody))
+                .andReturn();
+    }
+
+    @Benchmark
+    public MvcResult createTaskInvalid() throws Exception {
+        return mockMvc.perform(post("/api/v1/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(invalidBody))
+                .andReturn();
+    }
+
+    @Benchmark
+    public MvcResult getRecentTasks() throws Exception {
+        return mockMvc.perform(get("/api/v1/tasks")).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult getTasksPage() throws Exception {
+        return mockMvc.perform(get("/api/v1/tasks/page").param("size", "20")).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult markAsCompleted() throws Exception {
+        long id = ids[next++ % ids.length];
+        return mockMvc.perform(put("/api/v1/tasks/" + id + "/complete")).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult markAsCompletedNotFound() throws Exception {
+        return mockMvc.perform(put("/api/v1/tasks/-1/complete")).andReturn();
+    }
+}
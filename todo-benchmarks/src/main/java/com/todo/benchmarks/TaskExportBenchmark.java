@@ -0,0 +1,72 @@
+package com.todo.benchmarks;
+
+import com.todo.todo_backend.dto.TaskExportFormat;
+import com.todo.todo_backend.dto.TaskRequest;
+import com.todo.todo_backend.service.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code TaskService.exportTasks} over {@code tasks} tasks on H2, written to a discarding
+ * stream. Divide {@code gc.alloc.rate.norm} by {@code tasks} for bytes allocated per exported
+ * row; it should not grow with the table, since rows are streamed rather than collected.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TaskExportBenchmark {
+
+    private static final int CHUNK = 5_000;
+
+    @Param({"1000", "100000"})
+    public int tasks;
+
+    @Param({"NDJSON", "CSV"})
+    public TaskExportFormat format;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkFixtures.startApplication("export-benchmark-" + tasks + "-" + format,
+                WebApplicationType.NONE);
+        taskService = context.getBean(TaskService.class);
+
+        for (int created = 0; created < tasks; created += CHUNK) {
+            List<TaskRequest> chunk = new ArrayList<>(CHUNK);
+            for (int i = 0; i < CHUNK && created + i < tasks; i++) {
+                chunk.add(TaskRequest.builder()
+                        .title("Export task " + (created + i))
+                        .description("Generated for the export benchmark")
+                        .build());
+            }
+            taskService.createTasks(chunk);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public long export() {
+        return taskService.exportTasks(format, null, OutputStream.nullOutputStream());
+    }
+}
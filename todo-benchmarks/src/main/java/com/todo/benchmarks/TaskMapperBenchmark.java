@@ -0,0 +1,34 @@
+package com.todo.benchmarks;
+
+import com.todo.todo_backend.dto.TaskResponse;
+import com.todo.todo_backend.mapper.TaskMapper;
+import com.todo.todo_backend.model.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TaskMapperBenchmark {
+
+    private TaskMapper mapper;
+    private Task task;
+
+    @Setup
+    public void setUp() {
+        mapper = new TaskMapper();
+        task = BenchmarkFixtures.task(42);
+    }
+
+    @Benchmark
+    public TaskResponse mapToResponse() {
+        return mapper.mapToResponse(task);
+    }
+}
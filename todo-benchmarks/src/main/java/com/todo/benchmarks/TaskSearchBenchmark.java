@@ -0,0 +1,89 @@
+package com.todo.benchmarks;
+
+import com.todo.todo_backend.dto.TaskPageResponse;
+import com.todo.todo_backend.dto.TaskRequest;
+import com.todo.todo_backend.service.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code TaskService.searchTasks} over {@code tasks} generated tasks on H2, which exercises the
+ * embedded Lucene index. Titles draw from a small vocabulary so that "rare" matches a handful
+ * of tasks and "common" a large share of the table.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskSearchBenchmark {
+
+    private static final String[] WORDS = {
+            "report", "invoice", "meeting", "review", "deploy", "budget", "call", "email",
+            "plan", "design", "test", "release", "hire", "order", "backup", "audit"
+    };
+    private static final int CHUNK = 5_000;
+
+    @Param({"100000"})
+    public int tasks;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private String cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkFixtures.startApplication("search-benchmark-" + tasks, WebApplicationType.NONE);
+        taskService = context.getBean(TaskService.class);
+
+        SplittableRandom random = new SplittableRandom(42);
+        for (int created = 0; created < tasks; created += CHUNK) {
+            List<TaskRequest> chunk = new ArrayList<>(CHUNK);
+            for (int i = 0; i < CHUNK && created + i < tasks; i++) {
+                String title = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)];
+                String description = created + i < 10 ? "zanzibar " + title : title + " " + WORDS[random.nextInt(WORDS.length)];
+                chunk.add(TaskRequest.builder().title(title).description(description).build());
+            }
+            taskService.createTasks(chunk);
+        }
+        cursor = taskService.searchTasks("report", null, null, 20).nextCursor();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TaskPageResponse rare() {
+        return taskService.searchTasks("zanzibar", null, null, 20);
+    }
+
+    @Benchmark
+    public TaskPageResponse commonFirstPage() {
+        return taskService.searchTasks("report", null, null, 20);
+    }
+
+    @Benchmark
+    public TaskPageResponse commonSecondPage() {
+        return taskService.searchTasks("report", cursor, null, 20);
+    }
+
+    @Benchmark
+    public TaskPageResponse commonTwoTerms() {
+        return taskService.searchTasks("report budget", null, null, 20);
+    }
+}
@@ -0,0 +1,79 @@
+package com.todo.benchmarks;
+
+import com.todo.todo_backend.dto.TaskPageResponse;
+import com.todo.todo_backend.dto.TaskRequest;
+import com.todo.todo_backend.dto.TaskResponse;
+import com.todo.todo_backend.service.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TaskService} through its Spring proxy (transactions, events, cache) against an
+ * in-memory H2 database, without the web layer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskServiceBenchmark {
+
+    private static final int SEEDED_TASKS = 1_000;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private TaskRequest request;
+    private long[] ids;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkFixtures.startApplication("service-benchmark", WebApplicationType.NONE);
+        taskService = context.getBean(TaskService.class);
+        request = TaskRequest.builder()
+                .title("Benchmark task")
+                .description("Created by TaskServiceBenchmark")
+                .build();
+
+        ids = new long[SEEDED_TASKS];
+        for (int i = 0; i < SEEDED_TASKS; i++) {
+            ids[i] = taskService.createTask(request).id();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TaskResponse createTask() {
+        return taskService.createTask(request);
+    }
+
+    @Benchmark
+    public List<TaskResponse> getRecentTasks() {
+        return taskService.getRecentTasks();
+    }
+
+    @Benchmark
+    public TaskResponse markAsCompleted() {
+        long id = ids[next++ % ids.length];
+        return taskService.markAsCompleted(id);
+    }
+
+    @Benchmark
+    public TaskPageResponse getTasksFirstPage() {
+        return taskService.getTasks(null, null, 20);
+    }
+}
@@ -0,0 +1,101 @@
+package com.todo.benchmarks;
+
+import com.todo.todo_backend.dto.TaskPageResponse;
+import com.todo.todo_backend.dto.TaskRequest;
+import com.todo.todo_backend.dto.TaskResponse;
+import com.todo.todo_backend.service.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TaskService} over H2 against the same calls over the {@code embedded} profile's
+ * in-process store, journaling to a temporary directory with the default once-a-second sync.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskStoreBenchmark {
+
+    private static final int SEEDED_TASKS = 10_000;
+
+    @Param({"h2", "embedded"})
+    private String store;
+
+    private ConfigurableApplicationContext context;
+    private Path directory;
+    private TaskService taskService;
+    private TaskRequest request;
+    private long[] ids;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        if ("embedded".equals(store)) {
+            directory = Files.createTempDirectory("task-store-benchmark");
+            context = BenchmarkFixtures.startApplication("store-benchmark", WebApplicationType.NONE,
+                    "--spring.profiles.active=embedded",
+                    "--todo.embedded-store.directory=" + directory);
+        } else {
+            context = BenchmarkFixtures.startApplication("store-benchmark", WebApplicationType.NONE);
+        }
+        taskService = context.getBean(TaskService.class);
+        request = TaskRequest.builder()
+                .title("Benchmark task")
+                .description("Created by TaskStoreBenchmark")
+                .build();
+
+        ids = new long[SEEDED_TASKS];
+        for (int i = 0; i < SEEDED_TASKS; i++) {
+            ids[i] = taskService.createTask(request).id();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        if (directory != null) {
+            FileSystemUtils.deleteRecursively(directory);
+        }
+    }
+
+    @Benchmark
+    public TaskResponse createTask() {
+        return taskService.createTask(request);
+    }
+
+    @Benchmark
+    public TaskResponse getTask() {
+        return taskService.getTask(ids[next++ % ids.length]);
+    }
+
+    @Benchmark
+    public TaskResponse markAsCompleted() {
+        return taskService.markAsCompleted(ids[next++ % ids.length]);
+    }
+
+    @Benchmark
+    public TaskPageResponse getOpenTasksFirstPage() {
+        return taskService.getTasks(null, false, 20);
+    }
+
+    @Benchmark
+    public TaskPageResponse getTasksFirstPage() {
+        return taskService.getTasks(null, null, 20);
+    }
+}